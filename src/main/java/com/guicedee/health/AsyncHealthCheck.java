@@ -0,0 +1,23 @@
+package com.guicedee.health;
+
+import io.smallrye.mutiny.Uni;
+import org.eclipse.microprofile.health.HealthCheckResponse;
+
+/**
+ * A non-blocking health check.
+ *
+ * <p>Implementations are discovered by the same classpath scan as {@link org.eclipse.microprofile.health.HealthCheck}
+ * and honour the same {@code @Liveness}, {@code @Readiness} and {@code @Startup} annotations. The result is completed
+ * directly into the Vert.x health check promise, so no thread is held while the check is in flight.</p>
+ *
+ * <p>When an evaluation times out, the subscription is cancelled, which cancels the returned {@link Uni}. Checks built
+ * on {@link java.util.concurrent.CompletionStage}-based clients implement {@link StageHealthCheck} instead.</p>
+ */
+public interface AsyncHealthCheck {
+    /**
+     * Evaluates the health check.
+     *
+     * @return a Uni emitting the health check response.
+     */
+    Uni<HealthCheckResponse> call();
+}
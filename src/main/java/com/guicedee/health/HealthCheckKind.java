@@ -0,0 +1,25 @@
+package com.guicedee.health;
+
+/**
+ * The health endpoints a health check can be registered with.
+ *
+ * <p>Every kind is also part of the aggregated health endpoint.
+ */
+public enum HealthCheckKind {
+    /**
+     * Registered with the liveness endpoint, as with {@code @Liveness}.
+     */
+    LIVENESS,
+    /**
+     * Registered with the readiness endpoint, as with {@code @Readiness}.
+     */
+    READINESS,
+    /**
+     * Registered with the startup endpoint, as with {@code @Startup}.
+     */
+    STARTUP,
+    /**
+     * Registered with the aggregated endpoint only.
+     */
+    GENERIC
+}
@@ -0,0 +1,77 @@
+package com.guicedee.health;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Annotation to configure how an individual health check is evaluated.
+ *
+ * <p>This annotation is placed on a {@link org.eclipse.microprofile.health.HealthCheck} implementation alongside
+ * {@code @Liveness}, {@code @Readiness} or {@code @Startup}. Checks without it use the defaults.
+ */
+@Inherited
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface HealthCheckOptions {
+    /**
+     * The number of consecutive failed evaluations before the check reports DOWN.
+     *
+     * <p>Mirrors the Kubernetes probe {@code failureThreshold}: until it is reached, failures keep reporting the
+     * previous UP status. Defaults to {@code 1}.
+     *
+     * @return the failure threshold.
+     */
+    int failureThreshold() default 1;
+
+    /**
+     * The number of consecutive successful evaluations before a DOWN check reports UP again.
+     *
+     * <p>Mirrors the Kubernetes probe {@code successThreshold}. Defaults to {@code 1}.
+     *
+     * @return the success threshold.
+     */
+    int successThreshold() default 1;
+
+    /**
+     * The health check classes this check depends on.
+     *
+     * <p>Dependencies are evaluated first, in parallel. When any of them reports DOWN, this check is not run and
+     * reports DOWN with the reason {@code dependency <name> down}. Defaults to none.
+     *
+     * @return the health check classes this check depends on.
+     */
+    Class<?>[] dependsOn() default {};
+
+    /**
+     * The registered names of the checks this check depends on, for checks registered at runtime through the
+     * {@link com.guicedee.health.implementations.HealthCheckRegistry}.
+     *
+     * <p>Defaults to none.
+     *
+     * @return the names of the checks this check depends on.
+     */
+    String[] dependsOnNames() default {};
+
+    /**
+     * The priority of the check when the endpoint evaluation has a deadline.
+     *
+     * <p>Only takes effect when {@link HealthOptions#evaluationBudget()} is set. Defaults to
+     * {@link HealthCheckPriority#NORMAL}.
+     *
+     * @return the priority.
+     */
+    HealthCheckPriority priority() default HealthCheckPriority.NORMAL;
+
+    /**
+     * The bulkhead group the check runs in when {@link HealthOptions#bulkheadEnabled()} is set. Blocking checks of a
+     * group share a bounded executor, so a hung check only holds threads of its own group.
+     *
+     * <p>Defaults to empty, which runs the check in the {@code default} group.
+     *
+     * @return the group name.
+     */
+    String group() default "";
+}
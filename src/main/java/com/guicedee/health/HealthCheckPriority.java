@@ -0,0 +1,22 @@
+package com.guicedee.health;
+
+/**
+ * How a health check is treated when an endpoint evaluation has a deadline.
+ *
+ * @see HealthOptions#evaluationBudget()
+ */
+public enum HealthCheckPriority {
+    /**
+     * Always evaluated; the endpoint waits for its result up to the check timeout.
+     */
+    CRITICAL,
+    /**
+     * Evaluated within the budget; answered from its last result when the budget is exhausted.
+     */
+    NORMAL,
+    /**
+     * Answered from its last result while it is re-evaluated in the background, so it never holds up the endpoint.
+     * Evaluated like {@link #NORMAL} until a first result exists.
+     */
+    INFORMATIONAL
+}
@@ -63,4 +63,457 @@ public @interface HealthOptions {
      * @return the startup check path.
      */
     String startupPath() default "/health/started";
+
+    /**
+     * Whether the liveness endpoint answers from the pre-computed state of the {@code LivenessMonitor}.
+     *
+     * <p>When enabled, the liveness endpoint never runs user code on the probe path. The module's own
+     * event-loop, blocked-thread and deadlock checks, together with the user {@code @Liveness} checks, are evaluated
+     * on a background timer and the endpoint only writes out the last rendered result.
+     * Defaults to {@code true}.
+     *
+     * @return true if the liveness fast path is enabled, false otherwise.
+     */
+    boolean livenessFastPath() default true;
+
+    /**
+     * The interval, in milliseconds, at which the event-loop heartbeat is sampled.
+     *
+     * <p>Defaults to {@code 1000}.
+     *
+     * @return the liveness monitor interval in milliseconds.
+     */
+    long livenessMonitorInterval() default 1000L;
+
+    /**
+     * The time, in milliseconds, after which an event loop that has not processed its heartbeat is considered blocked.
+     *
+     * <p>A blocked event loop reports liveness as DOWN. Defaults to {@code 10000}.
+     *
+     * @return the blocked event loop threshold in milliseconds.
+     */
+    long eventLoopBlockedThreshold() default 10000L;
+
+    /**
+     * The interval, in milliseconds, at which the deadlock detector and the user {@code @Liveness} checks are
+     * evaluated in the background.
+     *
+     * <p>Defaults to {@code 5000}.
+     *
+     * @return the user liveness check interval in milliseconds.
+     */
+    long livenessCheckInterval() default 5000L;
+
+    /**
+     * The interval, in milliseconds, at which the {@code ResourceSampler} samples worker-pool latency, heap, GC,
+     * buffer pool, disk space, file descriptor and thread usage for the built-in capacity readiness checks.
+     *
+     * <p>Defaults to {@code 1000}.
+     *
+     * @return the resource sample interval in milliseconds.
+     */
+    long resourceSampleInterval() default 1000L;
+
+    /**
+     * The event-loop heartbeat lag, in milliseconds, above which readiness reports DOWN.
+     *
+     * <p>A value of {@code 0} or less disables the check. Defaults to {@code 0}.
+     *
+     * @return the event loop lag threshold in milliseconds.
+     */
+    long eventLoopLagThreshold() default 0L;
+
+    /**
+     * The time, in milliseconds, a task may wait for a worker thread before readiness reports DOWN.
+     *
+     * <p>A value of {@code 0} or less disables the check. Defaults to {@code 0}.
+     *
+     * @return the worker pool latency threshold in milliseconds.
+     */
+    long workerPoolLatencyThreshold() default 0L;
+
+    /**
+     * The fraction of the maximum heap in use above which readiness reports DOWN.
+     *
+     * <p>A value of {@code 0} or less disables the threshold. Defaults to {@code 0}.
+     *
+     * @return the heap usage threshold as a fraction between 0 and 1.
+     */
+    double heapUsageThreshold() default 0d;
+
+    /**
+     * The smoothed fraction of wall-clock time spent in garbage collection above which readiness reports DOWN.
+     *
+     * <p>A value of {@code 0} or less disables the threshold. Defaults to {@code 0}.
+     *
+     * @return the GC time threshold as a fraction between 0 and 1.
+     */
+    double gcTimeThreshold() default 0d;
+
+    /**
+     * The fraction of the maximum direct memory in use above which readiness reports DOWN.
+     *
+     * <p>A value of {@code 0} or less disables the threshold. Defaults to {@code 0}.
+     *
+     * @return the direct memory threshold as a fraction between 0 and 1.
+     */
+    double directMemoryThreshold() default 0d;
+
+    /**
+     * The bytes held by memory-mapped buffers above which readiness reports DOWN.
+     *
+     * <p>A value of {@code 0} or less disables the threshold. Defaults to {@code 0}.
+     *
+     * @return the mapped memory threshold in bytes.
+     */
+    long mappedMemoryThreshold() default 0L;
+
+    /**
+     * The comma-separated paths whose file stores are sampled for free disk space.
+     *
+     * <p>An empty value disables the disk space check. Defaults to empty.
+     *
+     * @return the disk space paths.
+     */
+    String diskSpacePaths() default "";
+
+    /**
+     * The fraction of usable space of a file store below which readiness reports DOWN.
+     *
+     * <p>A value of {@code 0} or less disables the check. Defaults to {@code 0}.
+     *
+     * @return the minimum free disk space as a fraction between 0 and 1.
+     */
+    double diskFreeThreshold() default 0d;
+
+    /**
+     * The fraction of the maximum file descriptors open above which readiness reports DOWN. Only available on Unix.
+     *
+     * <p>A value of {@code 0} or less disables the check. Defaults to {@code 0}.
+     *
+     * @return the file descriptor threshold as a fraction between 0 and 1.
+     */
+    double fileDescriptorThreshold() default 0d;
+
+    /**
+     * The number of live threads above which readiness reports DOWN.
+     *
+     * <p>A value of {@code 0} or less disables the threshold. Defaults to {@code 0}.
+     *
+     * @return the thread count threshold.
+     */
+    int threadCountThreshold() default 0;
+
+    /**
+     * The path to expose the recorded history of each health check.
+     *
+     * <p>Defaults to {@code /health/history}.
+     *
+     * @return the health history path.
+     */
+    String historyPath() default "/health/history";
+
+    /**
+     * The number of evaluations kept per health check in the history ring buffer.
+     *
+     * <p>A value of {@code 0} or less disables history recording. Defaults to {@code 64}.
+     *
+     * @return the history size per check.
+     */
+    int historySize() default 64;
+
+    /**
+     * The number of status transitions within {@link #flapWindow()} at which a check is considered flapping.
+     *
+     * <p>A value of {@code 0} or less disables flap detection. Defaults to {@code 5}.
+     *
+     * @return the flap transition threshold.
+     */
+    int flapThreshold() default 5;
+
+    /**
+     * The window, in milliseconds, in which {@link #flapThreshold()} transitions mark a check as flapping.
+     *
+     * <p>Defaults to {@code 60000}.
+     *
+     * @return the flap window in milliseconds.
+     */
+    long flapWindow() default 60000L;
+
+    /**
+     * Whether a flapping check keeps reporting its last stable status until it stops flapping.
+     *
+     * <p>Defaults to {@code false}.
+     *
+     * @return true if the status is held while flapping, false otherwise.
+     */
+    boolean holdOnFlap() default false;
+
+    /**
+     * The base path of the tenant-scoped health routes. Each tenant is served on {@code <tenantPath>/<tenantId>}.
+     *
+     * <p>Defaults to {@code /health/tenant}.
+     *
+     * @return the tenant health path.
+     */
+    String tenantPath() default "/health/tenant";
+
+    /**
+     * The path to expose the fleet summary of all tenants.
+     *
+     * <p>Defaults to {@code /health/tenants}.
+     *
+     * @return the tenant summary path.
+     */
+    String tenantsPath() default "/health/tenants";
+
+    /**
+     * The maximum number of tenants evaluated at the same time.
+     *
+     * <p>Defaults to {@code 16}.
+     *
+     * @return the tenant concurrency budget.
+     */
+    int tenantConcurrency() default 16;
+
+    /**
+     * The interval, in milliseconds, at which every tenant is evaluated in the background for the fleet summary.
+     *
+     * <p>A value of {@code 0} or less disables the background sweep. Defaults to {@code 30000}.
+     *
+     * @return the tenant check interval in milliseconds.
+     */
+    long tenantCheckInterval() default 30000L;
+
+    /**
+     * Whether this node shares its health on the Vert.x event bus and serves the cluster view on
+     * {@link #clusterPath()}.
+     *
+     * <p>Defaults to {@code false}.
+     *
+     * @return true if cluster health is enabled, false otherwise.
+     */
+    boolean clusterEnabled() default false;
+
+    /**
+     * The path to expose the health of all nodes in the cluster.
+     *
+     * <p>Defaults to {@code /health/cluster}.
+     *
+     * @return the cluster health path.
+     */
+    String clusterPath() default "/health/cluster";
+
+    /**
+     * The event bus address the node health snapshots are published on.
+     *
+     * <p>Defaults to {@code guicedee.health.cluster}.
+     *
+     * @return the cluster event bus address.
+     */
+    String clusterAddress() default "guicedee.health.cluster";
+
+    /**
+     * The identifier of this node in the cluster view.
+     *
+     * <p>An empty value uses a random identifier. Defaults to empty.
+     *
+     * @return the node identifier.
+     */
+    String clusterNodeId() default "";
+
+    /**
+     * The interval, in milliseconds, at which this node is evaluated and its snapshot published if it changed.
+     *
+     * <p>Defaults to {@code 5000}.
+     *
+     * @return the cluster publish interval in milliseconds.
+     */
+    long clusterPublishInterval() default 5000L;
+
+    /**
+     * The time, in milliseconds, after which a node that has not been heard from is removed from the cluster view.
+     * Unchanged nodes republish their snapshot every third of this time.
+     *
+     * <p>A value of {@code 0} or less disables expiry. Defaults to {@code 30000}.
+     *
+     * @return the node expiry in milliseconds.
+     */
+    long clusterNodeTtl() default 30000L;
+
+    /**
+     * Whether the health endpoints also serve the compact binary snapshot format to clients that request it with
+     * {@code Accept: application/vnd.guicedee.health+binary}. JSON remains the default.
+     *
+     * <p>Defaults to {@code true}.
+     *
+     * @return true if binary snapshots are served, false otherwise.
+     */
+    boolean binarySnapshots() default true;
+
+    /**
+     * The time, in milliseconds, readiness reports DOWN on shutdown while requests keep being served, giving load
+     * balancers time to stop routing traffic to this instance.
+     *
+     * <p>Defaults to {@code 0}.
+     *
+     * @return the drain period in milliseconds.
+     */
+    long drainPeriod() default 0L;
+
+    /**
+     * The maximum time, in milliseconds, to wait after the drain period for in-flight requests to complete before the
+     * health monitors are stopped.
+     *
+     * <p>Defaults to {@code 10000}.
+     *
+     * @return the drain timeout in milliseconds.
+     */
+    long drainTimeout() default 10000L;
+
+    /**
+     * The deadline, in milliseconds, for evaluating an endpoint. When it elapses, {@link HealthCheckPriority#NORMAL}
+     * checks that have not completed are answered from their last result, {@link HealthCheckPriority#CRITICAL} checks
+     * are still awaited, and {@link HealthCheckPriority#INFORMATIONAL} checks never delay the response.
+     *
+     * <p>Defaults to {@code 0}, which disables the budget.
+     *
+     * @return the evaluation budget in milliseconds.
+     */
+    long evaluationBudget() default 0L;
+
+    /**
+     * Whether endpoint evaluations are traced, with a span per evaluation and a child span per check, exported to the
+     * {@link HealthSpanExporter}s.
+     *
+     * <p>Defaults to {@code false}; when disabled, no tracing handler is mounted and checks pay a single field read.
+     *
+     * @return true if tracing is enabled, false otherwise.
+     */
+    boolean tracingEnabled() default false;
+
+    /**
+     * The fraction of endpoint evaluations that are traced, between {@code 0} and {@code 1}, so that frequent probes
+     * do not flood the tracing backend.
+     *
+     * <p>Defaults to {@code 0.1}.
+     *
+     * @return the sampling ratio.
+     */
+    double tracingSampleRatio() default 0.1;
+
+    /**
+     * Whether the health endpoints are served from a dedicated management HTTP server with its own event loop,
+     * instead of the application router, so that probes are not queued behind application traffic.
+     *
+     * <p>Defaults to {@code false}.
+     *
+     * @return true if the management server is used, false otherwise.
+     */
+    boolean managementEnabled() default false;
+
+    /**
+     * The port of the management server; {@code 0} picks a free port.
+     *
+     * <p>Defaults to {@code 9000}.
+     *
+     * @return the management port.
+     */
+    int managementPort() default 9000;
+
+    /**
+     * The host the management server binds to.
+     *
+     * <p>Defaults to {@code 0.0.0.0}.
+     *
+     * @return the management host.
+     */
+    String managementHost() default "0.0.0.0";
+
+    /**
+     * The maximum number of concurrent connections to the management server; further connections are closed when
+     * accepted. {@code 0} removes the limit.
+     *
+     * <p>Defaults to {@code 64}.
+     *
+     * @return the maximum number of connections.
+     */
+    int managementMaxConnections() default 64;
+
+    /**
+     * The PKCS#12 or JKS (by {@code .jks} extension) key store enabling TLS on the management server.
+     *
+     * <p>Defaults to empty, which serves plain HTTP.
+     *
+     * @return the key store path.
+     */
+    String managementKeyStore() default "";
+
+    /**
+     * The password of the management key store.
+     *
+     * <p>Defaults to empty.
+     *
+     * @return the key store password.
+     */
+    String managementKeyStorePassword() default "";
+
+    /**
+     * The path of a memory-mapped file the health of this process is published to, for sidecars, node agents and
+     * {@code exec} probes that read it without calling into the JVM.
+     *
+     * <p>Defaults to empty, which disables the file.
+     *
+     * @return the snapshot file path.
+     */
+    String snapshotFile() default "";
+
+    /**
+     * The interval, in milliseconds, at which the checks are evaluated for the snapshot file and its heartbeat is
+     * written.
+     *
+     * <p>Defaults to {@code 1000}.
+     *
+     * @return the snapshot file interval in milliseconds.
+     */
+    long snapshotFileInterval() default 1000L;
+
+    /**
+     * Whether blocking checks run on bounded per-group executors that abandon and interrupt executions exceeding the
+     * check timeout, instead of on the thread evaluating the endpoint.
+     *
+     * <p>Defaults to {@code false}.
+     *
+     * @return true if the bulkheads are enabled, false otherwise.
+     */
+    boolean bulkheadEnabled() default false;
+
+    /**
+     * The number of threads of each check group's bulkhead.
+     *
+     * <p>Defaults to {@code 2}.
+     *
+     * @return the threads per group.
+     */
+    int bulkheadThreads() default 2;
+
+    /**
+     * The number of executions that may wait for a thread in each check group's bulkhead; further executions are
+     * rejected and report DOWN.
+     *
+     * <p>Defaults to {@code 16}.
+     *
+     * @return the queue size per group.
+     */
+    int bulkheadQueueSize() default 16;
+
+    /**
+     * The number of times the health pipeline is exercised in the background at the end of post-startup, with
+     * readiness reporting DOWN until it completes, so that the first probes do not run cold code.
+     *
+     * <p>Defaults to {@code 0}, which disables the warm-up.
+     *
+     * @return the number of warm-up iterations.
+     */
+    int warmupIterations() default 0;
 }
@@ -0,0 +1,31 @@
+package com.guicedee.health;
+
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * A completed tracing span of a health endpoint evaluation or of a single check within it.
+ *
+ * <p>Identifiers follow the W3C trace context format: 32 hexadecimal characters for the trace, 16 for a span. The
+ * span of an endpoint evaluation has no parent; the spans of its checks share its trace id and name it as parent.</p>
+ *
+ * @param traceId       The trace id.
+ * @param spanId        The span id.
+ * @param parentSpanId  The id of the parent span, or null for an endpoint evaluation.
+ * @param name          {@code health <endpoint path>} for an endpoint, {@code health.check <check name>} for a check.
+ * @param startTime     The wall-clock start of the span.
+ * @param durationNanos The duration of the span in nanoseconds.
+ * @param ok            Whether the endpoint or check reported UP.
+ * @param attributes    The span attributes.
+ */
+public record HealthSpan(String traceId, String spanId, String parentSpanId, String name, Instant startTime,
+                         long durationNanos, boolean ok, Map<String, Object> attributes) {
+    /**
+     * Returns whether this is the span of an endpoint evaluation.
+     *
+     * @return true if the span has no parent.
+     */
+    public boolean isRoot() {
+        return parentSpanId == null;
+    }
+}
@@ -0,0 +1,23 @@
+package com.guicedee.health;
+
+/**
+ * Receives the tracing spans of health endpoint evaluations when {@link HealthOptions#tracingEnabled()} is set.
+ *
+ * <p>Implementations are discovered with {@link java.util.ServiceLoader}, declared with
+ * {@code provides com.guicedee.health.HealthSpanExporter with ...} in {@code module-info.java} or in
+ * {@code META-INF/services}, and can also be added to the
+ * {@link com.guicedee.health.implementations.HealthTracer} at runtime. An adapter to an OpenTelemetry
+ * {@code SpanExporter} only needs to translate the {@link HealthSpan} fields.</p>
+ *
+ * <p>Spans are exported on the thread that completes them, often a Vert.x event loop: implementations must not
+ * block and should hand the span off to their own batching.</p>
+ */
+public interface HealthSpanExporter {
+    /**
+     * Exports a completed span. Spans are exported as they complete, so the span of an endpoint evaluation may
+     * arrive before the span of its last check.
+     *
+     * @param span The completed span.
+     */
+    void export(HealthSpan span);
+}
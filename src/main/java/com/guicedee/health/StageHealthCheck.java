@@ -0,0 +1,32 @@
+package com.guicedee.health;
+
+import io.smallrye.mutiny.Uni;
+import org.eclipse.microprofile.health.HealthCheckResponse;
+
+import java.util.concurrent.CompletionStage;
+
+/**
+ * A non-blocking health check returning a {@link CompletionStage}.
+ *
+ * <p>The stage is adapted to the {@link Uni} of {@link AsyncHealthCheck#call()}. When an evaluation times out, the
+ * subscription is cancelled, which cancels the {@link java.util.concurrent.CompletableFuture} behind the returned
+ * stage.</p>
+ */
+public interface StageHealthCheck extends AsyncHealthCheck {
+    /**
+     * Evaluates the health check as a {@link CompletionStage}.
+     *
+     * @return a stage completing with the health check response.
+     */
+    CompletionStage<HealthCheckResponse> callStage();
+
+    /**
+     * Adapts {@link #callStage()}, which is invoked on each subscription.
+     *
+     * @return a Uni emitting the health check response.
+     */
+    @Override
+    default Uni<HealthCheckResponse> call() {
+        return Uni.createFrom().completionStage(this::callStage);
+    }
+}
@@ -0,0 +1,238 @@
+package com.guicedee.health.implementations;
+
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+
+import java.lang.invoke.VarHandle;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A fixed-size ring buffer of the most recent evaluations of a single health check, with flap detection.
+ *
+ * <p>Entries are stored in primitive arrays indexed by a shared sequence, so recording never allocates. Each slot
+ * carries a version that is invalidated before and published after the slot is written, which lets readers skip
+ * slots that are being overwritten instead of locking. Invalidating a slot claims it, so two writers whose sequences
+ * are {@code capacity} apart take turns on the slot, and an older entry never overwrites a newer one.</p>
+ *
+ * <p>A check is flapping when it changed status {@code flapThreshold} times within {@code flapWindow} milliseconds.
+ * While flapping, {@link #record(boolean, long)} can hold the last stable status instead of the evaluated one.</p>
+ */
+public class CheckHistory {
+    private static final int UNKNOWN = -1;
+    private static final int DOWN = 0;
+    private static final int UP = 1;
+    /**
+     * The version of a slot while a writer holds it.
+     */
+    private static final long WRITING = -1L;
+
+    private final String name;
+    private final int capacity;
+    private final long[] timestamps;
+    private final long[] latencies;
+    private final byte[] statuses;
+    /**
+     * The sequence number + 1 of the entry held by each slot, 0 while empty, or {@link #WRITING} while the slot is
+     * being written.
+     */
+    private final AtomicLongArray versions;
+    private final AtomicLong sequence = new AtomicLong();
+
+    private final int flapThreshold;
+    private final long flapWindowMillis;
+    private final boolean holdOnFlap;
+    /**
+     * The timestamps of the last {@code flapThreshold} status transitions.
+     */
+    private final AtomicLongArray transitions;
+    private final AtomicLong transitionCount = new AtomicLong();
+    private final AtomicInteger lastStatus = new AtomicInteger(UNKNOWN);
+    private volatile int stableStatus = UNKNOWN;
+    private volatile boolean flapping;
+
+    /**
+     * Creates a new check history.
+     *
+     * @param name          The health check name.
+     * @param capacity      The number of evaluations kept, 0 or less disables recording.
+     * @param flapThreshold The number of transitions within the window that mark the check as flapping,
+     *                      0 or less disables flap detection.
+     * @param flapWindow    The flap detection window in milliseconds.
+     * @param holdOnFlap    Whether the last stable status is reported while flapping.
+     */
+    public CheckHistory(String name, int capacity, int flapThreshold, long flapWindow, boolean holdOnFlap) {
+        this.name = name;
+        this.capacity = Math.max(0, capacity);
+        this.timestamps = new long[this.capacity];
+        this.latencies = new long[this.capacity];
+        this.statuses = new byte[this.capacity];
+        this.versions = new AtomicLongArray(this.capacity);
+        this.flapThreshold = Math.max(0, flapThreshold);
+        this.flapWindowMillis = flapWindow;
+        this.holdOnFlap = holdOnFlap;
+        this.transitions = new AtomicLongArray(Math.max(1, this.flapThreshold));
+    }
+
+    /**
+     * Records an evaluation and returns the status that should be reported for it.
+     *
+     * @param up           Whether the evaluation was UP.
+     * @param latencyNanos How long the evaluation took, in nanoseconds.
+     * @return the status to report, which differs from {@code up} only while flapping with hold enabled.
+     */
+    public boolean record(boolean up, long latencyNanos) {
+        long now = System.currentTimeMillis();
+        if (capacity > 0) {
+            long seq = sequence.getAndIncrement();
+            int slot = (int) (seq % capacity);
+            if (claim(slot, seq)) {
+                // Keep the entry stores after the invalidation of the version
+                VarHandle.storeStoreFence();
+                timestamps[slot] = now;
+                latencies[slot] = latencyNanos;
+                statuses[slot] = (byte) (up ? UP : DOWN);
+                versions.set(slot, seq + 1);
+            }
+        }
+
+        int status = up ? UP : DOWN;
+        int previous = lastStatus.getAndSet(status);
+        if (flapThreshold == 0) {
+            return up;
+        }
+        if (previous != UNKNOWN && previous != status) {
+            long transition = transitionCount.getAndIncrement();
+            transitions.set((int) (transition % flapThreshold), now);
+        }
+        long count = transitionCount.get();
+        boolean nowFlapping = count >= flapThreshold
+                && now - transitions.get((int) (count % flapThreshold)) <= flapWindowMillis;
+        flapping = nowFlapping;
+        if (!nowFlapping || stableStatus == UNKNOWN) {
+            stableStatus = status;
+            return up;
+        }
+        return holdOnFlap ? stableStatus == UP : up;
+    }
+
+    /**
+     * Claims a slot for writing the entry with the given sequence, waiting for another writer holding it.
+     *
+     * @param slot the slot to claim
+     * @param seq  the sequence of the entry to write
+     * @return false if the slot already holds a newer entry, which must not be overwritten.
+     */
+    private boolean claim(int slot, long seq) {
+        while (true) {
+            long version = versions.get(slot);
+            if (version > seq + 1) {
+                return false;
+            }
+            if (version == WRITING) {
+                Thread.onSpinWait();
+            } else if (versions.compareAndSet(slot, version, WRITING)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Returns the recorded entries, newest first.
+     *
+     * <p>Slots that are overwritten while being read are skipped.</p>
+     *
+     * @return the recorded entries.
+     */
+    public List<Entry> entries() {
+        List<Entry> entries = new ArrayList<>();
+        long next = sequence.get();
+        for (long seq = next - 1; seq >= 0 && seq >= next - capacity; seq--) {
+            int slot = (int) (seq % capacity);
+            long version = versions.get(slot);
+            if (version != seq + 1) {
+                continue;
+            }
+            long timestamp = timestamps[slot];
+            long latency = latencies[slot];
+            byte status = statuses[slot];
+            // Keep the entry loads before the validating load of the version
+            VarHandle.loadLoadFence();
+            if (versions.get(slot) == version) {
+                entries.add(new Entry(timestamp, status == UP, latency));
+            }
+        }
+        return entries;
+    }
+
+    /**
+     * Returns the health check name.
+     *
+     * @return the name.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Returns the total number of evaluations recorded, including those overwritten.
+     *
+     * @return the number of recorded evaluations.
+     */
+    public long getRecorded() {
+        return sequence.get();
+    }
+
+    /**
+     * Returns the total number of status transitions observed.
+     *
+     * @return the number of transitions.
+     */
+    public long getTransitions() {
+        return transitionCount.get();
+    }
+
+    /**
+     * Returns whether the check was flapping at its last evaluation.
+     *
+     * @return true if flapping, false otherwise.
+     */
+    public boolean isFlapping() {
+        return flapping;
+    }
+
+    /**
+     * Renders the history as JSON.
+     *
+     * @return the JSON representation.
+     */
+    public JsonObject toJson() {
+        JsonArray entries = new JsonArray();
+        for (Entry entry : entries()) {
+            entries.add(new JsonObject()
+                    .put("timestamp", entry.timestamp())
+                    .put("status", entry.up() ? "UP" : "DOWN")
+                    .put("latencyMicros", TimeUnit.NANOSECONDS.toMicros(entry.latencyNanos())));
+        }
+        return new JsonObject()
+                .put("id", name)
+                .put("flapping", flapping)
+                .put("recorded", getRecorded())
+                .put("transitions", getTransitions())
+                .put("entries", entries);
+    }
+
+    /**
+     * A single recorded evaluation.
+     *
+     * @param timestamp    The epoch milliseconds at which the evaluation completed.
+     * @param up           Whether the evaluation was UP.
+     * @param latencyNanos How long the evaluation took, in nanoseconds.
+     */
+    public record Entry(long timestamp, boolean up, long latencyNanos) {
+    }
+}
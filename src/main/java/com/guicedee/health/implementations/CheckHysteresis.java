@@ -0,0 +1,74 @@
+package com.guicedee.health.implementations;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Debounces the status of a health check so that it only changes after a run of consecutive opposite results.
+ *
+ * <p>The reported status and the length of the current opposite run are packed into a single {@link AtomicLong}
+ * and updated with a compare-and-set loop, so concurrent probes never block each other.</p>
+ */
+public class CheckHysteresis {
+    private static final long UNKNOWN = 0L;
+    private static final long UP = 1L;
+    private static final long DOWN = 2L;
+    private static final long STREAK_MASK = 0xFFFFFFFFL;
+
+    private final int failureThreshold;
+    private final int successThreshold;
+    /**
+     * The reported status in the high 32 bits and the current opposite streak in the low 32 bits.
+     */
+    private final AtomicLong state = new AtomicLong(UNKNOWN << 32);
+
+    /**
+     * Creates a new hysteresis.
+     *
+     * @param failureThreshold The number of consecutive failures before reporting DOWN.
+     * @param successThreshold The number of consecutive successes before reporting UP again.
+     */
+    public CheckHysteresis(int failureThreshold, int successThreshold) {
+        this.failureThreshold = Math.max(1, failureThreshold);
+        this.successThreshold = Math.max(1, successThreshold);
+    }
+
+    /**
+     * Applies an evaluated status and returns the status to report.
+     *
+     * <p>The first evaluation is reported as-is.</p>
+     *
+     * @param up Whether the evaluation was UP.
+     * @return the debounced status.
+     */
+    public boolean apply(boolean up) {
+        if (failureThreshold == 1 && successThreshold == 1) {
+            return up;
+        }
+        long evaluated = up ? UP : DOWN;
+        while (true) {
+            long current = state.get();
+            long reported = current >>> 32;
+            long streak = current & STREAK_MASK;
+            long next;
+            if (reported == UNKNOWN || reported == evaluated) {
+                next = evaluated << 32;
+            } else if (streak + 1 >= (up ? successThreshold : failureThreshold)) {
+                next = evaluated << 32;
+            } else {
+                next = (reported << 32) | (streak + 1);
+            }
+            if (current == next || state.compareAndSet(current, next)) {
+                return (next >>> 32) == UP;
+            }
+        }
+    }
+
+    /**
+     * Returns the number of consecutive evaluations that disagree with the reported status.
+     *
+     * @return the pending streak length.
+     */
+    public int getPendingStreak() {
+        return (int) (state.get() & STREAK_MASK);
+    }
+}
@@ -0,0 +1,315 @@
+package com.guicedee.health.implementations;
+
+import com.guicedee.health.HealthOptions;
+import io.vertx.core.Handler;
+import io.vertx.core.eventbus.EventBus;
+import io.vertx.core.eventbus.Message;
+import io.vertx.core.eventbus.MessageConsumer;
+import io.vertx.core.http.HttpHeaders;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.web.RoutingContext;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Shares the health of this node with the other nodes on the Vert.x event bus and keeps a view of the whole cluster.
+ *
+ * <p>On every tick of the shared health monitor timer the outcome of the last evaluation of every check in the
+ * {@link HealthCheckRegistry} is reduced to a compact snapshot: the node id, a sequence number, the overall status
+ * and the ids of the failing checks. No check is run for the snapshot, so the timer is never blocked by a slow
+ * check; the snapshot follows the probes of the health endpoints, and a check that has not been probed yet is not
+ * reported as failing. The procedures owned by the module itself, such as the {@link ShutdownDrain} and the
+ * {@link HealthWarmup}, are not in the registry; their state is read directly on every tick, so a draining node or
+ * one still warming up is advertised as DOWN. The snapshot is published on {@link HealthOptions#clusterAddress()} only when it differs from the last one published,
+ * or as a heartbeat once a third of {@link HealthOptions#clusterNodeTtl()} has passed without a change.</p>
+ *
+ * <p>Each node applies the snapshots it receives to a local map of node states, keeping only the newest sequence
+ * per node. Nodes that stay silent for longer than the TTL are expired, and a node that stops gracefully publishes a
+ * leave message so that the others drop it immediately. A node seeing an unknown peer republishes its own snapshot,
+ * so that nodes joining late learn the state of the cluster without waiting for the next change.</p>
+ *
+ * <p>When the Vert.x instance is clustered, the event bus spans all nodes; otherwise the view contains every
+ * {@code ClusterHealth} sharing the local event bus.</p>
+ */
+public class ClusterHealth implements Handler<RoutingContext> {
+    private static final String TYPE_SNAPSHOT = "snapshot";
+    private static final String TYPE_LEAVE = "leave";
+
+    private final EventBus eventBus;
+    private final HealthCheckRegistry registry;
+    private final Map<String, BooleanSupplier> procedures;
+    private final ScheduledExecutorService executor;
+    private final String nodeId;
+    private final long epoch = System.currentTimeMillis();
+    private final String address;
+    private final long publishInterval;
+    private final long nodeTtl;
+    private final long heartbeatInterval;
+    private final Map<String, NodeState> nodes = new ConcurrentHashMap<>();
+
+    private long sequence;
+    private volatile NodeState published;
+    private long publishedAt;
+    private volatile MessageConsumer<JsonObject> consumer;
+    private volatile ScheduledFuture<?> schedule;
+
+    /**
+     * Creates a new cluster health view.
+     *
+     * @param eventBus   The event bus the snapshots are published on.
+     * @param registry   The registry supplying the last outcome of each check of this node.
+     * @param procedures The module-owned procedures not in the registry, by name, each supplying whether it is UP.
+     * @param executor   The background timer the snapshot is published on.
+     * @param options    The health options supplying the address, node id and intervals.
+     */
+    public ClusterHealth(EventBus eventBus, HealthCheckRegistry registry, Map<String, BooleanSupplier> procedures,
+                         ScheduledExecutorService executor, HealthOptions options) {
+        this.eventBus = eventBus;
+        this.registry = registry;
+        this.procedures = Map.copyOf(procedures);
+        this.executor = executor;
+        this.nodeId = options.clusterNodeId() == null || options.clusterNodeId().isBlank()
+                ? UUID.randomUUID().toString()
+                : options.clusterNodeId();
+        this.address = options.clusterAddress();
+        this.publishInterval = Math.max(1L, options.clusterPublishInterval());
+        this.nodeTtl = options.clusterNodeTtl();
+        this.heartbeatInterval = Math.max(this.publishInterval, this.nodeTtl / 3);
+    }
+
+    /**
+     * Subscribes to the cluster address and starts publishing this node's snapshot.
+     * Does nothing if already started.
+     */
+    public synchronized void start() {
+        if (schedule != null) {
+            return;
+        }
+        consumer = eventBus.consumer(address, this::receive);
+        schedule = executor.scheduleWithFixedDelay(this::tick, 0, publishInterval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stops publishing, announces that this node is leaving and unsubscribes from the cluster address.
+     */
+    public synchronized void stop() {
+        if (schedule == null) {
+            return;
+        }
+        schedule.cancel(false);
+        schedule = null;
+        eventBus.publish(address, new JsonObject().put("type", TYPE_LEAVE).put("node", nodeId));
+        consumer.unregister();
+        consumer = null;
+        nodes.clear();
+    }
+
+    /**
+     * Publishes this node's snapshot when it changed or a heartbeat is due, and expires silent nodes.
+     */
+    private void tick() {
+        expire(System.currentTimeMillis());
+        Map<String, Boolean> outcomes = new TreeMap<>(registry.lastOutcomes());
+        procedures.forEach((name, up) -> outcomes.put(name, up.getAsBoolean()));
+        publish(outcomes);
+    }
+
+    /**
+     * Publishes the snapshot of the last check outcomes if it differs from the last published one or a heartbeat is
+     * due.
+     *
+     * @param outcomes the check and procedure names, sorted, mapped to whether each one is UP
+     */
+    private synchronized void publish(Map<String, Boolean> outcomes) {
+        if (schedule == null) {
+            return;
+        }
+        List<String> down = new ArrayList<>();
+        outcomes.forEach((name, checkUp) -> {
+            if (!checkUp) {
+                down.add(name);
+            }
+        });
+        boolean up = down.isEmpty();
+        long now = System.currentTimeMillis();
+        boolean changed = published == null || published.up() != up || !published.down().equals(down);
+        if (!changed && now - publishedAt < heartbeatInterval) {
+            return;
+        }
+        published = new NodeState(nodeId, epoch, ++sequence, up, List.copyOf(down), now);
+        publishedAt = now;
+        nodes.put(nodeId, published);
+        eventBus.publish(address, toMessage(published));
+    }
+
+    /**
+     * Applies a message received on the cluster address to the local view.
+     *
+     * @param message the received message
+     */
+    private void receive(Message<JsonObject> message) {
+        JsonObject body = message.body();
+        String node = body.getString("node");
+        if (node == null || nodeId.equals(node)) {
+            return;
+        }
+        if (TYPE_LEAVE.equals(body.getString("type"))) {
+            nodes.remove(node);
+            return;
+        }
+        List<String> down = new ArrayList<>();
+        JsonArray downJson = body.getJsonArray("down");
+        if (downJson != null) {
+            downJson.forEach(id -> down.add(String.valueOf(id)));
+        }
+        NodeState incoming = new NodeState(node, body.getLong("epoch", 0L), body.getLong("seq", 0L),
+                body.getBoolean("up", false), List.copyOf(down), System.currentTimeMillis());
+        NodeState previous = nodes.get(node);
+        nodes.merge(node, incoming, (current, next) -> next.isNewerThan(current) ? next : current.touch(next.lastSeen()));
+        if (previous == null) {
+            // A new peer: answer with our own state so it does not wait for our next change
+            NodeState own = published;
+            if (own != null) {
+                eventBus.publish(address, toMessage(own));
+            }
+        }
+    }
+
+    /**
+     * Removes nodes that have been silent for longer than the TTL.
+     *
+     * @param now the current epoch milliseconds
+     */
+    private void expire(long now) {
+        if (nodeTtl <= 0) {
+            return;
+        }
+        nodes.values().removeIf(state -> !nodeId.equals(state.nodeId()) && now - state.lastSeen() > nodeTtl);
+    }
+
+    /**
+     * Renders the compact event bus message of a node state.
+     *
+     * @param state the node state
+     * @return the message body
+     */
+    private static JsonObject toMessage(NodeState state) {
+        return new JsonObject()
+                .put("type", TYPE_SNAPSHOT)
+                .put("node", state.nodeId())
+                .put("epoch", state.epoch())
+                .put("seq", state.sequence())
+                .put("up", state.up())
+                .put("down", new JsonArray(state.down()));
+    }
+
+    /**
+     * Returns the identifier of this node.
+     *
+     * @return the node id.
+     */
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    /**
+     * Returns the state of a node as currently known.
+     *
+     * @param nodeId The node identifier.
+     * @return the node state, or null if the node is unknown or expired.
+     */
+    public NodeState getNode(String nodeId) {
+        return nodes.get(nodeId);
+    }
+
+    /**
+     * Returns the states of all known nodes, this node included once it has published.
+     *
+     * @return the node states.
+     */
+    public Collection<NodeState> getNodes() {
+        return nodes.values();
+    }
+
+    /**
+     * Renders the cluster view.
+     *
+     * @return the cluster view.
+     */
+    public JsonObject toJson() {
+        expire(System.currentTimeMillis());
+        int up = 0;
+        JsonArray checks = new JsonArray();
+        for (NodeState state : nodes.values()) {
+            if (state.up()) {
+                up++;
+            }
+            checks.add(new JsonObject()
+                    .put("id", state.nodeId())
+                    .put("status", state.up() ? "UP" : "DOWN")
+                    .put("down", new JsonArray(state.down()))
+                    .put("sequence", state.sequence())
+                    .put("lastSeen", state.lastSeen()));
+        }
+        int total = checks.size();
+        return new JsonObject()
+                .put("status", up == total ? "UP" : "DOWN")
+                .put("node", nodeId)
+                .put("nodes", total)
+                .put("up", up)
+                .put("down", total - up)
+                .put("checks", checks);
+    }
+
+    /**
+     * Renders the cluster view from the local map of node states; no other node is contacted.
+     *
+     * @param ctx the routing context
+     */
+    @Override
+    public void handle(RoutingContext ctx) {
+        ctx.response()
+                .putHeader(HttpHeaders.CONTENT_TYPE, "application/json;charset=UTF-8")
+                .end(toJson().toBuffer());
+    }
+
+    /**
+     * The last known state of a node.
+     *
+     * @param nodeId   The node identifier.
+     * @param epoch    The epoch milliseconds at which the node started publishing, distinguishing restarts.
+     * @param sequence The sequence number of the snapshot, increasing per epoch.
+     * @param up       Whether all checks of the node are UP.
+     * @param down     The ids of the failing checks.
+     * @param lastSeen The epoch milliseconds at which the node was last heard from.
+     */
+    public record NodeState(String nodeId, long epoch, long sequence, boolean up, List<String> down, long lastSeen) {
+        /**
+         * Creates a node state.
+         */
+        public NodeState {
+            Objects.requireNonNull(nodeId, "nodeId");
+            down = down == null ? List.of() : down;
+        }
+
+        private boolean isNewerThan(NodeState other) {
+            return epoch > other.epoch || (epoch == other.epoch && sequence > other.sequence);
+        }
+
+        private NodeState touch(long seen) {
+            return new NodeState(nodeId, epoch, sequence, up, down, Math.max(lastSeen, seen));
+        }
+    }
+}
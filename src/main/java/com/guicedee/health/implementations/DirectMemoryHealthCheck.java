@@ -0,0 +1,37 @@
+package com.guicedee.health.implementations;
+
+import org.eclipse.microprofile.health.HealthCheck;
+import org.eclipse.microprofile.health.HealthCheckResponse;
+import org.eclipse.microprofile.health.Readiness;
+
+/**
+ * Reports readiness DOWN when direct buffer usage exceeds
+ * {@link com.guicedee.health.HealthOptions#directMemoryThreshold()} of the maximum direct memory, or when
+ * memory-mapped buffers hold more than {@link com.guicedee.health.HealthOptions#mappedMemoryThreshold()} bytes.
+ */
+@Readiness
+public class DirectMemoryHealthCheck implements HealthCheck {
+    /**
+     * Creates a new direct memory health check.
+     */
+    public DirectMemoryHealthCheck() {
+    }
+
+    @Override
+    public HealthCheckResponse call() {
+        ResourceSampler sampler = HealthPreStartup.getResourceSampler();
+        double usage = sampler.getDirectMemoryUsage();
+        double threshold = sampler.getDirectMemoryThreshold();
+        long mapped = sampler.getMappedMemoryUsed();
+        long mappedThreshold = sampler.getMappedMemoryThreshold();
+        boolean directUp = threshold <= 0 || usage <= threshold;
+        boolean mappedUp = mappedThreshold <= 0 || mapped <= mappedThreshold;
+        return HealthCheckResponse.named("guicedee-direct-memory")
+                .status(directUp && mappedUp)
+                .withData("usedBytes", sampler.getDirectMemoryUsed())
+                .withData("usagePercent", Math.round(usage * 100))
+                .withData("mappedBytes", mapped)
+                .withData("mappedBuffers", sampler.getMappedBufferCount())
+                .build();
+    }
+}
@@ -0,0 +1,42 @@
+package com.guicedee.health.implementations;
+
+import org.eclipse.microprofile.health.HealthCheck;
+import org.eclipse.microprofile.health.HealthCheckResponse;
+import org.eclipse.microprofile.health.HealthCheckResponseBuilder;
+import org.eclipse.microprofile.health.Readiness;
+
+/**
+ * Reports readiness DOWN when the usable space of the file store of any of
+ * {@link com.guicedee.health.HealthOptions#diskSpacePaths()} falls below
+ * {@link com.guicedee.health.HealthOptions#diskFreeThreshold()}, or when a store cannot be read.
+ */
+@Readiness
+public class DiskSpaceHealthCheck implements HealthCheck {
+    /**
+     * Creates a new disk space health check.
+     */
+    public DiskSpaceHealthCheck() {
+    }
+
+    @Override
+    public HealthCheckResponse call() {
+        ResourceSampler sampler = HealthPreStartup.getResourceSampler();
+        double threshold = sampler.getDiskFreeThreshold();
+        boolean up = true;
+        HealthCheckResponseBuilder builder = HealthCheckResponse.named("guicedee-disk-space");
+        for (ResourceSampler.DiskSpace disk : sampler.getDiskSpace().values()) {
+            if (disk.totalBytes() < 0) {
+                up = false;
+                builder.withData(disk.path() + ".error", "unreadable");
+                continue;
+            }
+            double free = disk.freeFraction();
+            if (threshold > 0 && free < threshold) {
+                up = false;
+            }
+            builder.withData(disk.path() + ".usableBytes", disk.usableBytes())
+                    .withData(disk.path() + ".freePercent", Math.round(free * 100));
+        }
+        return builder.status(up).build();
+    }
+}
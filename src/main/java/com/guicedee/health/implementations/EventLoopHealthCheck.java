@@ -0,0 +1,31 @@
+package com.guicedee.health.implementations;
+
+import org.eclipse.microprofile.health.HealthCheck;
+import org.eclipse.microprofile.health.HealthCheckResponse;
+import org.eclipse.microprofile.health.Readiness;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reports readiness DOWN when the event-loop heartbeat lag sampled by the {@link LivenessMonitor} exceeds
+ * {@link com.guicedee.health.HealthOptions#eventLoopLagThreshold()}.
+ */
+@Readiness
+public class EventLoopHealthCheck implements HealthCheck {
+    /**
+     * Creates a new event loop health check.
+     */
+    public EventLoopHealthCheck() {
+    }
+
+    @Override
+    public HealthCheckResponse call() {
+        long lag = HealthPreStartup.getLivenessMonitor().getMaxEventLoopLagNanos();
+        long threshold = HealthPreStartup.getResourceSampler().getEventLoopLagThresholdNanos();
+        return HealthCheckResponse.named("guicedee-event-loop-latency")
+                .status(threshold <= 0 || lag <= threshold)
+                .withData("lagMs", TimeUnit.NANOSECONDS.toMillis(lag))
+                .withData("thresholdMs", TimeUnit.NANOSECONDS.toMillis(threshold))
+                .build();
+    }
+}
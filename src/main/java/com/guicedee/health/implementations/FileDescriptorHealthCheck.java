@@ -0,0 +1,32 @@
+package com.guicedee.health.implementations;
+
+import org.eclipse.microprofile.health.HealthCheck;
+import org.eclipse.microprofile.health.HealthCheckResponse;
+import org.eclipse.microprofile.health.Readiness;
+
+/**
+ * Reports readiness DOWN when the open file descriptors exceed
+ * {@link com.guicedee.health.HealthOptions#fileDescriptorThreshold()} of the process limit. Always UP on platforms
+ * that do not expose file descriptor counts.
+ */
+@Readiness
+public class FileDescriptorHealthCheck implements HealthCheck {
+    /**
+     * Creates a new file descriptor health check.
+     */
+    public FileDescriptorHealthCheck() {
+    }
+
+    @Override
+    public HealthCheckResponse call() {
+        ResourceSampler sampler = HealthPreStartup.getResourceSampler();
+        double usage = sampler.getFileDescriptorUsage();
+        double threshold = sampler.getFileDescriptorThreshold();
+        return HealthCheckResponse.named("guicedee-file-descriptors")
+                .status(threshold <= 0 || usage <= threshold)
+                .withData("open", sampler.getOpenFileDescriptors())
+                .withData("max", sampler.getMaxFileDescriptors())
+                .withData("usagePercent", Math.round(usage * 100))
+                .build();
+    }
+}
@@ -0,0 +1,329 @@
+package com.guicedee.health.implementations;
+
+import com.guicedee.health.HealthCheckOptions;
+import com.guicedee.health.HealthOptions;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.Promise;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.healthchecks.Status;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Runs blocking health checks on bounded executors, one per check group, so that a hung check cannot exhaust the
+ * threads or memory shared with the other checks.
+ *
+ * <p>Each group, named by {@link HealthCheckOptions#group()}, has {@link HealthOptions#bulkheadThreads()} threads and
+ * a queue of {@link HealthOptions#bulkheadQueueSize()} executions; executions beyond that are rejected. A check has at
+ * most one execution at a time: concurrent probes join it in the {@link HealthCheckAdapter}, and a check whose
+ * abandoned execution is still running is rejected until it returns.</p>
+ *
+ * <p>An execution that has not completed within the check's timeout is abandoned: its result fails with a
+ * {@link TimeoutException} and its thread is interrupted. An abandoned execution that ignores the interruption keeps
+ * its thread and is reported as stuck until it returns.</p>
+ *
+ * <p>As a check procedure it reports the gauges of every group, and is DOWN when all threads of a group are stuck.</p>
+ */
+public class HealthBulkhead implements Handler<Promise<Status>> {
+    /**
+     * The group of checks that do not declare one.
+     */
+    public static final String DEFAULT_GROUP = "default";
+
+    private final ScheduledExecutorService timer;
+    private final int threads;
+    private final int queueSize;
+    private final Map<String, Group> groups = new ConcurrentHashMap<>();
+    private final Map<String, Execution> executions = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a new bulkhead.
+     *
+     * @param timer   The background timer abandoning executions that exceed their timeout.
+     * @param options The health options supplying the threads and queue size per group.
+     */
+    public HealthBulkhead(ScheduledExecutorService timer, HealthOptions options) {
+        this.timer = timer;
+        this.threads = Math.max(1, options.bulkheadThreads());
+        this.queueSize = Math.max(1, options.bulkheadQueueSize());
+    }
+
+    /**
+     * Runs a check execution on the executor of its group.
+     *
+     * @param group         The check group, or empty for the {@link #DEFAULT_GROUP}.
+     * @param check         The name of the check.
+     * @param timeoutMillis The time after which the execution is abandoned and interrupted, or 0 to wait forever.
+     * @param task          The check execution.
+     * @param <T>           The result type.
+     * @return a future completed with the result, or failed if the execution was rejected, failed or abandoned.
+     */
+    public <T> Future<T> execute(String group, String check, long timeoutMillis, Callable<T> task) {
+        String groupName = group == null || group.isBlank() ? DEFAULT_GROUP : group;
+        Group target = groups.computeIfAbsent(groupName, Group::new);
+        Promise<T> promise = Promise.promise();
+        Execution execution = new Execution(check, target);
+        Execution running = executions.putIfAbsent(check, execution);
+        if (running != null) {
+            target.rejected.increment();
+            return Future.failedFuture(new RejectedExecutionException("Health check " + check
+                    + " has an abandoned execution still running"));
+        }
+        try {
+            target.executor.execute(() -> run(execution, promise, task));
+        } catch (RejectedExecutionException e) {
+            executions.remove(check, execution);
+            target.rejected.increment();
+            return Future.failedFuture(new RejectedExecutionException("Health check bulkhead " + groupName + " is full"));
+        }
+        if (timeoutMillis > 0) {
+            ScheduledFuture<?> watchdog = timer.schedule(() -> abandon(execution, promise, timeoutMillis),
+                    timeoutMillis, TimeUnit.MILLISECONDS);
+            execution.setWatchdog(watchdog);
+        }
+        return promise.future();
+    }
+
+    /**
+     * Runs an execution on a thread of its group.
+     */
+    private <T> void run(Execution execution, Promise<T> promise, Callable<T> task) {
+        if (!execution.begin(Thread.currentThread())) {
+            return;
+        }
+        try {
+            promise.tryComplete(task.call());
+        } catch (Throwable failure) {
+            promise.tryFail(failure);
+        } finally {
+            execution.end();
+            executions.remove(execution.check, execution);
+            // An interruption racing with the end of the execution must not leak into the next one
+            Thread.interrupted();
+        }
+    }
+
+    /**
+     * Fails an execution that exceeded its timeout and interrupts its thread.
+     */
+    private <T> void abandon(Execution execution, Promise<T> promise, long timeoutMillis) {
+        int state = execution.abandon();
+        if (state == Execution.DONE) {
+            return;
+        }
+        if (state == Execution.QUEUED) {
+            executions.remove(execution.check, execution);
+        }
+        execution.group.abandoned.increment();
+        promise.tryFail(new TimeoutException("Health check " + execution.check + " abandoned after " + timeoutMillis + "ms"));
+    }
+
+    /**
+     * Returns the number of abandoned executions still holding a thread.
+     *
+     * @return the number of stuck executions.
+     */
+    public int getStuckCount() {
+        int stuck = 0;
+        for (Execution execution : executions.values()) {
+            if (execution.isStuck()) {
+                stuck++;
+            }
+        }
+        return stuck;
+    }
+
+    /**
+     * Returns the gauges of every group that has run an execution.
+     *
+     * @return the gauges by group name.
+     */
+    public Map<String, Gauge> getGauges() {
+        Map<String, Integer> stuck = new LinkedHashMap<>();
+        for (Execution execution : executions.values()) {
+            if (execution.isStuck()) {
+                stuck.merge(execution.group.name, 1, Integer::sum);
+            }
+        }
+        Map<String, Gauge> gauges = new TreeMap<>();
+        for (Group group : groups.values()) {
+            gauges.put(group.name, new Gauge(group.name, threads, group.executor.getActiveCount(),
+                    group.executor.getQueue().size(), stuck.getOrDefault(group.name, 0),
+                    group.abandoned.sum(), group.rejected.sum()));
+        }
+        return Collections.unmodifiableMap(gauges);
+    }
+
+    /**
+     * Reports the gauges of every group; DOWN when all threads of a group are held by stuck executions.
+     *
+     * @param promise the promise to complete
+     */
+    @Override
+    public void handle(Promise<Status> promise) {
+        JsonObject data = new JsonObject();
+        boolean up = true;
+        for (Gauge gauge : getGauges().values()) {
+            data.put(gauge.group(), new JsonObject()
+                    .put("threads", gauge.threads())
+                    .put("active", gauge.active())
+                    .put("queued", gauge.queued())
+                    .put("stuck", gauge.stuck())
+                    .put("abandoned", gauge.abandoned())
+                    .put("rejected", gauge.rejected()));
+            if (gauge.stuck() >= gauge.threads()) {
+                up = false;
+            }
+        }
+        promise.complete(up ? Status.OK(data) : Status.KO(data));
+    }
+
+    /**
+     * Returns whether every group still has a thread that is not stuck, as reported by {@link #handle(Promise)}.
+     *
+     * @return true if no group is saturated with stuck executions, false otherwise.
+     */
+    public boolean isUp() {
+        for (Gauge gauge : getGauges().values()) {
+            if (gauge.stuck() >= gauge.threads()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Stops the executors of every group, interrupting the running executions.
+     */
+    public void shutdown() {
+        for (Group group : groups.values()) {
+            group.executor.shutdownNow();
+        }
+        groups.clear();
+        executions.clear();
+    }
+
+    /**
+     * The gauges of a check group.
+     *
+     * @param group     The group name.
+     * @param threads   The number of threads of the group.
+     * @param active    The number of executions running.
+     * @param queued    The number of executions waiting for a thread.
+     * @param stuck     The number of abandoned executions still holding a thread.
+     * @param abandoned The total number of executions abandoned after their timeout.
+     * @param rejected  The total number of executions rejected because the group was full or the check was stuck.
+     */
+    public record Gauge(String group, int threads, int active, int queued, int stuck, long abandoned, long rejected) {
+    }
+
+    /**
+     * The bounded executor and counters of a check group.
+     */
+    private final class Group {
+        private final String name;
+        private final ThreadPoolExecutor executor;
+        private final LongAdder abandoned = new LongAdder();
+        private final LongAdder rejected = new LongAdder();
+
+        private Group(String name) {
+            this.name = name;
+            AtomicInteger counter = new AtomicInteger();
+            this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                    new ArrayBlockingQueue<>(queueSize), runnable -> {
+                Thread thread = new Thread(runnable, "guicedee-health-bulkhead-" + name + "-" + counter.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            }, new ThreadPoolExecutor.AbortPolicy());
+        }
+    }
+
+    /**
+     * An execution of a check, from its submission until its thread returns.
+     */
+    private static final class Execution {
+        private static final int QUEUED = 0;
+        private static final int RUNNING = 1;
+        private static final int DONE = 2;
+
+        private final String check;
+        private final Group group;
+        private int state = QUEUED;
+        private boolean abandoned;
+        private Thread thread;
+        private ScheduledFuture<?> watchdog;
+
+        private Execution(String check, Group group) {
+            this.check = check;
+            this.group = group;
+        }
+
+        private synchronized void setWatchdog(ScheduledFuture<?> watchdog) {
+            if (state == DONE) {
+                watchdog.cancel(false);
+            } else {
+                this.watchdog = watchdog;
+            }
+        }
+
+        /**
+         * Marks the execution running on a thread.
+         *
+         * @return false if it was abandoned while queued and must not run.
+         */
+        private synchronized boolean begin(Thread runner) {
+            if (state != QUEUED) {
+                return false;
+            }
+            state = RUNNING;
+            thread = runner;
+            return true;
+        }
+
+        private synchronized void end() {
+            state = DONE;
+            thread = null;
+            if (watchdog != null) {
+                watchdog.cancel(false);
+            }
+        }
+
+        /**
+         * Abandons the execution, interrupting its thread if it is running.
+         *
+         * @return the state the execution was in.
+         */
+        private synchronized int abandon() {
+            int previous = state;
+            if (previous == DONE) {
+                return previous;
+            }
+            abandoned = true;
+            if (previous == QUEUED) {
+                state = DONE;
+            } else {
+                thread.interrupt();
+            }
+            return previous;
+        }
+
+        private synchronized boolean isStuck() {
+            return abandoned && state == RUNNING;
+        }
+    }
+}
@@ -0,0 +1,672 @@
+package com.guicedee.health.implementations;
+
+import com.guicedee.health.AsyncHealthCheck;
+import com.guicedee.health.HealthCheckOptions;
+import com.guicedee.health.HealthCheckPriority;
+import io.smallrye.mutiny.subscription.Cancellable;
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.healthchecks.CheckResult;
+import io.vertx.ext.healthchecks.HealthChecks;
+import io.vertx.ext.healthchecks.Status;
+import org.eclipse.microprofile.health.HealthCheck;
+import org.eclipse.microprofile.health.HealthCheckResponse;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Adapts a MicroProfile {@link HealthCheck} or an {@link AsyncHealthCheck} to a Vert.x health check procedure.
+ *
+ * <p>Blocking checks are called directly. Asynchronous checks are subscribed to and completed straight into the
+ * Vert.x promise; when they do not emit within the timeout the subscription is cancelled, which propagates the
+ * cancellation to the underlying operation.</p>
+ *
+ * <p>Every evaluation is recorded in the check's {@link CheckHistory}, which also decides the reported status
+ * while the check is flapping. The result is then debounced by a {@link CheckHysteresis} so that the reported status
+ * only changes after the configured number of consecutive opposite results. Evaluations made through
+ * {@link #checkUnrecorded(List)}, such as those of the {@link HealthWarmup} and the {@link HealthSnapshotFile}, are
+ * neither recorded nor debounced, and are never joined with other evaluations, so synthetic load does not show up in
+ * the history, count towards hysteresis and flap thresholds, or answer a real probe.</p>
+ *
+ * <p>Checks declaring dependencies through {@link HealthCheckOptions#dependsOn()} wait for their parents, which are
+ * evaluated in parallel, and report DOWN without running when a parent is DOWN. A single adapter serves every
+ * endpoint its check is registered with, and concurrent evaluations are joined, so each check runs at most once per
+ * probe even when several dependents ask for it.</p>
+ *
+ * <p>When the registry sets an evaluation budget, non-critical blocking checks run on a Vert.x worker, and checks
+ * that cannot answer within the budget are answered from their last result according to their
+ * {@link HealthCheckPriority}. The evaluation keeps running and refreshes that result for the next probe.</p>
+ *
+ * <p>When the registry sets a {@link HealthBulkhead}, blocking checks run on the bounded executor of their
+ * {@link HealthCheckOptions#group()} instead, and executions exceeding the timeout are abandoned and interrupted.</p>
+ */
+public class HealthCheckAdapter implements Handler<Promise<Status>> {
+    private final String name;
+    private final HealthCheck check;
+    private final AsyncHealthCheck asyncCheck;
+    private final Duration timeout;
+    private final CheckHistory history;
+    private final CheckHysteresis hysteresis;
+
+    private volatile HealthCheckPriority priority = HealthCheckPriority.NORMAL;
+    private volatile String group = "";
+    private volatile HealthBulkhead bulkhead;
+    private volatile long bulkheadTimeout;
+    private volatile long budgetMillis;
+    private volatile Vertx vertx;
+    private volatile LastStatus lastStatus;
+    private volatile HealthTracer tracer;
+    private volatile long tracedTimeout;
+    private volatile Set<String> dependencies = Set.of();
+    private volatile Function<String, HealthCheckAdapter> resolver;
+    private Future<Status> inFlight;
+    private boolean inFlightClaimed;
+    private Future<Status> completed;
+    private boolean completedClaimed;
+    private long completedAt;
+
+    /**
+     * How long a completed evaluation is reused by dependents, and by this check's own probe if it was made for a
+     * dependent.
+     */
+    private static final long COALESCE_WINDOW_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    /**
+     * The asynchronous evaluations of all adapters that have not completed yet.
+     */
+    private static final Set<Pending> PENDING = ConcurrentHashMap.newKeySet();
+    /**
+     * The unrecorded evaluations made by {@link #checkUnrecorded(List)} on the calling thread, by adapter.
+     */
+    private static final ThreadLocal<Map<HealthCheckAdapter, Future<Status>>> UNRECORDED = new ThreadLocal<>();
+
+    /**
+     * Creates a new adapter for a blocking health check.
+     *
+     * @param name       The name the check is registered under.
+     * @param check      The MicroProfile health check to adapt.
+     * @param history    The history evaluations are recorded in.
+     * @param hysteresis The hysteresis debouncing the reported status.
+     */
+    public HealthCheckAdapter(String name, HealthCheck check, CheckHistory history, CheckHysteresis hysteresis) {
+        this.name = name;
+        this.check = check;
+        this.asyncCheck = null;
+        this.timeout = null;
+        this.history = history;
+        this.hysteresis = hysteresis;
+    }
+
+    /**
+     * Creates a new adapter for an asynchronous health check.
+     *
+     * @param name       The name the check is registered under.
+     * @param asyncCheck The asynchronous health check to adapt.
+     * @param timeout    The time in milliseconds after which the evaluation is cancelled.
+     * @param history    The history evaluations are recorded in.
+     * @param hysteresis The hysteresis debouncing the reported status.
+     */
+    public HealthCheckAdapter(String name, AsyncHealthCheck asyncCheck, long timeout, CheckHistory history, CheckHysteresis hysteresis) {
+        this.name = name;
+        this.check = null;
+        this.asyncCheck = asyncCheck;
+        this.timeout = Duration.ofMillis(timeout);
+        this.history = history;
+        this.hysteresis = hysteresis;
+    }
+
+    /**
+     * Creates an adapter for a {@link HealthCheck} or {@link AsyncHealthCheck} instance, reading the hysteresis
+     * thresholds and dependencies from its {@link HealthCheckOptions}.
+     *
+     * @param name    The name the check is registered under.
+     * @param check   The {@link HealthCheck} or {@link AsyncHealthCheck} instance.
+     * @param timeout The time in milliseconds after which an asynchronous evaluation is cancelled.
+     * @param history The history evaluations are recorded in.
+     * @return the adapter.
+     */
+    public static HealthCheckAdapter of(String name, Object check, long timeout, CheckHistory history) {
+        HealthCheckOptions checkOptions = check.getClass().getAnnotation(HealthCheckOptions.class);
+        CheckHysteresis hysteresis = checkOptions == null
+                ? new CheckHysteresis(1, 1)
+                : new CheckHysteresis(checkOptions.failureThreshold(), checkOptions.successThreshold());
+        HealthCheckAdapter adapter = check instanceof AsyncHealthCheck asyncCheck
+                ? new HealthCheckAdapter(name, asyncCheck, timeout, history, hysteresis)
+                : new HealthCheckAdapter(name, (HealthCheck) check, history, hysteresis);
+        if (checkOptions != null) {
+            adapter.priority = checkOptions.priority();
+            adapter.group = checkOptions.group();
+            Set<String> dependsOn = new LinkedHashSet<>();
+            for (Class<?> dependency : checkOptions.dependsOn()) {
+                dependsOn.add(dependency.getName());
+            }
+            dependsOn.addAll(Arrays.asList(checkOptions.dependsOnNames()));
+            adapter.dependencies = Set.copyOf(dependsOn);
+        }
+        return adapter;
+    }
+
+    /**
+     * Sets the names of the checks this check depends on, and how they are resolved.
+     *
+     * @param dependencies The names of the checks this check depends on.
+     * @param resolver     Resolves a check name to its adapter, or null if it is not registered.
+     */
+    void setDependencies(Set<String> dependencies, Function<String, HealthCheckAdapter> resolver) {
+        this.dependencies = Set.copyOf(dependencies);
+        this.resolver = resolver;
+    }
+
+    /**
+     * Sets the deadline applied to evaluations of this check for its endpoints.
+     *
+     * @param budgetMillis The evaluation budget in milliseconds, or 0 to disable it.
+     * @param vertx        The Vert.x instance timing the budget and running blocking checks off the event loop.
+     */
+    void setEvaluationBudget(long budgetMillis, Vertx vertx) {
+        this.vertx = vertx;
+        this.budgetMillis = budgetMillis;
+    }
+
+    /**
+     * Sets the tracer opening a span for each evaluation of this check made by a traced endpoint evaluation.
+     *
+     * @param tracer        The tracer, or null to disable tracing.
+     * @param timeoutMillis The timeout of the check recorded on its spans.
+     */
+    void setTracer(HealthTracer tracer, long timeoutMillis) {
+        this.tracedTimeout = timeoutMillis;
+        this.tracer = tracer;
+    }
+
+    /**
+     * Sets the bulkhead a blocking check runs on.
+     *
+     * @param bulkhead      The bulkhead, or null to run the check on the evaluating thread.
+     * @param timeoutMillis The time after which an execution is abandoned and interrupted.
+     */
+    void setBulkhead(HealthBulkhead bulkhead, long timeoutMillis) {
+        this.bulkheadTimeout = timeoutMillis;
+        this.bulkhead = bulkhead;
+    }
+
+    /**
+     * Returns the bulkhead group of the check.
+     *
+     * @return the group name, empty for the default group.
+     */
+    public String getGroup() {
+        return group;
+    }
+
+    /**
+     * Returns the priority of the check when the evaluation budget is exhausted.
+     *
+     * @return the priority.
+     */
+    public HealthCheckPriority getPriority() {
+        return priority;
+    }
+
+    /**
+     * Returns the names of the checks this check depends on.
+     *
+     * @return the dependency names.
+     */
+    public Set<String> getDependencies() {
+        return dependencies;
+    }
+
+    /**
+     * Evaluates the health check and completes the promise with the reported status.
+     *
+     * <p>An evaluation already in flight, or one completed on behalf of a dependent during the same probe, is
+     * joined instead of running the check again.</p>
+     *
+     * <p>When an evaluation budget is set, the result is marked {@code "cached": false}, or is answered from the last
+     * result marked {@code "cached": true} according to the check's {@link HealthCheckPriority}.</p>
+     *
+     * @param promise the promise to complete
+     */
+    @Override
+    public void handle(Promise<Status> promise) {
+        HealthTracer currentTracer = tracer;
+        if (currentTracer != null) {
+            currentTracer.traceCheck(name, tracedTimeout, promise);
+        }
+        Map<HealthCheckAdapter, Future<Status>> unrecorded = UNRECORDED.get();
+        if (unrecorded != null) {
+            evaluateUnrecorded(unrecorded).onComplete(promise);
+            return;
+        }
+        Future<Status> shared;
+        Promise<Status> toRun = null;
+        synchronized (this) {
+            if (inFlight != null) {
+                inFlightClaimed = true;
+                shared = inFlight;
+            } else if (isFresh() && !completedClaimed) {
+                completedClaimed = true;
+                shared = completed;
+            } else {
+                toRun = start(true);
+                shared = toRun.future();
+            }
+        }
+        long budget = budgetMillis;
+        Vertx budgetVertx = vertx;
+        if (budget <= 0 || budgetVertx == null) {
+            shared.onComplete(promise);
+            if (toRun != null) {
+                execute(toRun, null);
+            }
+            return;
+        }
+
+        LastStatus last = lastStatus;
+        if (priority == HealthCheckPriority.CRITICAL || last == null) {
+            shared.onComplete(ar -> completeFresh(promise, ar));
+        } else if (priority == HealthCheckPriority.INFORMATIONAL) {
+            promise.tryComplete(last.mark());
+        } else {
+            long timer = budgetVertx.setTimer(budget, id -> promise.tryComplete(lastStatus.mark()));
+            shared.onComplete(ar -> {
+                budgetVertx.cancelTimer(timer);
+                completeFresh(promise, ar);
+            });
+        }
+        if (toRun != null) {
+            if (check != null && priority != HealthCheckPriority.CRITICAL && bulkhead == null) {
+                Promise<Status> blocking = toRun;
+                budgetVertx.executeBlocking(() -> {
+                    execute(blocking, null);
+                    return null;
+                }, false);
+            } else {
+                execute(toRun, null);
+            }
+        }
+    }
+
+    /**
+     * Completes a budgeted probe with a freshly evaluated result.
+     *
+     * @param promise the promise to complete
+     * @param result  the outcome of the evaluation
+     */
+    private static void completeFresh(Promise<Status> promise, AsyncResult<Status> result) {
+        if (result.failed()) {
+            promise.tryFail(result.cause());
+            return;
+        }
+        Status status = result.result();
+        JsonObject data = status.getData() == null ? new JsonObject() : status.getData().copy();
+        data.put("cached", false);
+        promise.tryComplete(status.isOk() ? Status.OK(data) : Status.KO(data));
+    }
+
+    /**
+     * Returns the outcome of this check for a dependent, joining an evaluation in flight or reusing the last one if
+     * it completed within the coalescing window.
+     *
+     * @return a future completed with the reported status.
+     */
+    Future<Status> evaluateForDependent() {
+        Promise<Status> toRun;
+        synchronized (this) {
+            if (inFlight != null) {
+                return inFlight;
+            }
+            if (isFresh()) {
+                return completed;
+            }
+            toRun = start(false);
+        }
+        execute(toRun, null);
+        return toRun.future();
+    }
+
+    /**
+     * Evaluates this check without recording it, joining only the unrecorded evaluation of the same
+     * {@link #checkUnrecorded(List)} call and never a shared one.
+     *
+     * @param unrecorded the unrecorded evaluations of the current call, by adapter
+     * @return a future completed with the status.
+     */
+    private Future<Status> evaluateUnrecorded(Map<HealthCheckAdapter, Future<Status>> unrecorded) {
+        Future<Status> evaluation = unrecorded.get(this);
+        if (evaluation == null) {
+            Promise<Status> promise = Promise.promise();
+            evaluation = promise.future();
+            unrecorded.put(this, evaluation);
+            execute(promise, unrecorded);
+        }
+        return evaluation;
+    }
+
+    /**
+     * Starts tracking a new evaluation. Must be called while holding the adapter lock.
+     *
+     * @param claimed whether the evaluation is made for this check's own probe
+     * @return the promise of the evaluation
+     */
+    private Promise<Status> start(boolean claimed) {
+        Promise<Status> promise = Promise.promise();
+        Future<Status> future = promise.future();
+        inFlight = future;
+        inFlightClaimed = claimed;
+        future.onComplete(ar -> {
+            lastStatus = new LastStatus(ar.succeeded()
+                    ? ar.result()
+                    : Status.KO(new JsonObject().put("error", String.valueOf(ar.cause().getMessage()))), System.nanoTime());
+            synchronized (this) {
+                if (inFlight == future) {
+                    inFlight = null;
+                    completed = future;
+                    completedClaimed = inFlightClaimed;
+                    completedAt = System.nanoTime();
+                }
+            }
+        });
+        return promise;
+    }
+
+    /**
+     * Returns whether the last completed evaluation can still be reused. Must be called while holding the adapter
+     * lock.
+     *
+     * @return true if the last evaluation completed within the coalescing window.
+     */
+    private boolean isFresh() {
+        return completed != null && System.nanoTime() - completedAt < COALESCE_WINDOW_NANOS;
+    }
+
+    /**
+     * Waits for the dependencies of this check and evaluates it, or reports DOWN without running it if a
+     * dependency is DOWN.
+     *
+     * @param promise    the promise to complete
+     * @param unrecorded the unrecorded evaluations of the current {@link #checkUnrecorded(List)} call, or null if
+     *                   the evaluation is recorded and debounced
+     */
+    private void execute(Promise<Status> promise, Map<HealthCheckAdapter, Future<Status>> unrecorded) {
+        boolean recorded = unrecorded == null;
+        Function<String, HealthCheckAdapter> currentResolver = resolver;
+        Set<String> currentDependencies = dependencies;
+        if (currentDependencies.isEmpty() || currentResolver == null) {
+            evaluate(promise, recorded);
+            return;
+        }
+        List<String> names = new ArrayList<>(currentDependencies.size());
+        List<Future<Status>> parents = new ArrayList<>(currentDependencies.size());
+        for (String dependency : currentDependencies) {
+            HealthCheckAdapter parent = currentResolver.apply(dependency);
+            if (parent != null && parent != this) {
+                names.add(dependency);
+                parents.add(recorded ? parent.evaluateForDependent() : parent.evaluateUnrecorded(unrecorded));
+            }
+        }
+        if (parents.isEmpty()) {
+            evaluate(promise, recorded);
+            return;
+        }
+        Future.join(parents).onComplete(ar -> {
+            List<String> down = new ArrayList<>();
+            for (int i = 0; i < parents.size(); i++) {
+                Future<Status> parent = parents.get(i);
+                if (parent.failed() || !parent.result().isOk()) {
+                    down.add(names.get(i));
+                }
+            }
+            if (down.isEmpty()) {
+                evaluate(promise, recorded);
+            } else {
+                promise.tryComplete(Status.KO(new JsonObject()
+                        .put("reason", "dependency " + String.join(", ", down) + " down")
+                        .put("skipped", true)));
+            }
+        });
+    }
+
+    /**
+     * Runs the health check and completes the promise with the reported status.
+     *
+     * @param promise  the promise to complete
+     * @param recorded whether the evaluation is recorded and debounced
+     */
+    private void evaluate(Promise<Status> promise, boolean recorded) {
+        long start = System.nanoTime();
+        if (asyncCheck != null) {
+            Pending pending = new Pending(promise);
+            PENDING.add(pending);
+            try {
+                pending.subscription = asyncCheck.call()
+                        .ifNoItem().after(timeout).fail()
+                        .subscribe().with(
+                                response -> {
+                                    PENDING.remove(pending);
+                                    complete(promise, start, recorded, response);
+                                },
+                                failure -> {
+                                    PENDING.remove(pending);
+                                    fail(promise, start, recorded, failure);
+                                });
+            } catch (Exception e) {
+                PENDING.remove(pending);
+                fail(promise, start, recorded, e);
+            }
+            return;
+        }
+        HealthBulkhead currentBulkhead = bulkhead;
+        if (currentBulkhead != null) {
+            currentBulkhead.execute(group, name, bulkheadTimeout, check::call).onComplete(ar -> {
+                if (ar.succeeded()) {
+                    complete(promise, start, recorded, ar.result());
+                } else {
+                    fail(promise, start, recorded, ar.cause());
+                }
+            });
+            return;
+        }
+        HealthCheckResponse response;
+        try {
+            response = check.call();
+        } catch (Exception e) {
+            fail(promise, start, recorded, e);
+            return;
+        }
+        complete(promise, start, recorded, response);
+    }
+
+    /**
+     * Records a completed evaluation and completes the promise with the reported status.
+     *
+     * @param promise  the promise to complete
+     * @param start    the {@link System#nanoTime()} at which the evaluation started
+     * @param recorded whether the evaluation is recorded and debounced
+     * @param response the health check response
+     */
+    private void complete(Promise<Status> promise, long start, boolean recorded, HealthCheckResponse response) {
+        boolean up = response != null && response.getStatus() == HealthCheckResponse.Status.UP;
+        boolean reported = recorded ? hysteresis.apply(history.record(up, System.nanoTime() - start)) : up;
+
+        JsonObject data = new JsonObject();
+        if (response != null) {
+            response.getData().ifPresent(map -> map.forEach(data::put));
+        }
+        if (history.isFlapping()) {
+            data.put("flapping", true);
+        }
+        if (reported != up) {
+            data.put("debounced", true);
+        }
+        promise.tryComplete(reported ? Status.OK(data) : Status.KO(data));
+    }
+
+    /**
+     * Records a failed evaluation and fails the promise, unless the failure is debounced.
+     *
+     * @param promise  the promise to complete
+     * @param start    the {@link System#nanoTime()} at which the evaluation started
+     * @param recorded whether the evaluation is recorded and debounced
+     * @param failure  the failure raised by the check
+     */
+    private void fail(Promise<Status> promise, long start, boolean recorded, Throwable failure) {
+        if (recorded && hysteresis.apply(history.record(false, System.nanoTime() - start))) {
+            promise.tryComplete(Status.OK(new JsonObject()
+                    .put("error", String.valueOf(failure.getMessage()))
+                    .put("debounced", true)));
+        } else {
+            promise.tryFail(failure);
+        }
+    }
+
+    /**
+     * Cancels every pending asynchronous evaluation and fails its promise. Used during shutdown.
+     *
+     * @return the number of cancelled evaluations.
+     */
+    public static int cancelPending() {
+        int cancelled = 0;
+        for (Pending pending : PENDING) {
+            if (PENDING.remove(pending)) {
+                Cancellable subscription = pending.subscription;
+                if (subscription != null) {
+                    subscription.cancel();
+                }
+                pending.promise.tryFail(new CancellationException("Health check cancelled on shutdown"));
+                cancelled++;
+            }
+        }
+        return cancelled;
+    }
+
+    /**
+     * Evaluates health checks instances together without recording their evaluations. The adapters evaluated run
+     * their checks privately: they do not join or publish a shared evaluation, do not record in the history, are not
+     * debounced and do not update the last status. An adapter belonging to several of the instances, or depended on
+     * by several checks, still runs once.
+     *
+     * @param checks The health checks to evaluate.
+     * @return the result of each evaluation, in order.
+     */
+    static List<Future<CheckResult>> checkUnrecorded(List<HealthChecks> checks) {
+        Map<HealthCheckAdapter, Future<Status>> previous = UNRECORDED.get();
+        UNRECORDED.set(new HashMap<>());
+        try {
+            List<Future<CheckResult>> results = new ArrayList<>(checks.size());
+            for (HealthChecks endpoint : checks) {
+                results.add(endpoint.checkStatus());
+            }
+            return results;
+        } finally {
+            if (previous == null) {
+                UNRECORDED.remove();
+            } else {
+                UNRECORDED.set(previous);
+            }
+        }
+    }
+
+    /**
+     * Returns the number of pending asynchronous evaluations.
+     *
+     * @return the number of pending evaluations.
+     */
+    public static int getPendingCount() {
+        return PENDING.size();
+    }
+
+    /**
+     * Returns the name the check is registered under.
+     *
+     * @return the name.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Returns the adapted MicroProfile health check.
+     *
+     * @return the health check, or null if an asynchronous check is adapted.
+     */
+    public HealthCheck getCheck() {
+        return check;
+    }
+
+    /**
+     * Returns the adapted asynchronous health check.
+     *
+     * @return the asynchronous health check, or null if a blocking check is adapted.
+     */
+    public AsyncHealthCheck getAsyncCheck() {
+        return asyncCheck;
+    }
+
+    /**
+     * Returns the status reported by the last completed evaluation, without running the check.
+     *
+     * @return the last status, or null if the check has not been evaluated yet.
+     */
+    public Status getLastStatus() {
+        LastStatus last = lastStatus;
+        return last == null ? null : last.status();
+    }
+
+    /**
+     * Returns the history evaluations are recorded in.
+     *
+     * @return the check history.
+     */
+    public CheckHistory getHistory() {
+        return history;
+    }
+
+    /**
+     * The last result of an evaluation, served when the evaluation budget is exhausted.
+     *
+     * @param status      The reported status.
+     * @param completedAt The {@link System#nanoTime()} the evaluation completed at.
+     */
+    private record LastStatus(Status status, long completedAt) {
+        /**
+         * Renders the result marked as cached, with its age.
+         *
+         * @return the cached status.
+         */
+        private Status mark() {
+            JsonObject data = status.getData() == null ? new JsonObject() : status.getData().copy();
+            data.put("cached", true)
+                    .put("ageMs", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - completedAt));
+            return status.isOk() ? Status.OK(data) : Status.KO(data);
+        }
+    }
+
+    /**
+     * An asynchronous evaluation in progress.
+     */
+    private static final class Pending {
+        private final Promise<Status> promise;
+        private volatile Cancellable subscription;
+
+        private Pending(Promise<Status> promise) {
+            this.promise = promise;
+        }
+    }
+}
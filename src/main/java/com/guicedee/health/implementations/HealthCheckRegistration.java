@@ -0,0 +1,95 @@
+package com.guicedee.health.implementations;
+
+import com.guicedee.health.HealthCheckKind;
+import io.vertx.ext.healthchecks.HealthChecks;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * A health check registered with the {@link HealthCheckRegistry}.
+ */
+public class HealthCheckRegistration {
+    private final String name;
+    private final Object check;
+    private final Set<HealthCheckKind> kinds;
+    private final CheckHistory history;
+    private final List<HealthChecks> targets;
+    private final HealthCheckAdapter adapter;
+
+    /**
+     * Creates a new registration.
+     *
+     * @param name    The unique name the check is registered under.
+     * @param check   The {@link org.eclipse.microprofile.health.HealthCheck} or
+     *                {@link com.guicedee.health.AsyncHealthCheck} instance.
+     * @param kinds   The endpoints the check is registered with.
+     * @param history The history evaluations are recorded in.
+     * @param targets The Vert.x health checks instances the check is registered with.
+     * @param adapter The adapter evaluating the check for all of its endpoints.
+     */
+    HealthCheckRegistration(String name, Object check, Set<HealthCheckKind> kinds, CheckHistory history,
+                            List<HealthChecks> targets, HealthCheckAdapter adapter) {
+        this.name = name;
+        this.check = check;
+        this.kinds = kinds;
+        this.history = history;
+        this.targets = targets;
+        this.adapter = adapter;
+    }
+
+    /**
+     * Returns the unique name the check is registered under.
+     *
+     * @return the name.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Returns the registered check instance.
+     *
+     * @return the {@link org.eclipse.microprofile.health.HealthCheck} or
+     * {@link com.guicedee.health.AsyncHealthCheck} instance.
+     */
+    public Object getCheck() {
+        return check;
+    }
+
+    /**
+     * Returns the endpoints the check is registered with.
+     *
+     * @return the kinds.
+     */
+    public Set<HealthCheckKind> getKinds() {
+        return kinds;
+    }
+
+    /**
+     * Returns the history evaluations are recorded in.
+     *
+     * @return the check history.
+     */
+    public CheckHistory getHistory() {
+        return history;
+    }
+
+    /**
+     * Returns the Vert.x health checks instances the check is registered with.
+     *
+     * @return the targets.
+     */
+    List<HealthChecks> getTargets() {
+        return targets;
+    }
+
+    /**
+     * Returns the adapter evaluating the check for all of its endpoints.
+     *
+     * @return the adapter.
+     */
+    public HealthCheckAdapter getAdapter() {
+        return adapter;
+    }
+}
@@ -0,0 +1,427 @@
+package com.guicedee.health.implementations;
+
+import com.guicedee.health.AsyncHealthCheck;
+import com.guicedee.health.HealthCheckKind;
+import io.vertx.core.Handler;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import io.vertx.ext.healthchecks.HealthChecks;
+import io.vertx.ext.healthchecks.Status;
+import org.eclipse.microprofile.health.HealthCheck;
+import org.eclipse.microprofile.health.Liveness;
+import org.eclipse.microprofile.health.Readiness;
+import org.eclipse.microprofile.health.Startup;
+
+import java.lang.annotation.Annotation;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Thread-safe registry of the health checks served by the health endpoints.
+ *
+ * <p>Checks discovered at startup are registered here under their class name, and applications can register and
+ * remove further checks at runtime under instance-level names, for example one check per tenant connection:</p>
+ * <pre>{@code
+ * @Inject
+ * private HealthCheckRegistry registry;
+ *
+ * registry.register("datasource-" + tenantId, new DataSourceCheck(ds), HealthCheckKind.READINESS);
+ * registry.unregister("datasource-" + tenantId);
+ * }</pre>
+ *
+ * <p>Each check is wrapped in a single {@link HealthCheckAdapter} shared by all of its endpoints. Dependencies between
+ * checks, declared with {@link com.guicedee.health.HealthCheckOptions#dependsOn()} or {@link #dependsOn(String, String...)},
+ * must not form cycles.</p>
+ *
+ * <p>The registrations are held in a copy-on-write map: writers are serialized and publish a new immutable snapshot,
+ * so {@link #get(String)} and {@link #getAll()} only perform a volatile read. The probes themselves evaluate the
+ * Vert.x {@link HealthChecks} instances, which synchronize internally; registering a new name or changing the
+ * endpoints of a check updates them. Replacing a check under the same name does not: each name is registered with
+ * Vert.x once as a slot delegating to the current adapter, and replacement swaps the adapter atomically, so a probe
+ * always sees either the old or the new check and never neither.</p>
+ */
+public class HealthCheckRegistry {
+    private final HealthChecks healthChecks;
+    private final HealthChecks livenessChecks;
+    private final HealthChecks readinessChecks;
+    private final HealthChecks startupChecks;
+    private final HealthHistory history;
+    private final long timeout;
+
+    private long evaluationBudget;
+    private Vertx vertx;
+    private HealthTracer tracer;
+    private HealthBulkhead bulkhead;
+    private volatile Map<String, HealthCheckRegistration> registrations = Collections.emptyMap();
+    /**
+     * The slot each name is registered with Vert.x under. Only accessed by writers, holding the registry lock.
+     */
+    private final Map<String, Slot> slots = new HashMap<>();
+
+    /**
+     * Creates a new health check registry.
+     *
+     * @param healthChecks    The aggregated health checks instance.
+     * @param livenessChecks  The liveness health checks instance.
+     * @param readinessChecks The readiness health checks instance.
+     * @param startupChecks   The startup health checks instance.
+     * @param history         The history evaluations are recorded in.
+     * @param timeout         The timeout in milliseconds applied to each check.
+     */
+    public HealthCheckRegistry(HealthChecks healthChecks, HealthChecks livenessChecks, HealthChecks readinessChecks,
+                               HealthChecks startupChecks, HealthHistory history, long timeout) {
+        this.healthChecks = healthChecks;
+        this.livenessChecks = livenessChecks;
+        this.readinessChecks = readinessChecks;
+        this.startupChecks = startupChecks;
+        this.history = history;
+        this.timeout = timeout;
+    }
+
+    /**
+     * Registers a blocking health check, replacing any check registered under the same name.
+     *
+     * @param name  The unique name of the check.
+     * @param check The health check.
+     * @param kinds The endpoints to register with; none registers with the aggregated endpoint only.
+     * @return the registration.
+     */
+    public HealthCheckRegistration register(String name, HealthCheck check, HealthCheckKind... kinds) {
+        return registerInstance(name, check, kinds);
+    }
+
+    /**
+     * Registers an asynchronous health check, replacing any check registered under the same name.
+     *
+     * @param name  The unique name of the check.
+     * @param check The asynchronous health check.
+     * @param kinds The endpoints to register with; none registers with the aggregated endpoint only.
+     * @return the registration.
+     */
+    public HealthCheckRegistration register(String name, AsyncHealthCheck check, HealthCheckKind... kinds) {
+        return registerInstance(name, check, kinds);
+    }
+
+    /**
+     * Removes the check registered under the given name.
+     *
+     * @param name The name of the check.
+     * @return true if a check was removed, false otherwise.
+     */
+    public synchronized boolean unregister(String name) {
+        HealthCheckRegistration existing = registrations.get(name);
+        if (existing == null) {
+            return false;
+        }
+        detach(existing, List.of());
+        slots.remove(name);
+        history.remove(name);
+        Map<String, HealthCheckRegistration> next = new HashMap<>(registrations);
+        next.remove(name);
+        registrations = Collections.unmodifiableMap(next);
+        return true;
+    }
+
+    /**
+     * Returns the check registered under the given name.
+     *
+     * @param name The name of the check.
+     * @return the registration, or null if none is registered.
+     */
+    public HealthCheckRegistration get(String name) {
+        return registrations.get(name);
+    }
+
+    /**
+     * Returns a snapshot of all registrations.
+     *
+     * @return the registrations.
+     */
+    public Collection<HealthCheckRegistration> getAll() {
+        return registrations.values();
+    }
+
+    /**
+     * Returns the outcome of the last completed evaluation of every registered check, as served by the aggregated
+     * endpoint. No check is run.
+     *
+     * @return the check names, sorted, mapped to whether the check was UP. Checks not evaluated yet are omitted.
+     */
+    public Map<String, Boolean> lastOutcomes() {
+        return lastOutcomes(null);
+    }
+
+    /**
+     * Returns the outcome of the last completed evaluation of every check registered with an endpoint. No check is
+     * run.
+     *
+     * @param kind The endpoint, or null for the aggregated endpoint.
+     * @return the check names, sorted, mapped to whether the check was UP. Checks not evaluated yet are omitted.
+     */
+    public Map<String, Boolean> lastOutcomes(HealthCheckKind kind) {
+        Map<String, Boolean> outcomes = new TreeMap<>();
+        for (HealthCheckRegistration registration : registrations.values()) {
+            if (kind != null && !registration.getKinds().contains(kind)) {
+                continue;
+            }
+            Status status = registration.getAdapter().getLastStatus();
+            if (status != null) {
+                outcomes.put(registration.getName(), status.isOk());
+            }
+        }
+        return outcomes;
+    }
+
+    /**
+     * Returns the number of registered checks.
+     *
+     * @return the number of registrations.
+     */
+    public int size() {
+        return registrations.size();
+    }
+
+    /**
+     * Registers a health check instance.
+     *
+     * @param name  The unique name of the check.
+     * @param check The {@link HealthCheck} or {@link AsyncHealthCheck} instance.
+     * @param kinds The endpoints to register with.
+     * @return the registration.
+     */
+    synchronized HealthCheckRegistration registerInstance(String name, Object check, HealthCheckKind... kinds) {
+        if (name == null || name.isBlank()) {
+            throw new IllegalArgumentException("Health check name must not be null or empty");
+        }
+        Set<HealthCheckKind> kindSet = kinds.length == 0 ? EnumSet.of(HealthCheckKind.GENERIC) : EnumSet.of(kinds[0], kinds);
+        CheckHistory checkHistory = history.forCheck(name);
+        HealthCheckAdapter adapter = HealthCheckAdapter.of(name, check, timeout, checkHistory);
+        requireAcyclic(name, adapter.getDependencies());
+        adapter.setDependencies(adapter.getDependencies(), this::adapterOf);
+        adapter.setEvaluationBudget(evaluationBudget, vertx);
+        adapter.setTracer(tracer, timeout);
+        adapter.setBulkhead(bulkhead, timeout);
+        HealthCheckRegistration existing = registrations.get(name);
+        List<HealthChecks> targets = targetsOf(kindSet);
+        Slot slot = slots.get(name);
+        if (slot == null) {
+            slot = new Slot(adapter);
+            slots.put(name, slot);
+        } else {
+            slot.adapter = adapter;
+        }
+        for (HealthChecks target : targets) {
+            if (existing == null || !existing.getTargets().contains(target)) {
+                target.unregister(name);
+                target.register(name, timeout, slot);
+            }
+        }
+        if (existing != null) {
+            detach(existing, targets);
+        }
+
+        HealthCheckRegistration registration = new HealthCheckRegistration(name, check,
+                Collections.unmodifiableSet(kindSet), checkHistory, targets, adapter);
+        Map<String, HealthCheckRegistration> next = new HashMap<>(registrations);
+        next.put(name, registration);
+        registrations = Collections.unmodifiableMap(next);
+        return registration;
+    }
+
+    /**
+     * Sets the deadline for evaluating an endpoint, applied to the registered checks and those registered later.
+     *
+     * <p>Checks that cannot answer within the budget are answered from their last result according to their
+     * {@link com.guicedee.health.HealthCheckPriority}; see {@link com.guicedee.health.HealthOptions#evaluationBudget()}.</p>
+     *
+     * @param budgetMillis The evaluation budget in milliseconds, or 0 to disable it.
+     * @param vertx        The Vert.x instance timing the budget and running blocking checks off the event loop.
+     */
+    public synchronized void setEvaluationBudget(long budgetMillis, Vertx vertx) {
+        this.evaluationBudget = budgetMillis;
+        this.vertx = vertx;
+        for (HealthCheckRegistration registration : registrations.values()) {
+            registration.getAdapter().setEvaluationBudget(budgetMillis, vertx);
+        }
+    }
+
+    /**
+     * Sets the tracer opening a span for each check evaluated by a traced endpoint evaluation, applied to the
+     * registered checks and those registered later.
+     *
+     * @param tracer The tracer, or null to disable tracing.
+     */
+    public synchronized void setTracer(HealthTracer tracer) {
+        this.tracer = tracer;
+        for (HealthCheckRegistration registration : registrations.values()) {
+            registration.getAdapter().setTracer(tracer, timeout);
+        }
+    }
+
+    /**
+     * Sets the bulkhead the blocking checks run on, applied to the registered checks and those registered later.
+     *
+     * <p>Executions exceeding the check timeout are abandoned and interrupted; see {@link HealthBulkhead}.</p>
+     *
+     * @param bulkhead The bulkhead, or null to run blocking checks on the evaluating thread.
+     */
+    public synchronized void setBulkhead(HealthBulkhead bulkhead) {
+        this.bulkhead = bulkhead;
+        for (HealthCheckRegistration registration : registrations.values()) {
+            registration.getAdapter().setBulkhead(bulkhead, timeout);
+        }
+    }
+
+    /**
+     * Declares the checks a registered check depends on, replacing the dependencies from its
+     * {@link com.guicedee.health.HealthCheckOptions}.
+     *
+     * <p>Dependencies are evaluated first; while any of them is DOWN the check is not run and reports DOWN.
+     * Dependencies that are not registered are ignored until they are.</p>
+     *
+     * @param name         The name of the dependent check.
+     * @param dependencies The names of the checks it depends on.
+     * @throws IllegalArgumentException if no check is registered under the name, or the dependencies would form a cycle.
+     */
+    public synchronized void dependsOn(String name, String... dependencies) {
+        HealthCheckRegistration registration = registrations.get(name);
+        if (registration == null) {
+            throw new IllegalArgumentException("No health check registered under " + name);
+        }
+        Set<String> dependencySet = new LinkedHashSet<>(Arrays.asList(dependencies));
+        requireAcyclic(name, dependencySet);
+        registration.getAdapter().setDependencies(dependencySet, this::adapterOf);
+    }
+
+    /**
+     * Resolves the adapter of a registered check.
+     *
+     * @param name The name of the check.
+     * @return the adapter, or null if no check is registered under the name.
+     */
+    private HealthCheckAdapter adapterOf(String name) {
+        HealthCheckRegistration registration = registrations.get(name);
+        return registration == null ? null : registration.getAdapter();
+    }
+
+    /**
+     * Verifies that giving a check the given dependencies does not form a cycle with the registered checks.
+     *
+     * @param name         The name of the check.
+     * @param dependencies The dependencies it would have.
+     * @throws IllegalArgumentException if a cycle would be formed.
+     */
+    private void requireAcyclic(String name, Set<String> dependencies) {
+        Deque<String> pending = new ArrayDeque<>(dependencies);
+        Set<String> visited = new HashSet<>();
+        while (!pending.isEmpty()) {
+            String current = pending.pop();
+            if (current.equals(name)) {
+                throw new IllegalArgumentException("Health check " + name + " depends on itself through " + dependencies);
+            }
+            if (visited.add(current)) {
+                HealthCheckAdapter adapter = adapterOf(current);
+                if (adapter != null) {
+                    pending.addAll(adapter.getDependencies());
+                }
+            }
+        }
+    }
+
+    /**
+     * Removes a registration from the Vert.x health checks instances it was registered with.
+     *
+     * @param registration The registration to remove.
+     * @param kept         The instances its replacement is still registered with.
+     */
+    private void detach(HealthCheckRegistration registration, List<HealthChecks> kept) {
+        for (HealthChecks target : registration.getTargets()) {
+            if (!kept.contains(target)) {
+                target.unregister(registration.getName());
+            }
+        }
+    }
+
+    /**
+     * Resolves the Vert.x health checks instances for a set of kinds. The aggregated instance is always included.
+     *
+     * @param kinds The kinds to resolve.
+     * @return the distinct target instances.
+     */
+    private List<HealthChecks> targetsOf(Set<HealthCheckKind> kinds) {
+        List<HealthChecks> targets = new ArrayList<>(4);
+        targets.add(healthChecks);
+        if (kinds.contains(HealthCheckKind.LIVENESS) && livenessChecks != healthChecks) {
+            targets.add(livenessChecks);
+        }
+        if (kinds.contains(HealthCheckKind.READINESS) && readinessChecks != healthChecks) {
+            targets.add(readinessChecks);
+        }
+        if (kinds.contains(HealthCheckKind.STARTUP) && startupChecks != healthChecks) {
+            targets.add(startupChecks);
+        }
+        return targets;
+    }
+
+    /**
+     * Derives the kinds of a health check class from its MicroProfile annotations.
+     *
+     * <p>Classes without {@code @Liveness}, {@code @Readiness} or {@code @Startup} are {@link HealthCheckKind#GENERIC}.
+     *
+     * @param clazz The health check class.
+     * @return the kinds.
+     */
+    @SuppressWarnings("unchecked")
+    public static HealthCheckKind[] kindsOf(Class<?> clazz) {
+        Set<HealthCheckKind> kinds = EnumSet.noneOf(HealthCheckKind.class);
+        if (clazz.isAnnotationPresent(Liveness.class)) {
+            kinds.add(HealthCheckKind.LIVENESS);
+        }
+        if (clazz.isAnnotationPresent(Readiness.class)) {
+            kinds.add(HealthCheckKind.READINESS);
+        }
+        if (clazz.isAnnotationPresent(Startup.class)) {
+            kinds.add(HealthCheckKind.STARTUP);
+        }
+        try {
+            Class<? extends Annotation> healthClass = (Class<? extends Annotation>) Class.forName("org.eclipse.microprofile.health.Health");
+            if (clazz.isAnnotationPresent(healthClass)) {
+                kinds.add(HealthCheckKind.GENERIC);
+            }
+        } catch (ClassNotFoundException e) {
+            // Ignore
+        }
+        if (kinds.isEmpty()) {
+            kinds.add(HealthCheckKind.GENERIC);
+        }
+        return kinds.toArray(new HealthCheckKind[0]);
+    }
+
+    /**
+     * The procedure a name is registered with Vert.x under, delegating to the adapter of the current registration.
+     */
+    private static final class Slot implements Handler<Promise<Status>> {
+        private volatile HealthCheckAdapter adapter;
+
+        private Slot(HealthCheckAdapter adapter) {
+            this.adapter = adapter;
+        }
+
+        @Override
+        public void handle(Promise<Status> promise) {
+            adapter.handle(promise);
+        }
+    }
+}
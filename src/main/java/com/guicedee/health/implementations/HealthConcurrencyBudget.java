@@ -0,0 +1,108 @@
+package com.guicedee.health.implementations;
+
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Limits how many health evaluations run at the same time.
+ *
+ * <p>Tasks beyond the limit wait in a lock-free queue and are started as running tasks complete. A single thread
+ * drains the queue at a time, so tasks that complete synchronously do not recurse into each other.</p>
+ */
+public class HealthConcurrencyBudget {
+    private final int limit;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger drainRequests = new AtomicInteger();
+    private final Queue<Runnable> waiting = new ConcurrentLinkedQueue<>();
+
+    /**
+     * Creates a new concurrency budget.
+     *
+     * @param limit The maximum number of tasks running at the same time.
+     */
+    public HealthConcurrencyBudget(int limit) {
+        this.limit = Math.max(1, limit);
+    }
+
+    /**
+     * Submits a task, starting it once the budget allows.
+     *
+     * @param task The task to run.
+     * @param <T>  The result type.
+     * @return a future completed with the task result.
+     */
+    public <T> Future<T> submit(Supplier<Future<T>> task) {
+        Promise<T> promise = Promise.promise();
+        waiting.add(() -> {
+            Future<T> future;
+            try {
+                future = task.get();
+            } catch (Throwable t) {
+                future = Future.failedFuture(t);
+            }
+            future.onComplete(ar -> {
+                inFlight.decrementAndGet();
+                drain();
+                promise.handle(ar);
+            });
+        });
+        drain();
+        return promise.future();
+    }
+
+    /**
+     * Starts waiting tasks while the budget allows.
+     */
+    private void drain() {
+        if (drainRequests.getAndIncrement() != 0) {
+            return;
+        }
+        int missed = 1;
+        while (true) {
+            while (inFlight.get() < limit) {
+                Runnable next = waiting.poll();
+                if (next == null) {
+                    break;
+                }
+                inFlight.incrementAndGet();
+                next.run();
+            }
+            missed = drainRequests.addAndGet(-missed);
+            if (missed == 0) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Returns the number of tasks currently running.
+     *
+     * @return the number of running tasks.
+     */
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    /**
+     * Returns the number of tasks waiting for the budget.
+     *
+     * @return the number of waiting tasks.
+     */
+    public int getWaiting() {
+        return waiting.size();
+    }
+
+    /**
+     * Returns the maximum number of tasks running at the same time.
+     *
+     * @return the limit.
+     */
+    public int getLimit() {
+        return limit;
+    }
+}
@@ -0,0 +1,101 @@
+package com.guicedee.health.implementations;
+
+import com.guicedee.health.HealthOptions;
+import io.vertx.core.Handler;
+import io.vertx.core.http.HttpHeaders;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.web.RoutingContext;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Holds the {@link CheckHistory} of every registered health check.
+ *
+ * <p>The history is injectable and, as a route handler, renders the histories on
+ * {@link HealthOptions#historyPath()}. A single check can be selected with the {@code id} query parameter.</p>
+ */
+public class HealthHistory implements Handler<RoutingContext> {
+    private final Map<String, CheckHistory> histories = new ConcurrentHashMap<>();
+    private final int size;
+    private final int flapThreshold;
+    private final long flapWindow;
+    private final boolean holdOnFlap;
+
+    /**
+     * Creates a new health history.
+     *
+     * @param options The health options supplying the history size and flap detection settings.
+     */
+    public HealthHistory(HealthOptions options) {
+        this.size = options.historySize();
+        this.flapThreshold = options.flapThreshold();
+        this.flapWindow = options.flapWindow();
+        this.holdOnFlap = options.holdOnFlap();
+    }
+
+    /**
+     * Returns the history of the named check, creating it on first use.
+     *
+     * @param name The health check name.
+     * @return the check history.
+     */
+    public CheckHistory forCheck(String name) {
+        return histories.computeIfAbsent(name, key -> new CheckHistory(key, size, flapThreshold, flapWindow, holdOnFlap));
+    }
+
+    /**
+     * Returns the history of the named check.
+     *
+     * @param name The health check name.
+     * @return the check history, or null if the check has not been registered.
+     */
+    public CheckHistory get(String name) {
+        return histories.get(name);
+    }
+
+    /**
+     * Returns the histories of all registered checks.
+     *
+     * @return the check histories.
+     */
+    public Collection<CheckHistory> getAll() {
+        return histories.values();
+    }
+
+    /**
+     * Removes the history of the named check.
+     *
+     * @param name The health check name.
+     */
+    public void remove(String name) {
+        histories.remove(name);
+    }
+
+    /**
+     * Renders the histories of all checks, or of the check named by the {@code id} query parameter.
+     *
+     * @param ctx the routing context
+     */
+    @Override
+    public void handle(RoutingContext ctx) {
+        List<String> ids = ctx.queryParam("id");
+        JsonArray checks = new JsonArray();
+        if (ids.isEmpty()) {
+            histories.values().forEach(history -> checks.add(history.toJson()));
+        } else {
+            for (String id : ids) {
+                CheckHistory history = histories.get(id);
+                if (history != null) {
+                    checks.add(history.toJson());
+                }
+            }
+        }
+        ctx.response()
+                .putHeader(HttpHeaders.CONTENT_TYPE, "application/json;charset=UTF-8")
+                .end(new JsonObject().put("checks", checks).toBuffer());
+    }
+}
@@ -1,14 +1,37 @@
 package com.guicedee.health.implementations;
 
 import com.google.inject.AbstractModule;
+import com.google.inject.Provider;
 import com.guicedee.client.services.lifecycle.IGuiceModule;
 import io.vertx.ext.healthchecks.HealthChecks;
 
 /**
  * Guice module for the Health component.
  *
- * <p>This module is responsible for binding the Vert.x {@link HealthChecks} instance into the Guice context,
- * making it available for injection into other services or verticles.
+ * <p>This module binds the health components into the Guice context, making them available for injection into other
+ * services or verticles. The components every application uses are bound to providers returning the current
+ * instance held by {@link HealthPreStartup}, so that an injector outliving a restart never hands out a component
+ * released on shutdown:</p>
+ * <ul>
+ *     <li>the aggregated Vert.x {@link HealthChecks} instance</li>
+ *     <li>the {@link LivenessMonitor}</li>
+ *     <li>the {@link HealthHistory}</li>
+ *     <li>the {@link HealthCheckRegistry}</li>
+ *     <li>the {@link ShutdownDrain}</li>
+ *     <li>the {@link StartupTracker}</li>
+ * </ul>
+ * <p>The optional components are bound to providers too, so that each one is only created when it is enabled and
+ * started by {@link HealthPreStartup}, or when it is first injected:</p>
+ * <ul>
+ *     <li>the {@link ResourceSampler}</li>
+ *     <li>the {@link TenantHealthRegistry}</li>
+ *     <li>the {@link ClusterHealth}</li>
+ *     <li>the {@link HealthTracer}</li>
+ *     <li>the {@link ManagementServer}</li>
+ *     <li>the {@link HealthSnapshotFile}</li>
+ *     <li>the {@link HealthBulkhead}</li>
+ *     <li>the {@link HealthWarmup}</li>
+ * </ul>
  */
 public class HealthModule extends AbstractModule implements IGuiceModule<HealthModule> {
     /**
@@ -18,11 +41,35 @@ public class HealthModule extends AbstractModule implements IGuiceModule<HealthM
     }
 
     /**
-     * Binds the Vert.x {@link HealthChecks} instance into the Guice context.
+     * Binds the Vert.x {@link HealthChecks} instance and the health components into the Guice context.
      */
     @Override
     protected void configure() {
-        HealthChecks healthChecks = HealthPreStartup.getHealthChecks();
-        bind(HealthChecks.class).toInstance(healthChecks);
+        bindLazily(HealthChecks.class, HealthPreStartup::getHealthChecks);
+        bindLazily(LivenessMonitor.class, HealthPreStartup::getLivenessMonitor);
+        bindLazily(HealthHistory.class, HealthPreStartup::getHealthHistory);
+        bindLazily(HealthCheckRegistry.class, HealthPreStartup::getHealthCheckRegistry);
+        bindLazily(ShutdownDrain.class, HealthPreStartup::getShutdownDrain);
+        bindLazily(StartupTracker.class, HealthPreStartup::getStartupTracker);
+
+        bindLazily(ResourceSampler.class, HealthPreStartup::getResourceSampler);
+        bindLazily(TenantHealthRegistry.class, HealthPreStartup::getTenantHealthRegistry);
+        bindLazily(ClusterHealth.class, HealthPreStartup::getClusterHealth);
+        bindLazily(HealthTracer.class, HealthPreStartup::getHealthTracer);
+        bindLazily(ManagementServer.class, HealthPreStartup::getManagementServer);
+        bindLazily(HealthSnapshotFile.class, HealthPreStartup::getHealthSnapshotFile);
+        bindLazily(HealthBulkhead.class, HealthPreStartup::getHealthBulkhead);
+        bindLazily(HealthWarmup.class, HealthPreStartup::getHealthWarmup);
+    }
+
+    /**
+     * Binds a component to the {@link HealthPreStartup} getter creating it on first use.
+     *
+     * @param type   the component type
+     * @param getter the getter returning the component
+     * @param <T>    the component type
+     */
+    private <T> void bindLazily(Class<T> type, Provider<T> getter) {
+        bind(type).toProvider(getter);
     }
 }
@@ -4,7 +4,9 @@ import com.guicedee.client.IGuiceContext;
 import com.guicedee.client.services.lifecycle.IGuicePreDestroy;
 import com.guicedee.client.services.lifecycle.IGuicePreStartup;
 import com.guicedee.client.services.lifecycle.IGuicePostStartup;
+import com.guicedee.health.AsyncHealthCheck;
 import com.guicedee.health.HealthOptions;
+import com.guicedee.health.HealthSpanExporter;
 import com.guicedee.vertx.spi.VertXPreStartup;
 import io.smallrye.mutiny.Multi;
 import io.smallrye.mutiny.Uni;
@@ -12,13 +14,18 @@ import io.vertx.core.Future;
 import io.vertx.ext.healthchecks.HealthChecks;
 import io.vertx.ext.healthchecks.Status;
 import org.eclipse.microprofile.health.HealthCheck;
-import org.eclipse.microprofile.health.HealthCheckResponse;
-import org.eclipse.microprofile.health.Liveness;
-import org.eclipse.microprofile.health.Readiness;
-import org.eclipse.microprofile.health.Startup;
 
+import java.lang.reflect.Proxy;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.ServiceLoader;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.function.BooleanSupplier;
 
 /**
  * Handles the lifecycle and registration of health checks in GuicedEE.
@@ -26,8 +33,8 @@ import java.util.List;
  * <p>This class implements multiple GuicedEE lifecycle interfaces:</p>
  * <ul>
  *     <li>{@link IGuicePreStartup}: Initializes Vert.x {@link HealthChecks} instances and scans for {@link HealthCheck} implementations.</li>
- *     <li>{@link IGuicePostStartup}: Instantiates health checks via Guice and registers them with Vert.x health check instances.</li>
- *     <li>{@link IGuicePreDestroy}: Handles cleanup during application shutdown.</li>
+ *     <li>{@link IGuicePostStartup}: Instantiates health checks via Guice and registers them through the {@link HealthCheckRegistry}.</li>
+ *     <li>{@link IGuicePreDestroy}: Drains traffic through the {@link ShutdownDrain} and stops the health monitors.</li>
  * </ul>
  */
 public class HealthPreStartup implements IGuicePreStartup<HealthPreStartup>, IGuicePostStartup<HealthPreStartup>, IGuicePreDestroy<HealthPreStartup> {
@@ -37,6 +44,11 @@ public class HealthPreStartup implements IGuicePreStartup<HealthPreStartup>, IGu
     public HealthPreStartup() {
     }
 
+    /**
+     * The timeout, in milliseconds, applied to each registered check.
+     */
+    static final long DEFAULT_TIMEOUT = 2000L;
+
     /**
      * The main aggregated health checks instance.
      */
@@ -53,11 +65,86 @@ public class HealthPreStartup implements IGuicePreStartup<HealthPreStartup>, IGu
      * The startup health checks instance.
      */
     private static HealthChecks startupChecks;
+    /**
+     * The background timer shared by the health monitors.
+     */
+    private static ScheduledExecutorService monitorExecutor;
+    /**
+     * The monitor maintaining the pre-computed liveness state.
+     */
+    private static LivenessMonitor livenessMonitor;
+    /**
+     * The sampler backing the built-in capacity readiness checks.
+     */
+    private static ResourceSampler resourceSampler;
+    /**
+     * The evaluation history of every registered check.
+     */
+    private static HealthHistory healthHistory;
+    /**
+     * The registry of the checks served by the health endpoints.
+     */
+    private static HealthCheckRegistry healthCheckRegistry;
+    /**
+     * The registry of the tenant-scoped health checks.
+     */
+    private static TenantHealthRegistry tenantHealthRegistry;
+    /**
+     * The view of the health of every node on the event bus.
+     */
+    private static ClusterHealth clusterHealth;
+    /**
+     * The readiness gate and in-flight request tracker used during shutdown.
+     */
+    private static ShutdownDrain shutdownDrain;
+    /**
+     * The progress and timings of the GuicedEE lifecycle phases.
+     */
+    private static StartupTracker startupTracker;
+    /**
+     * The tracer of the endpoint evaluations.
+     */
+    private static HealthTracer healthTracer;
+    /**
+     * The dedicated server of the health endpoints.
+     */
+    private static ManagementServer managementServer;
+    /**
+     * The memory-mapped file the health of this process is published to.
+     */
+    private static HealthSnapshotFile healthSnapshotFile;
+    /**
+     * The bounded executors the blocking checks run on.
+     */
+    private static HealthBulkhead healthBulkhead;
+    /**
+     * The warm-up of the health pipeline run at the end of post-startup.
+     */
+    private static HealthWarmup healthWarmup;
+
+    /**
+     * The annotation defaults of {@link HealthOptions}, used when the application does not declare its own.
+     *
+     * <p>A proxy is used instead of an annotated holder class so that the defaults never show up in the scan
+     * for application-level {@link HealthOptions}.</p>
+     */
+    private static final HealthOptions DEFAULT_OPTIONS = (HealthOptions) Proxy.newProxyInstance(
+            HealthOptions.class.getClassLoader(), new Class<?>[]{HealthOptions.class}, (proxy, method, args) -> switch (method.getName()) {
+                case "annotationType" -> HealthOptions.class;
+                case "toString" -> "@" + HealthOptions.class.getName() + "()";
+                case "hashCode" -> System.identityHashCode(proxy);
+                case "equals" -> proxy == args[0];
+                default -> method.getDefaultValue();
+            });
 
     /**
      * List of discovered health check classes.
      */
     private static final List<Class<? extends HealthCheck>> healthCheckClasses = new ArrayList<>();
+    /**
+     * List of discovered asynchronous health check classes.
+     */
+    private static final List<Class<? extends AsyncHealthCheck>> asyncHealthCheckClasses = new ArrayList<>();
 
     /**
      * Initializes Vert.x health check instances and discovers health check implementations.
@@ -72,10 +159,24 @@ public class HealthPreStartup implements IGuicePreStartup<HealthPreStartup>, IGu
             livenessChecks = HealthChecks.create(vertx);
             readinessChecks = HealthChecks.create(vertx);
             startupChecks = HealthChecks.create(vertx);
+            startupChecks.register("guicedee-lifecycle", DEFAULT_TIMEOUT, getStartupTracker());
 
-            healthCheckClasses.addAll(IGuiceContext.instance().getScanResult()
+            HealthOptions options = getEffectiveOptions();
+            for (Class<? extends HealthCheck> checkClass : IGuiceContext.instance().getScanResult()
                     .getClassesImplementing(HealthCheck.class)
-                    .loadClasses(HealthCheck.class));
+                    .loadClasses(HealthCheck.class)) {
+                if (isBuiltInCheckEnabled(checkClass, options)) {
+                    healthCheckClasses.add(checkClass);
+                }
+            }
+            for (Class<? extends AsyncHealthCheck> checkClass : IGuiceContext.instance().getScanResult()
+                    .getClassesImplementing(AsyncHealthCheck.class)
+                    .loadClasses(AsyncHealthCheck.class)) {
+                // StageHealthCheck is itself an AsyncHealthCheck
+                if (!checkClass.isInterface()) {
+                    asyncHealthCheckClasses.add(checkClass);
+                }
+            }
         }
         return List.of(Future.succeededFuture(true));
     }
@@ -87,75 +188,102 @@ public class HealthPreStartup implements IGuicePreStartup<HealthPreStartup>, IGu
      */
     @Override
     public List<Uni<Boolean>> postLoad() {
-        if (healthCheckClasses.isEmpty()) {
+        if (healthCheckClasses.isEmpty() && asyncHealthCheckClasses.isEmpty()) {
             healthChecks.register("guicedee-health", 2000, promise -> promise.complete(Status.OK()));
             livenessChecks.register("guicedee-liveness", 2000, promise -> promise.complete(Status.OK()));
             readinessChecks.register("guicedee-readiness", 2000, promise -> promise.complete(Status.OK()));
             startupChecks.register("guicedee-startup", 2000, promise -> promise.complete(Status.OK()));
         }
 
-        return List.of(Multi.createFrom().iterable(healthCheckClasses)
-                .onItem().invoke(clazz -> {
-                    HealthCheck healthCheck = IGuiceContext.get(clazz);
-                    boolean liveness = clazz.isAnnotationPresent(Liveness.class);
-                    boolean readiness = clazz.isAnnotationPresent(Readiness.class);
-                    boolean startup = clazz.isAnnotationPresent(Startup.class);
-                    boolean generic = false;
-                    try {
-                        Class<? extends java.lang.annotation.Annotation> healthClass = (Class<? extends java.lang.annotation.Annotation>) Class.forName("org.eclipse.microprofile.health.Health");
-                        generic = clazz.isAnnotationPresent(healthClass);
-                    } catch (ClassNotFoundException e) {
-                        // Ignore
-                    }
+        readinessChecks.register("guicedee-shutdown", DEFAULT_TIMEOUT, getShutdownDrain());
+        if (getEffectiveOptions().bulkheadEnabled()) {
+            healthChecks.register("guicedee-bulkheads", DEFAULT_TIMEOUT, getHealthBulkhead());
+        }
+        if (getEffectiveOptions().warmupIterations() > 0) {
+            readinessChecks.register("guicedee-warmup", DEFAULT_TIMEOUT, getHealthWarmup());
+        }
 
-                    if (liveness) {
-                        register(livenessChecks, healthCheck);
-                        if (healthChecks != livenessChecks) {
-                            register(healthChecks, healthCheck);
-                        }
+        Set<Class<?>> checkClasses = new LinkedHashSet<>(healthCheckClasses);
+        checkClasses.addAll(asyncHealthCheckClasses);
+        Uni<Boolean> registration = Multi.createFrom().iterable(checkClasses)
+                .onItem().invoke(clazz -> {
+                    Object healthCheck = IGuiceContext.get(clazz);
+                    getHealthCheckRegistry().registerInstance(healthCheck.getClass().getName(), healthCheck,
+                            HealthCheckRegistry.kindsOf(clazz));
+                })
+                .collect().last()
+                .onItem().invoke(() -> {
+                    getLivenessMonitor().start();
+                    if (isResourceSamplingEnabled(getEffectiveOptions())) {
+                        getResourceSampler().start();
                     }
-                    if (readiness) {
-                        register(readinessChecks, healthCheck);
-                        if (healthChecks != readinessChecks) {
-                            register(healthChecks, healthCheck);
-                        }
+                    getTenantHealthRegistry().start();
+                    if (getEffectiveOptions().clusterEnabled()) {
+                        getClusterHealth().start();
                     }
-                    if (startup) {
-                        register(startupChecks, healthCheck);
-                        if (healthChecks != startupChecks) {
-                            register(healthChecks, healthCheck);
-                        }
+                    String snapshotFile = getEffectiveOptions().snapshotFile();
+                    if (snapshotFile != null && !snapshotFile.isBlank()) {
+                        getHealthSnapshotFile().start();
                     }
-                    if (generic || (!liveness && !readiness && !startup)) {
-                        register(healthChecks, healthCheck);
+                })
+                .chain(() -> getEffectiveOptions().enabled() && getEffectiveOptions().managementEnabled()
+                        ? Uni.createFrom().completionStage(getManagementServer().start().toCompletionStage()).replaceWithVoid()
+                        : Uni.createFrom().voidItem())
+                .invoke(() -> {
+                    if (getEffectiveOptions().warmupIterations() > 0) {
+                        getHealthWarmup().start();
                     }
                 })
-                .collect().last()
-                .replaceWith(true)
-        );
+                .replaceWith(true);
+        return List.of(getStartupTracker().track(StartupTracker.POST_STARTUP + ":" + getClass().getSimpleName(), registration));
     }
 
     /**
-     * Registers a MicroProfile {@link HealthCheck} to a Vert.x {@link HealthChecks} instance.
+     * Returns whether a scanned check is registered. The built-in capacity checks are opt-in and only registered
+     * when one of their thresholds is set; every other check is always registered.
      *
-     * @param hc    The Vert.x health checks instance to register with.
-     * @param check The MicroProfile health check to register.
-     */
-    private void register(HealthChecks hc, HealthCheck check) {
-        String name = check.getClass().getName();
-        hc.unregister(name);
-        hc.register(name, 2000, promise -> {
-            try {
-                HealthCheckResponse response = check.call();
-                if (response.getStatus() == HealthCheckResponse.Status.UP) {
-                    promise.complete(Status.OK(new io.vertx.core.json.JsonObject(response.getData().orElse(java.util.Collections.emptyMap()))));
-                } else {
-                    promise.complete(Status.KO(new io.vertx.core.json.JsonObject(response.getData().orElse(java.util.Collections.emptyMap()))));
-                }
-            } catch (Exception e) {
-                promise.fail(e);
-            }
-        });
+     * @param checkClass The scanned check class.
+     * @param options    The effective health options.
+     * @return true if the check is registered, false otherwise.
+     */
+    public static boolean isBuiltInCheckEnabled(Class<?> checkClass, HealthOptions options) {
+        if (checkClass == EventLoopHealthCheck.class) {
+            return options.eventLoopLagThreshold() > 0;
+        }
+        if (checkClass == WorkerPoolHealthCheck.class) {
+            return options.workerPoolLatencyThreshold() > 0;
+        }
+        if (checkClass == MemoryHealthCheck.class) {
+            return options.heapUsageThreshold() > 0 || options.gcTimeThreshold() > 0;
+        }
+        if (checkClass == DirectMemoryHealthCheck.class) {
+            return options.directMemoryThreshold() > 0 || options.mappedMemoryThreshold() > 0;
+        }
+        if (checkClass == DiskSpaceHealthCheck.class) {
+            return options.diskSpacePaths() != null && !options.diskSpacePaths().isBlank();
+        }
+        if (checkClass == FileDescriptorHealthCheck.class) {
+            return options.fileDescriptorThreshold() > 0;
+        }
+        if (checkClass == ThreadCountHealthCheck.class) {
+            return options.threadCountThreshold() > 0;
+        }
+        return true;
+    }
+
+    /**
+     * Returns whether any check backed by the {@link ResourceSampler} is enabled.
+     *
+     * @param options The effective health options.
+     * @return true if the sampler has to run, false otherwise.
+     */
+    private static boolean isResourceSamplingEnabled(HealthOptions options) {
+        return isBuiltInCheckEnabled(WorkerPoolHealthCheck.class, options)
+                || isBuiltInCheckEnabled(MemoryHealthCheck.class, options)
+                || isBuiltInCheckEnabled(DirectMemoryHealthCheck.class, options)
+                || isBuiltInCheckEnabled(DiskSpaceHealthCheck.class, options)
+                || isBuiltInCheckEnabled(FileDescriptorHealthCheck.class, options)
+                || isBuiltInCheckEnabled(ThreadCountHealthCheck.class, options);
     }
 
     /**
@@ -206,6 +334,223 @@ public class HealthPreStartup implements IGuicePreStartup<HealthPreStartup>, IGu
         return startupChecks;
     }
 
+    /**
+     * Returns the background timer shared by the health monitors, creating it on first use.
+     *
+     * @return The monitor executor.
+     */
+    public static synchronized ScheduledExecutorService getMonitorExecutor() {
+        if (monitorExecutor == null) {
+            monitorExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "guicedee-health-monitor");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return monitorExecutor;
+    }
+
+    /**
+     * Returns the monitor maintaining the pre-computed liveness state.
+     *
+     * @return The LivenessMonitor instance.
+     */
+    public static synchronized LivenessMonitor getLivenessMonitor() {
+        if (livenessMonitor == null) {
+            livenessMonitor = new LivenessMonitor(VertXPreStartup.getVertx(), getLivenessChecks(), DEFAULT_TIMEOUT,
+                    getMonitorExecutor(), getEffectiveOptions());
+        }
+        return livenessMonitor;
+    }
+
+    /**
+     * Returns the sampler backing the built-in capacity readiness checks.
+     *
+     * @return The ResourceSampler instance.
+     */
+    public static synchronized ResourceSampler getResourceSampler() {
+        if (resourceSampler == null) {
+            resourceSampler = new ResourceSampler(VertXPreStartup.getVertx(), getMonitorExecutor(), getEffectiveOptions());
+        }
+        return resourceSampler;
+    }
+
+    /**
+     * Returns the evaluation history of every registered check.
+     *
+     * @return The HealthHistory instance.
+     */
+    public static synchronized HealthHistory getHealthHistory() {
+        if (healthHistory == null) {
+            healthHistory = new HealthHistory(getEffectiveOptions());
+        }
+        return healthHistory;
+    }
+
+    /**
+     * Returns the registry of the checks served by the health endpoints.
+     *
+     * @return The HealthCheckRegistry instance.
+     */
+    public static synchronized HealthCheckRegistry getHealthCheckRegistry() {
+        if (healthCheckRegistry == null) {
+            healthCheckRegistry = new HealthCheckRegistry(getHealthChecks(), getLivenessChecks(), getReadinessChecks(),
+                    getStartupChecks(), getHealthHistory(), DEFAULT_TIMEOUT);
+            long evaluationBudget = getEffectiveOptions().evaluationBudget();
+            if (evaluationBudget > 0) {
+                healthCheckRegistry.setEvaluationBudget(evaluationBudget, VertXPreStartup.getVertx());
+            }
+            if (getEffectiveOptions().tracingEnabled()) {
+                healthCheckRegistry.setTracer(getHealthTracer());
+            }
+            if (getEffectiveOptions().bulkheadEnabled()) {
+                healthCheckRegistry.setBulkhead(getHealthBulkhead());
+            }
+        }
+        return healthCheckRegistry;
+    }
+
+    /**
+     * Returns the registry of the tenant-scoped health checks.
+     *
+     * @return The TenantHealthRegistry instance.
+     */
+    public static synchronized TenantHealthRegistry getTenantHealthRegistry() {
+        if (tenantHealthRegistry == null) {
+            tenantHealthRegistry = new TenantHealthRegistry(VertXPreStartup.getVertx(), getHealthHistory(), DEFAULT_TIMEOUT,
+                    getMonitorExecutor(), getEffectiveOptions());
+        }
+        return tenantHealthRegistry;
+    }
+
+    /**
+     * Returns the view of the health of every node on the event bus.
+     *
+     * @return The ClusterHealth instance.
+     */
+    public static synchronized ClusterHealth getClusterHealth() {
+        if (clusterHealth == null) {
+            clusterHealth = new ClusterHealth(VertXPreStartup.getVertx().eventBus(), getHealthCheckRegistry(),
+                    getModuleProcedures(), getMonitorExecutor(), getEffectiveOptions());
+        }
+        return clusterHealth;
+    }
+
+    /**
+     * Returns the state of the procedures the module registers itself, which are not in the {@link HealthCheckRegistry},
+     * for the components reporting the health of this node without evaluating the endpoints.
+     *
+     * @return whether each module-owned procedure is UP, by the name it is registered under.
+     */
+    static Map<String, BooleanSupplier> getModuleProcedures() {
+        HealthOptions options = getEffectiveOptions();
+        Map<String, BooleanSupplier> procedures = new LinkedHashMap<>();
+        StartupTracker startup = getStartupTracker();
+        procedures.put("guicedee-lifecycle", startup::isComplete);
+        ShutdownDrain drain = getShutdownDrain();
+        procedures.put("guicedee-shutdown", () -> !drain.isDraining());
+        if (options.bulkheadEnabled()) {
+            procedures.put("guicedee-bulkheads", getHealthBulkhead()::isUp);
+        }
+        if (options.warmupIterations() > 0) {
+            procedures.put("guicedee-warmup", getHealthWarmup()::isComplete);
+        }
+        return procedures;
+    }
+
+    /**
+     * Returns the readiness gate and in-flight request tracker used during shutdown.
+     *
+     * @return The ShutdownDrain instance.
+     */
+    public static synchronized ShutdownDrain getShutdownDrain() {
+        if (shutdownDrain == null) {
+            shutdownDrain = new ShutdownDrain(getEffectiveOptions());
+        }
+        return shutdownDrain;
+    }
+
+    /**
+     * Returns the progress and timings of the GuicedEE lifecycle phases.
+     *
+     * @return The StartupTracker instance.
+     */
+    public static synchronized StartupTracker getStartupTracker() {
+        if (startupTracker == null) {
+            startupTracker = new StartupTracker();
+        }
+        return startupTracker;
+    }
+
+    /**
+     * Returns the tracer of the endpoint evaluations, with the {@link HealthSpanExporter}s found by the
+     * {@link ServiceLoader} added.
+     *
+     * @return The HealthTracer instance.
+     */
+    public static synchronized HealthTracer getHealthTracer() {
+        if (healthTracer == null) {
+            healthTracer = new HealthTracer(getEffectiveOptions());
+            ServiceLoader.load(HealthSpanExporter.class).forEach(healthTracer::addExporter);
+        }
+        return healthTracer;
+    }
+
+    /**
+     * Returns the dedicated management server serving the health endpoints when
+     * {@link HealthOptions#managementEnabled()} is set.
+     *
+     * @return The ManagementServer instance.
+     */
+    public static synchronized ManagementServer getManagementServer() {
+        if (managementServer == null) {
+            managementServer = new ManagementServer(VertXPreStartup.getVertx(), getEffectiveOptions(),
+                    router -> HealthRouterConfigurator.mountEndpoints(router, getEffectiveOptions()));
+        }
+        return managementServer;
+    }
+
+    /**
+     * Returns the writer of the memory-mapped health snapshot file, creating it if necessary.
+     * It only publishes when {@link HealthOptions#snapshotFile()} is set.
+     *
+     * @return The health snapshot file.
+     */
+    public static synchronized HealthSnapshotFile getHealthSnapshotFile() {
+        if (healthSnapshotFile == null) {
+            healthSnapshotFile = new HealthSnapshotFile(VertXPreStartup.getVertx(), getHealthChecks(), getReadinessChecks(),
+                    getStartupChecks(), getLivenessMonitor()::isUp, getMonitorExecutor(), getEffectiveOptions());
+        }
+        return healthSnapshotFile;
+    }
+
+    /**
+     * Returns the bulkhead running the blocking checks, creating it if necessary.
+     * It is only used when {@link HealthOptions#bulkheadEnabled()} is set.
+     *
+     * @return The health bulkhead.
+     */
+    public static synchronized HealthBulkhead getHealthBulkhead() {
+        if (healthBulkhead == null) {
+            healthBulkhead = new HealthBulkhead(getMonitorExecutor(), getEffectiveOptions());
+        }
+        return healthBulkhead;
+    }
+
+    /**
+     * Returns the warm-up of the health pipeline, creating it if necessary.
+     * It only runs when {@link HealthOptions#warmupIterations()} is set.
+     *
+     * @return The health warm-up.
+     */
+    public static synchronized HealthWarmup getHealthWarmup() {
+        if (healthWarmup == null) {
+            healthWarmup = new HealthWarmup(getHealthChecks(), getLivenessChecks(), getReadinessChecks(),
+                    getStartupChecks(), VertXPreStartup.getVertx(), getEffectiveOptions());
+        }
+        return healthWarmup;
+    }
+
     /**
      * Retrieves the {@link HealthOptions} annotation from the application configuration.
      *
@@ -215,48 +560,374 @@ public class HealthPreStartup implements IGuicePreStartup<HealthPreStartup>, IGu
         var healthConfig = IGuiceContext.instance().getScanResult().getClassesWithAnnotation(HealthOptions.class);
         if (healthConfig.size() == 1) {
             var clazz = healthConfig.getFirst().loadClass();
-            HealthOptions annotation = clazz.getDeclaredAnnotation(HealthOptions.class);
-            return new HealthOptions() {
-                @Override
-                public Class<? extends java.lang.annotation.Annotation> annotationType() {
-                    return HealthOptions.class;
-                }
+            return withEnvironmentOverrides(clazz.getDeclaredAnnotation(HealthOptions.class));
+        }
+        return null;
+    }
 
-                @Override
-                public boolean enabled() {
-                    return Boolean.parseBoolean(com.guicedee.client.Environment.getSystemPropertyOrEnvironment("HEALTH_ENABLED", String.valueOf(annotation.enabled())));
-                }
+    /**
+     * Retrieves the {@link HealthOptions} from the application configuration, falling back to the annotation defaults
+     * (with environment overrides applied) when no configuration class is present.
+     *
+     * @return The effective HealthOptions, never null.
+     */
+    public static HealthOptions getEffectiveOptions() {
+        HealthOptions options = getOptions();
+        if (options == null) {
+            options = withEnvironmentOverrides(DEFAULT_OPTIONS);
+        }
+        return options;
+    }
 
-                @Override
-                public String path() {
-                    return com.guicedee.client.Environment.getSystemPropertyOrEnvironment("HEALTH_PATH", annotation.path());
-                }
+    /**
+     * Wraps a {@link HealthOptions} annotation so that each value can be overridden by a system property or
+     * environment variable.
+     *
+     * @param annotation The annotation supplying the fallback values.
+     * @return The overriding HealthOptions view.
+     */
+    private static HealthOptions withEnvironmentOverrides(HealthOptions annotation) {
+        return new HealthOptions() {
+            @Override
+            public Class<? extends java.lang.annotation.Annotation> annotationType() {
+                return HealthOptions.class;
+            }
 
-                @Override
-                public String livenessPath() {
-                    return com.guicedee.client.Environment.getSystemPropertyOrEnvironment("HEALTH_LIVENESS_PATH", annotation.livenessPath());
-                }
+            @Override
+            public boolean enabled() {
+                return Boolean.parseBoolean(com.guicedee.client.Environment.getSystemPropertyOrEnvironment("HEALTH_ENABLED", String.valueOf(annotation.enabled())));
+            }
 
-                @Override
-                public String readinessPath() {
-                    return com.guicedee.client.Environment.getSystemPropertyOrEnvironment("HEALTH_READINESS_PATH", annotation.readinessPath());
-                }
+            @Override
+            public String path() {
+                return com.guicedee.client.Environment.getSystemPropertyOrEnvironment("HEALTH_PATH", annotation.path());
+            }
 
-                @Override
-                public String startupPath() {
-                    return com.guicedee.client.Environment.getSystemPropertyOrEnvironment("HEALTH_STARTUP_PATH", annotation.startupPath());
-                }
-            };
-        }
-        return null;
+            @Override
+            public String livenessPath() {
+                return com.guicedee.client.Environment.getSystemPropertyOrEnvironment("HEALTH_LIVENESS_PATH", annotation.livenessPath());
+            }
+
+            @Override
+            public String readinessPath() {
+                return com.guicedee.client.Environment.getSystemPropertyOrEnvironment("HEALTH_READINESS_PATH", annotation.readinessPath());
+            }
+
+            @Override
+            public String startupPath() {
+                return com.guicedee.client.Environment.getSystemPropertyOrEnvironment("HEALTH_STARTUP_PATH", annotation.startupPath());
+            }
+
+            @Override
+            public boolean livenessFastPath() {
+                return Boolean.parseBoolean(com.guicedee.client.Environment.getSystemPropertyOrEnvironment("HEALTH_LIVENESS_FAST_PATH", String.valueOf(annotation.livenessFastPath())));
+            }
+
+            @Override
+            public long livenessMonitorInterval() {
+                return Long.parseLong(com.guicedee.client.Environment.getSystemPropertyOrEnvironment("HEALTH_LIVENESS_MONITOR_INTERVAL", String.valueOf(annotation.livenessMonitorInterval())));
+            }
+
+            @Override
+            public long eventLoopBlockedThreshold() {
+                return Long.parseLong(com.guicedee.client.Environment.getSystemPropertyOrEnvironment("HEALTH_EVENT_LOOP_BLOCKED_THRESHOLD", String.valueOf(annotation.eventLoopBlockedThreshold())));
+            }
+
+            @Override
+            public long livenessCheckInterval() {
+                return Long.parseLong(com.guicedee.client.Environment.getSystemPropertyOrEnvironment("HEALTH_LIVENESS_CHECK_INTERVAL", String.valueOf(annotation.livenessCheckInterval())));
+            }
+
+            @Override
+            public long resourceSampleInterval() {
+                return Long.parseLong(com.guicedee.client.Environment.getSystemPropertyOrEnvironment("HEALTH_RESOURCE_SAMPLE_INTERVAL", String.valueOf(annotation.resourceSampleInterval())));
+            }
+
+            @Override
+            public long eventLoopLagThreshold() {
+                return Long.parseLong(com.guicedee.client.Environment.getSystemPropertyOrEnvironment("HEALTH_EVENT_LOOP_LAG_THRESHOLD", String.valueOf(annotation.eventLoopLagThreshold())));
+            }
+
+            @Override
+            public long workerPoolLatencyThreshold() {
+                return Long.parseLong(com.guicedee.client.Environment.getSystemPropertyOrEnvironment("HEALTH_WORKER_POOL_LATENCY_THRESHOLD", String.valueOf(annotation.workerPoolLatencyThreshold())));
+            }
+
+            @Override
+            public double heapUsageThreshold() {
+                return Double.parseDouble(com.guicedee.client.Environment.getSystemPropertyOrEnvironment("HEALTH_HEAP_USAGE_THRESHOLD", String.valueOf(annotation.heapUsageThreshold())));
+            }
+
+            @Override
+            public double gcTimeThreshold() {
+                return Double.parseDouble(com.guicedee.client.Environment.getSystemPropertyOrEnvironment("HEALTH_GC_TIME_THRESHOLD", String.valueOf(annotation.gcTimeThreshold())));
+            }
+
+            @Override
+            public double directMemoryThreshold() {
+                return Double.parseDouble(com.guicedee.client.Environment.getSystemPropertyOrEnvironment("HEALTH_DIRECT_MEMORY_THRESHOLD", String.valueOf(annotation.directMemoryThreshold())));
+            }
+
+            @Override
+            public long mappedMemoryThreshold() {
+                return Long.parseLong(com.guicedee.client.Environment.getSystemPropertyOrEnvironment("HEALTH_MAPPED_MEMORY_THRESHOLD", String.valueOf(annotation.mappedMemoryThreshold())));
+            }
+
+            @Override
+            public String diskSpacePaths() {
+                return com.guicedee.client.Environment.getSystemPropertyOrEnvironment("HEALTH_DISK_SPACE_PATHS", annotation.diskSpacePaths());
+            }
+
+            @Override
+            public double diskFreeThreshold() {
+                return Double.parseDouble(com.guicedee.client.Environment.getSystemPropertyOrEnvironment("HEALTH_DISK_FREE_THRESHOLD", String.valueOf(annotation.diskFreeThreshold())));
+            }
+
+            @Override
+            public double fileDescriptorThreshold() {
+                return Double.parseDouble(com.guicedee.client.Environment.getSystemPropertyOrEnvironment("HEALTH_FILE_DESCRIPTOR_THRESHOLD", String.valueOf(annotation.fileDescriptorThreshold())));
+            }
+
+            @Override
+            public int threadCountThreshold() {
+                return Integer.parseInt(com.guicedee.client.Environment.getSystemPropertyOrEnvironment("HEALTH_THREAD_COUNT_THRESHOLD", String.valueOf(annotation.threadCountThreshold())));
+            }
+
+            @Override
+            public String historyPath() {
+                return com.guicedee.client.Environment.getSystemPropertyOrEnvironment("HEALTH_HISTORY_PATH", annotation.historyPath());
+            }
+
+            @Override
+            public int historySize() {
+                return Integer.parseInt(com.guicedee.client.Environment.getSystemPropertyOrEnvironment("HEALTH_HISTORY_SIZE", String.valueOf(annotation.historySize())));
+            }
+
+            @Override
+            public int flapThreshold() {
+                return Integer.parseInt(com.guicedee.client.Environment.getSystemPropertyOrEnvironment("HEALTH_FLAP_THRESHOLD", String.valueOf(annotation.flapThreshold())));
+            }
+
+            @Override
+            public long flapWindow() {
+                return Long.parseLong(com.guicedee.client.Environment.getSystemPropertyOrEnvironment("HEALTH_FLAP_WINDOW", String.valueOf(annotation.flapWindow())));
+            }
+
+            @Override
+            public boolean holdOnFlap() {
+                return Boolean.parseBoolean(com.guicedee.client.Environment.getSystemPropertyOrEnvironment("HEALTH_HOLD_ON_FLAP", String.valueOf(annotation.holdOnFlap())));
+            }
+
+            @Override
+            public String tenantPath() {
+                return com.guicedee.client.Environment.getSystemPropertyOrEnvironment("HEALTH_TENANT_PATH", annotation.tenantPath());
+            }
+
+            @Override
+            public String tenantsPath() {
+                return com.guicedee.client.Environment.getSystemPropertyOrEnvironment("HEALTH_TENANTS_PATH", annotation.tenantsPath());
+            }
+
+            @Override
+            public int tenantConcurrency() {
+                return Integer.parseInt(com.guicedee.client.Environment.getSystemPropertyOrEnvironment("HEALTH_TENANT_CONCURRENCY", String.valueOf(annotation.tenantConcurrency())));
+            }
+
+            @Override
+            public long tenantCheckInterval() {
+                return Long.parseLong(com.guicedee.client.Environment.getSystemPropertyOrEnvironment("HEALTH_TENANT_CHECK_INTERVAL", String.valueOf(annotation.tenantCheckInterval())));
+            }
+
+            @Override
+            public boolean clusterEnabled() {
+                return Boolean.parseBoolean(com.guicedee.client.Environment.getSystemPropertyOrEnvironment("HEALTH_CLUSTER_ENABLED", String.valueOf(annotation.clusterEnabled())));
+            }
+
+            @Override
+            public String clusterPath() {
+                return com.guicedee.client.Environment.getSystemPropertyOrEnvironment("HEALTH_CLUSTER_PATH", annotation.clusterPath());
+            }
+
+            @Override
+            public String clusterAddress() {
+                return com.guicedee.client.Environment.getSystemPropertyOrEnvironment("HEALTH_CLUSTER_ADDRESS", annotation.clusterAddress());
+            }
+
+            @Override
+            public String clusterNodeId() {
+                return com.guicedee.client.Environment.getSystemPropertyOrEnvironment("HEALTH_CLUSTER_NODE_ID", annotation.clusterNodeId());
+            }
+
+            @Override
+            public long clusterPublishInterval() {
+                return Long.parseLong(com.guicedee.client.Environment.getSystemPropertyOrEnvironment("HEALTH_CLUSTER_PUBLISH_INTERVAL", String.valueOf(annotation.clusterPublishInterval())));
+            }
+
+            @Override
+            public long clusterNodeTtl() {
+                return Long.parseLong(com.guicedee.client.Environment.getSystemPropertyOrEnvironment("HEALTH_CLUSTER_NODE_TTL", String.valueOf(annotation.clusterNodeTtl())));
+            }
+
+            @Override
+            public boolean binarySnapshots() {
+                return Boolean.parseBoolean(com.guicedee.client.Environment.getSystemPropertyOrEnvironment("HEALTH_BINARY_SNAPSHOTS", String.valueOf(annotation.binarySnapshots())));
+            }
+
+            @Override
+            public long drainPeriod() {
+                return Long.parseLong(com.guicedee.client.Environment.getSystemPropertyOrEnvironment("HEALTH_DRAIN_PERIOD", String.valueOf(annotation.drainPeriod())));
+            }
+
+            @Override
+            public long drainTimeout() {
+                return Long.parseLong(com.guicedee.client.Environment.getSystemPropertyOrEnvironment("HEALTH_DRAIN_TIMEOUT", String.valueOf(annotation.drainTimeout())));
+            }
+
+            @Override
+            public long evaluationBudget() {
+                return Long.parseLong(com.guicedee.client.Environment.getSystemPropertyOrEnvironment("HEALTH_EVALUATION_BUDGET", String.valueOf(annotation.evaluationBudget())));
+            }
+
+            @Override
+            public boolean tracingEnabled() {
+                return Boolean.parseBoolean(com.guicedee.client.Environment.getSystemPropertyOrEnvironment("HEALTH_TRACING_ENABLED", String.valueOf(annotation.tracingEnabled())));
+            }
+
+            @Override
+            public double tracingSampleRatio() {
+                return Double.parseDouble(com.guicedee.client.Environment.getSystemPropertyOrEnvironment("HEALTH_TRACING_SAMPLE_RATIO", String.valueOf(annotation.tracingSampleRatio())));
+            }
+
+            @Override
+            public boolean managementEnabled() {
+                return Boolean.parseBoolean(com.guicedee.client.Environment.getSystemPropertyOrEnvironment("HEALTH_MANAGEMENT_ENABLED", String.valueOf(annotation.managementEnabled())));
+            }
+
+            @Override
+            public int managementPort() {
+                return Integer.parseInt(com.guicedee.client.Environment.getSystemPropertyOrEnvironment("HEALTH_MANAGEMENT_PORT", String.valueOf(annotation.managementPort())));
+            }
+
+            @Override
+            public String managementHost() {
+                return com.guicedee.client.Environment.getSystemPropertyOrEnvironment("HEALTH_MANAGEMENT_HOST", annotation.managementHost());
+            }
+
+            @Override
+            public int managementMaxConnections() {
+                return Integer.parseInt(com.guicedee.client.Environment.getSystemPropertyOrEnvironment("HEALTH_MANAGEMENT_MAX_CONNECTIONS", String.valueOf(annotation.managementMaxConnections())));
+            }
+
+            @Override
+            public String managementKeyStore() {
+                return com.guicedee.client.Environment.getSystemPropertyOrEnvironment("HEALTH_MANAGEMENT_KEY_STORE", annotation.managementKeyStore());
+            }
+
+            @Override
+            public String managementKeyStorePassword() {
+                return com.guicedee.client.Environment.getSystemPropertyOrEnvironment("HEALTH_MANAGEMENT_KEY_STORE_PASSWORD", annotation.managementKeyStorePassword());
+            }
+
+            @Override
+            public String snapshotFile() {
+                return com.guicedee.client.Environment.getSystemPropertyOrEnvironment("HEALTH_SNAPSHOT_FILE", annotation.snapshotFile());
+            }
+
+            @Override
+            public long snapshotFileInterval() {
+                return Long.parseLong(com.guicedee.client.Environment.getSystemPropertyOrEnvironment("HEALTH_SNAPSHOT_FILE_INTERVAL", String.valueOf(annotation.snapshotFileInterval())));
+            }
+
+            @Override
+            public boolean bulkheadEnabled() {
+                return Boolean.parseBoolean(com.guicedee.client.Environment.getSystemPropertyOrEnvironment("HEALTH_BULKHEAD_ENABLED", String.valueOf(annotation.bulkheadEnabled())));
+            }
+
+            @Override
+            public int bulkheadThreads() {
+                return Integer.parseInt(com.guicedee.client.Environment.getSystemPropertyOrEnvironment("HEALTH_BULKHEAD_THREADS", String.valueOf(annotation.bulkheadThreads())));
+            }
+
+            @Override
+            public int bulkheadQueueSize() {
+                return Integer.parseInt(com.guicedee.client.Environment.getSystemPropertyOrEnvironment("HEALTH_BULKHEAD_QUEUE_SIZE", String.valueOf(annotation.bulkheadQueueSize())));
+            }
+
+            @Override
+            public int warmupIterations() {
+                return Integer.parseInt(com.guicedee.client.Environment.getSystemPropertyOrEnvironment("HEALTH_WARMUP_ITERATIONS", String.valueOf(annotation.warmupIterations())));
+            }
+        };
     }
 
     /**
-     * Performs cleanup during application shutdown.
+     * Performs the graceful shutdown sequence.
+     *
+     * <p>Readiness is flipped to DOWN immediately while liveness stays UP. After the drain period and once the tracked
+     * in-flight requests have completed (or the drain timeout elapsed), the warm-up, the background monitors and the
+     * management server are stopped and pending asynchronous check evaluations are cancelled. Every component is then
+     * released, including the health checks instances, the registry and its history, the shutdown drain and the
+     * startup tracker, so that a later startup creates fresh ones instead of reusing stopped or draining ones.</p>
      */
     @Override
     public void onDestroy() {
-        // No explicit close needed for HealthChecks
+        ShutdownDrain drain;
+        synchronized (HealthPreStartup.class) {
+            drain = shutdownDrain;
+        }
+        if (drain != null) {
+            drain.drain();
+        }
+        synchronized (HealthPreStartup.class) {
+            if (healthWarmup != null) {
+                healthWarmup.stop();
+                healthWarmup = null;
+            }
+            if (managementServer != null) {
+                managementServer.stop();
+                managementServer = null;
+            }
+            if (healthSnapshotFile != null) {
+                healthSnapshotFile.stop();
+                healthSnapshotFile = null;
+            }
+            if (tenantHealthRegistry != null) {
+                tenantHealthRegistry.stop();
+                tenantHealthRegistry = null;
+            }
+            if (clusterHealth != null) {
+                clusterHealth.stop();
+                clusterHealth = null;
+            }
+            if (resourceSampler != null) {
+                resourceSampler.stop();
+                resourceSampler = null;
+            }
+            if (livenessMonitor != null) {
+                livenessMonitor.stop();
+                livenessMonitor = null;
+            }
+            HealthCheckAdapter.cancelPending();
+            if (healthBulkhead != null) {
+                healthBulkhead.shutdown();
+                healthBulkhead = null;
+            }
+            if (monitorExecutor != null) {
+                monitorExecutor.shutdownNow();
+                monitorExecutor = null;
+            }
+            healthTracer = null;
+            healthCheckRegistry = null;
+            healthHistory = null;
+            shutdownDrain = null;
+            startupTracker = null;
+            healthChecks = null;
+            livenessChecks = null;
+            readinessChecks = null;
+            startupChecks = null;
+            healthCheckClasses.clear();
+            asyncHealthCheckClasses.clear();
+        }
     }
 
     /**
@@ -15,9 +15,24 @@ import io.vertx.ext.web.healthchecks.HealthCheckHandler;
  *     <li>Liveness: defaults to {@code /health/live}</li>
  *     <li>Readiness: defaults to {@code /health/ready}</li>
  *     <li>Startup: defaults to {@code /health/started}</li>
+ *     <li>History: defaults to {@code /health/history}, rendered by the {@link HealthHistory}</li>
+ *     <li>Tenant: defaults to {@code /health/tenant/:tenantId}, evaluated by the {@link TenantHealthRegistry}</li>
+ *     <li>Tenant summary: defaults to {@code /health/tenants}, rendered by the {@link TenantHealthRegistry}</li>
+ *     <li>Cluster: defaults to {@code /health/cluster}, rendered by the {@link ClusterHealth} when
+ *     {@link HealthOptions#clusterEnabled()} is set</li>
  * </ul>
  * <p>Each endpoint is backed by a Vert.x {@link HealthCheckHandler} initialized with the corresponding
- * {@link HealthChecks} instance from {@link HealthPreStartup}.</p>
+ * {@link HealthChecks} instance from {@link HealthPreStartup}. When {@link HealthOptions#livenessFastPath()} is
+ * enabled, the liveness endpoint is answered by the {@link LivenessMonitor} from its pre-computed state instead.</p>
+ * <p>A {@link ShutdownDrain#requestTracker()} is mounted on every route to count the in-flight requests waited for
+ * during shutdown.</p>
+ * <p>When {@link HealthOptions#binarySnapshots()} is enabled, a {@link HealthSnapshotHandler} is mounted in front of
+ * each endpoint to answer clients asking for the binary snapshot format; the fast-path liveness endpoint stays JSON
+ * only so that the probe never runs checks.</p>
+ * <p>When {@link HealthOptions#tracingEnabled()} is set, a {@link HealthTracer#endpointHandler(String)} is mounted
+ * first on each endpoint that runs checks.</p>
+ * <p>When {@link HealthOptions#managementEnabled()} is set, only the request tracker is mounted on the application
+ * router; the endpoints are served by the {@link ManagementServer} on its own port and event loop.</p>
  */
 public class HealthRouterConfigurator implements VertxRouterConfigurator<HealthRouterConfigurator> {
     /**
@@ -34,25 +49,71 @@ public class HealthRouterConfigurator implements VertxRouterConfigurator<HealthR
      */
     @Override
     public Router builder(Router router) {
-        HealthOptions options = HealthPreStartup.getOptions();
-        if (options != null && !options.enabled()) {
+        HealthOptions options = HealthPreStartup.getEffectiveOptions();
+        if (!options.enabled()) {
             return router;
         }
 
+        router.route().handler(HealthPreStartup.getShutdownDrain().requestTracker());
+        if (options.managementEnabled()) {
+            return router;
+        }
+        return mountEndpoints(router, options);
+    }
+
+    /**
+     * Mounts the health endpoints on a router: the application router, or the router of the
+     * {@link ManagementServer} when {@link HealthOptions#managementEnabled()} is set.
+     *
+     * @param router  the router to mount the endpoints on
+     * @param options the effective health options
+     * @return the router
+     */
+    public static Router mountEndpoints(Router router, HealthOptions options) {
         HealthChecks healthChecks = HealthPreStartup.getHealthChecks();
         HealthChecks livenessChecks = HealthPreStartup.getLivenessChecks();
         HealthChecks readinessChecks = HealthPreStartup.getReadinessChecks();
         HealthChecks startupChecks = HealthPreStartup.getStartupChecks();
 
-        String healthPath = options != null ? options.path() : "/health";
-        String livenessPath = options != null ? options.livenessPath() : "/health/live";
-        String readinessPath = options != null ? options.readinessPath() : "/health/ready";
-        String startupPath = options != null ? options.startupPath() : "/health/started";
+        String healthPath = options.path();
+        String livenessPath = options.livenessPath();
+        String readinessPath = options.readinessPath();
+        String startupPath = options.startupPath();
+
+        if (options.tracingEnabled()) {
+            HealthTracer tracer = HealthPreStartup.getHealthTracer();
+            router.get(healthPath).handler(tracer.endpointHandler(healthPath));
+            if (!options.livenessFastPath()) {
+                router.get(livenessPath).handler(tracer.endpointHandler(livenessPath));
+            }
+            router.get(readinessPath).handler(tracer.endpointHandler(readinessPath));
+            router.get(startupPath).handler(tracer.endpointHandler(startupPath));
+        }
+
+        if (options.binarySnapshots()) {
+            router.get(healthPath).handler(new HealthSnapshotHandler(healthChecks));
+            if (!options.livenessFastPath()) {
+                router.get(livenessPath).handler(new HealthSnapshotHandler(livenessChecks));
+            }
+            router.get(readinessPath).handler(new HealthSnapshotHandler(readinessChecks));
+            router.get(startupPath).handler(new HealthSnapshotHandler(startupChecks));
+        }
 
         router.get(healthPath).handler(HealthCheckHandler.createWithHealthChecks(healthChecks));
-        router.get(livenessPath).handler(HealthCheckHandler.createWithHealthChecks(livenessChecks));
+        if (options.livenessFastPath()) {
+            router.get(livenessPath).handler(HealthPreStartup.getLivenessMonitor());
+        } else {
+            router.get(livenessPath).handler(HealthCheckHandler.createWithHealthChecks(livenessChecks));
+        }
         router.get(readinessPath).handler(HealthCheckHandler.createWithHealthChecks(readinessChecks));
         router.get(startupPath).handler(HealthCheckHandler.createWithHealthChecks(startupChecks));
+        router.get(options.historyPath()).handler(HealthPreStartup.getHealthHistory());
+        TenantHealthRegistry tenantHealthRegistry = HealthPreStartup.getTenantHealthRegistry();
+        router.get(options.tenantPath() + "/:tenantId").handler(tenantHealthRegistry.tenantHandler());
+        router.get(options.tenantsPath()).handler(tenantHealthRegistry.summaryHandler());
+        if (options.clusterEnabled()) {
+            router.get(options.clusterPath()).handler(HealthPreStartup.getClusterHealth());
+        }
 
         return router;
     }
@@ -0,0 +1,146 @@
+package com.guicedee.health.implementations;
+
+import io.vertx.core.buffer.Buffer;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Client-side state of a binary health snapshot stream, as produced by the {@link HealthSnapshotEncoder}.
+ *
+ * <p>Consumers keep one decoder per scraped endpoint, request it with {@code ?since=} set to {@link #getVersion()}
+ * and {@link #apply(Buffer) apply} every frame received. A {@code 304 Not Modified} response means the decoder is
+ * already current.</p>
+ * <pre>{@code
+ * HealthSnapshotDecoder decoder = new HealthSnapshotDecoder();
+ * // GET /health/ready?since=<decoder.getVersion()>  Accept: application/vnd.guicedee.health+binary
+ * decoder.apply(body);
+ * boolean ready = decoder.isUp();
+ * }</pre>
+ *
+ * <p>A decoder is not thread-safe.</p>
+ */
+public class HealthSnapshotDecoder {
+    private final List<String> names = new ArrayList<>();
+    private byte[] statuses = new byte[0];
+    private long version;
+    private boolean up;
+
+    /**
+     * Creates a new, empty snapshot decoder.
+     */
+    public HealthSnapshotDecoder() {
+    }
+
+    /**
+     * Applies a full snapshot or a delta frame.
+     *
+     * @param frame The frame received from the endpoint.
+     * @throws IllegalArgumentException if the frame is not a binary health snapshot.
+     * @throws IllegalStateException    if the frame is a delta against a version this decoder does not hold.
+     */
+    public void apply(Buffer frame) {
+        if (frame.length() < 21
+                || frame.getByte(0) != HealthSnapshotEncoder.MAGIC_0
+                || frame.getByte(1) != HealthSnapshotEncoder.MAGIC_1
+                || frame.getByte(2) != HealthSnapshotEncoder.FORMAT_VERSION) {
+            throw new IllegalArgumentException("Not a binary health snapshot");
+        }
+        byte kind = frame.getByte(3);
+        long frameVersion = frame.getLong(4);
+        long baseVersion = frame.getLong(12);
+        if (kind == HealthSnapshotEncoder.KIND_DELTA && baseVersion != version) {
+            throw new IllegalStateException("Delta against version " + baseVersion + " cannot be applied to version " + version);
+        }
+        boolean frameUp = frame.getByte(20) == HealthSnapshotEncoder.STATUS_UP;
+
+        int[] position = {21};
+        int firstName = readVarint(frame, position);
+        int nameCount = readVarint(frame, position);
+        if (kind == HealthSnapshotEncoder.KIND_FULL) {
+            names.clear();
+            statuses = new byte[0];
+        } else if (firstName != names.size()) {
+            throw new IllegalStateException("Name table starts at " + firstName + " but " + names.size() + " names are known");
+        }
+        for (int i = 0; i < nameCount; i++) {
+            int length = readVarint(frame, position);
+            names.add(new String(frame.getBytes(position[0], position[0] + length), StandardCharsets.UTF_8));
+            position[0] += length;
+        }
+        if (statuses.length < names.size()) {
+            statuses = Arrays.copyOf(statuses, names.size());
+        }
+        int entryCount = readVarint(frame, position);
+        for (int i = 0; i < entryCount; i++) {
+            int id = readVarint(frame, position);
+            statuses[id] = frame.getByte(position[0]++);
+        }
+        version = frameVersion;
+        up = frameUp;
+    }
+
+    /**
+     * Returns the version this decoder holds, to be sent as {@code since} on the next request.
+     *
+     * @return the version, or 0 if no frame has been applied.
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Returns whether the endpoint was UP in the last applied frame.
+     *
+     * @return true if UP, false otherwise.
+     */
+    public boolean isUp() {
+        return up;
+    }
+
+    /**
+     * Returns the status of a single check.
+     *
+     * @param name The check id; nested checks are joined with {@code /}.
+     * @return true if UP, false if DOWN, or null if the check is not present.
+     */
+    public Boolean getStatus(String name) {
+        int id = names.indexOf(name);
+        if (id < 0 || statuses[id] == HealthSnapshotEncoder.STATUS_ABSENT) {
+            return null;
+        }
+        return statuses[id] == HealthSnapshotEncoder.STATUS_UP;
+    }
+
+    /**
+     * Returns the status of every present check.
+     *
+     * @return the check ids mapped to true if UP, false if DOWN.
+     */
+    public Map<String, Boolean> getStatuses() {
+        Map<String, Boolean> result = new LinkedHashMap<>();
+        for (int i = 0; i < names.size(); i++) {
+            if (statuses[i] != HealthSnapshotEncoder.STATUS_ABSENT) {
+                result.put(names.get(i), statuses[i] == HealthSnapshotEncoder.STATUS_UP);
+            }
+        }
+        return Collections.unmodifiableMap(result);
+    }
+
+    private static int readVarint(Buffer buffer, int[] position) {
+        int value = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = buffer.getByte(position[0]++);
+            value |= (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return value;
+    }
+}
@@ -0,0 +1,304 @@
+package com.guicedee.health.implementations;
+
+import io.vertx.core.buffer.Buffer;
+import io.vertx.ext.healthchecks.CheckResult;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Encodes the results of a health endpoint into the compact binary snapshot format served to machine consumers.
+ *
+ * <p>Check names are interned: each name is assigned a small integer the first time it is seen and is only sent
+ * again to clients that have not received it yet. The status of every check is kept in a dense array indexed by
+ * that integer, and a new version is assigned whenever any status changes. The last {@link #RETAINED_VERSIONS}
+ * versions are retained so that a client passing the version it holds receives only the checks that changed since.</p>
+ *
+ * <p>Names of removed checks are kept interned while they may still be referenced by a retained version. Once at least
+ * {@link #COMPACTION_THRESHOLD} interned names are absent and they outnumber the present ones, the name table is
+ * compacted to the present names and the retained versions are dropped, so every client receives a full snapshot
+ * carrying the compacted table next. The table therefore stays bounded under churning check names, such as
+ * per-tenant checks.</p>
+ *
+ * <p>Frame layout, big-endian:</p>
+ * <pre>
+ * byte[2]  magic 'G' 'H'
+ * byte     format version (1)
+ * byte     kind: 0 full snapshot, 1 delta
+ * long     version
+ * long     base version the delta applies to (0 for a full snapshot)
+ * byte     overall status: 1 UP, 2 DOWN
+ * varint   id of the first name in the name table
+ * varint   number of names, each a varint length followed by UTF-8 bytes
+ * varint   number of entries, each a varint name id followed by a status byte: 0 removed, 1 UP, 2 DOWN
+ * </pre>
+ *
+ * <p>The encoder is thread-safe; a rendered full snapshot is cached until the version changes.</p>
+ */
+public class HealthSnapshotEncoder {
+    /**
+     * The media type of the binary snapshot format.
+     */
+    public static final String MEDIA_TYPE = "application/vnd.guicedee.health+binary";
+    /**
+     * The number of past versions deltas can be computed against.
+     */
+    public static final int RETAINED_VERSIONS = 16;
+    /**
+     * The minimum number of absent interned names before the name table is compacted.
+     */
+    public static final int COMPACTION_THRESHOLD = 64;
+
+    static final byte MAGIC_0 = 'G';
+    static final byte MAGIC_1 = 'H';
+    static final byte FORMAT_VERSION = 1;
+    static final byte KIND_FULL = 0;
+    static final byte KIND_DELTA = 1;
+    static final byte STATUS_ABSENT = 0;
+    static final byte STATUS_UP = 1;
+    static final byte STATUS_DOWN = 2;
+
+    private final Map<String, Integer> ids = new HashMap<>();
+    private final List<byte[]> names = new ArrayList<>();
+
+    private final long[] versions = new long[RETAINED_VERSIONS];
+    private final byte[][] states = new byte[RETAINED_VERSIONS][];
+    private final int[] nameCounts = new int[RETAINED_VERSIONS];
+    private int head = -1;
+
+    private long version;
+    private byte[] current = new byte[0];
+    private boolean up;
+    private Buffer fullFrame;
+
+    /**
+     * Creates a new snapshot encoder.
+     */
+    public HealthSnapshotEncoder() {
+    }
+
+    /**
+     * Applies an evaluation result and renders the frame for a client holding the given version.
+     *
+     * @param result The evaluation result of the endpoint.
+     * @param since  The version held by the client, or a negative value if it holds none.
+     * @return the encoded frame; its body is null if the client already holds the current version.
+     */
+    public synchronized Encoded encode(CheckResult result, long since) {
+        update(result);
+        if (since == version) {
+            return new Encoded(version, up, null);
+        }
+        int base = since > 0 ? indexOf(since) : -1;
+        if (base < 0) {
+            if (fullFrame == null) {
+                fullFrame = render(KIND_FULL, 0L, new byte[0], 0);
+            }
+            return new Encoded(version, up, fullFrame);
+        }
+        return new Encoded(version, up, render(KIND_DELTA, since, states[base], nameCounts[base]));
+    }
+
+    /**
+     * Returns the current version.
+     *
+     * @return the version, or 0 before the first evaluation.
+     */
+    public synchronized long getVersion() {
+        return version;
+    }
+
+    /**
+     * Applies an evaluation result, assigning a new version if any status changed.
+     *
+     * @param result the evaluation result
+     */
+    private void update(CheckResult result) {
+        byte[] next = new byte[Math.max(current.length, names.size())];
+        next = Arrays.copyOf(flatten(result, null, next), names.size());
+        boolean nextUp = result.getUp();
+        if (version > 0 && nextUp == up && Arrays.equals(next, current)) {
+            return;
+        }
+        version++;
+        int present = 0;
+        for (byte status : next) {
+            if (status != STATUS_ABSENT) {
+                present++;
+            }
+        }
+        int absent = next.length - present;
+        if (absent >= COMPACTION_THRESHOLD && absent > present) {
+            next = compact(next, present);
+        }
+        current = next;
+        up = nextUp;
+        fullFrame = null;
+        head = (head + 1) % RETAINED_VERSIONS;
+        versions[head] = version;
+        states[head] = next;
+        nameCounts[head] = names.size();
+    }
+
+    /**
+     * Drops the interned names absent from a state, renumbering the present ones in their interned order, and drops
+     * the retained versions, which refer to the old numbering.
+     *
+     * @param state   the state to compact
+     * @param present the number of names present in the state
+     * @return the state under the new numbering
+     */
+    private byte[] compact(byte[] state, int present) {
+        String[] byId = new String[names.size()];
+        ids.forEach((name, id) -> byId[id] = name);
+        byte[] compacted = new byte[present];
+        List<byte[]> keptNames = new ArrayList<>(present);
+        ids.clear();
+        for (int id = 0; id < state.length; id++) {
+            if (state[id] != STATUS_ABSENT) {
+                ids.put(byId[id], keptNames.size());
+                compacted[keptNames.size()] = state[id];
+                keptNames.add(names.get(id));
+            }
+        }
+        names.clear();
+        names.addAll(keptNames);
+        Arrays.fill(versions, 0L);
+        Arrays.fill(states, null);
+        Arrays.fill(nameCounts, 0);
+        return compacted;
+    }
+
+    /**
+     * Records the status of every leaf check, interning names as they are first seen.
+     *
+     * @param result the result to flatten
+     * @param prefix the id path of the parent, or null at the root
+     * @param into   the status array to fill
+     * @return the status array, grown if names were interned beyond its length
+     */
+    private byte[] flatten(CheckResult result, String prefix, byte[] into) {
+        List<CheckResult> children = result.getChecks();
+        if (children == null || children.isEmpty()) {
+            if (prefix != null) {
+                int id = intern(prefix);
+                if (id >= into.length) {
+                    into = Arrays.copyOf(into, Math.max(id + 1, into.length * 2));
+                }
+                into[id] = result.getUp() ? STATUS_UP : STATUS_DOWN;
+            }
+            return into;
+        }
+        for (CheckResult child : children) {
+            String id = prefix == null ? child.getId() : prefix + "/" + child.getId();
+            into = flatten(child, id, into);
+        }
+        return into;
+    }
+
+    /**
+     * Returns the id of a check name, assigning the next id on first use.
+     *
+     * @param name the check name
+     * @return the interned id
+     */
+    private int intern(String name) {
+        Integer id = ids.get(name);
+        if (id == null) {
+            id = names.size();
+            ids.put(name, id);
+            names.add(name.getBytes(StandardCharsets.UTF_8));
+        }
+        return id;
+    }
+
+    /**
+     * Returns the ring index of a retained version.
+     *
+     * @param retained the version to look up
+     * @return the ring index, or -1 if the version is no longer retained
+     */
+    private int indexOf(long retained) {
+        if (retained <= 0 || retained > version || version - retained >= RETAINED_VERSIONS) {
+            return -1;
+        }
+        int index = (int) ((head - (version - retained)) % RETAINED_VERSIONS);
+        if (index < 0) {
+            index += RETAINED_VERSIONS;
+        }
+        return versions[index] == retained ? index : -1;
+    }
+
+    /**
+     * Renders a frame of the current state against a base state.
+     *
+     * @param kind        the frame kind
+     * @param baseVersion the version of the base state
+     * @param base        the statuses the client holds
+     * @param baseNames   the number of names the client holds
+     * @return the frame
+     */
+    private Buffer render(byte kind, long baseVersion, byte[] base, int baseNames) {
+        Buffer buffer = Buffer.buffer(32 + (names.size() - baseNames) * 16 + current.length * 2);
+        buffer.appendByte(MAGIC_0)
+                .appendByte(MAGIC_1)
+                .appendByte(FORMAT_VERSION)
+                .appendByte(kind)
+                .appendLong(version)
+                .appendLong(baseVersion)
+                .appendByte(up ? STATUS_UP : STATUS_DOWN);
+        appendVarint(buffer, baseNames);
+        appendVarint(buffer, names.size() - baseNames);
+        for (int i = baseNames; i < names.size(); i++) {
+            byte[] name = names.get(i);
+            appendVarint(buffer, name.length);
+            buffer.appendBytes(name);
+        }
+        int count = 0;
+        for (int i = 0; i < current.length; i++) {
+            if (statusAt(base, i) != current[i]) {
+                count++;
+            }
+        }
+        appendVarint(buffer, count);
+        for (int i = 0; i < current.length; i++) {
+            if (statusAt(base, i) != current[i]) {
+                appendVarint(buffer, i);
+                buffer.appendByte(current[i]);
+            }
+        }
+        return buffer;
+    }
+
+    private static byte statusAt(byte[] statuses, int id) {
+        return id < statuses.length ? statuses[id] : STATUS_ABSENT;
+    }
+
+    /**
+     * Appends an unsigned LEB128 variable-length integer.
+     *
+     * @param buffer the buffer to append to
+     * @param value  the non-negative value
+     */
+    static void appendVarint(Buffer buffer, int value) {
+        while ((value & ~0x7F) != 0) {
+            buffer.appendByte((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        buffer.appendByte((byte) value);
+    }
+
+    /**
+     * An encoded frame.
+     *
+     * @param version The version the frame brings the client to.
+     * @param up      Whether the endpoint is UP.
+     * @param body    The frame, or null if the client already holds this version.
+     */
+    public record Encoded(long version, boolean up, Buffer body) {
+    }
+}
@@ -0,0 +1,326 @@
+package com.guicedee.health.implementations;
+
+import com.guicedee.health.HealthOptions;
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.ext.healthchecks.CheckResult;
+import io.vertx.ext.healthchecks.HealthChecks;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Publishes the health of this process to a fixed-layout memory-mapped file, so that sidecars, node agents and
+ * {@code exec} probes can read it without calling into the JVM.
+ *
+ * <p>On every {@link HealthOptions#snapshotFileInterval()} the shared health monitor timer writes a heartbeat and
+ * dispatches an evaluation of the aggregated, readiness and startup checks to a Vert.x worker, so that a slow check
+ * never blocks the timer. The three evaluations run together through
+ * {@link HealthCheckAdapter#checkUnrecorded(List)}, so each registered {@link HealthCheckAdapter} is run once and its
+ * result shared by every endpoint it belongs to, and the evaluations are neither recorded in the check histories nor
+ * counted towards hysteresis and flap thresholds: those keep counting probes only. The statuses written are therefore
+ * the raw outcomes of the checks, without debouncing. The liveness status is not evaluated: it is taken from the
+ * state the {@link LivenessMonitor} already maintains. A new evaluation is only dispatched once the previous one has
+ * completed.</p>
+ *
+ * <p>The statuses and the ids of the failing aggregated checks are written only when they differ from the last ones
+ * written; the heartbeat is written on every interval so that readers can tell a stale file left by a dead process
+ * from a stable one.</p>
+ *
+ * <p>The file is {@link #FILE_SIZE} bytes, big-endian:</p>
+ * <pre>
+ * offset  size  field
+ *      0     4  magic 'GHSF'
+ *      4     4  layout version
+ *      8     8  sequence, odd while a write is in progress
+ *     16     8  heartbeat, epoch milliseconds of the last interval (outside the sequence)
+ *     24     8  epoch milliseconds of the last change
+ *     32     1  aggregated status (0 unknown, 1 UP, 2 DOWN)
+ *     33     1  liveness status
+ *     34     1  readiness status
+ *     35     1  startup status
+ *     36     4  number of failing checks
+ *     40     4  length of the failing check list in bytes
+ *     44     -  failing check ids, UTF-8, separated by '\n', truncated to whole ids when they do not fit
+ * </pre>
+ *
+ * <p>Changes are published with a sequence lock: the writer makes the sequence odd, writes the fields and makes it
+ * even again. A reader reads the sequence, the fields and the sequence again, and retries when the two differ or
+ * the first is odd. {@link HealthSnapshotFileReader} implements that protocol in Java.</p>
+ */
+public class HealthSnapshotFile {
+    /**
+     * The size of the snapshot file in bytes.
+     */
+    public static final int FILE_SIZE = 4096;
+    /**
+     * The status of a kind whose checks have not been evaluated yet, or of a stopped process.
+     */
+    public static final byte STATUS_UNKNOWN = 0;
+    /**
+     * The status of a kind whose checks are all UP.
+     */
+    public static final byte STATUS_UP = 1;
+    /**
+     * The status of a kind with at least one DOWN check.
+     */
+    public static final byte STATUS_DOWN = 2;
+
+    static final int MAGIC = 0x47485346;
+    static final int LAYOUT_VERSION = 1;
+    static final int OFFSET_MAGIC = 0;
+    static final int OFFSET_VERSION = 4;
+    static final int OFFSET_SEQUENCE = 8;
+    static final int OFFSET_HEARTBEAT = 16;
+    static final int OFFSET_CHANGED_AT = 24;
+    static final int OFFSET_STATUSES = 32;
+    static final int OFFSET_FAILING_COUNT = 36;
+    static final int OFFSET_FAILING_LENGTH = 40;
+    static final int OFFSET_FAILING = 44;
+    static final int FAILING_CAPACITY = FILE_SIZE - OFFSET_FAILING;
+
+    static final VarHandle LONGS = MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.BIG_ENDIAN);
+    static final VarHandle INTS = MethodHandles.byteBufferViewVarHandle(int[].class, ByteOrder.BIG_ENDIAN);
+
+    private final Vertx vertx;
+    private final HealthChecks healthChecks;
+    private final HealthChecks readinessChecks;
+    private final HealthChecks startupChecks;
+    private final BooleanSupplier liveness;
+    private final ScheduledExecutorService executor;
+    private final String path;
+    private final long interval;
+
+    private MappedByteBuffer buffer;
+    private long sequence;
+    private Snapshot written;
+    private volatile boolean evaluating;
+    private volatile ScheduledFuture<?> schedule;
+
+    /**
+     * Creates a new snapshot file writer.
+     *
+     * @param vertx           The Vert.x instance whose workers evaluate the checks.
+     * @param healthChecks    The aggregated health checks.
+     * @param readinessChecks The readiness health checks.
+     * @param startupChecks   The startup health checks.
+     * @param liveness        The pre-computed liveness status, such as {@link LivenessMonitor#isUp()}.
+     * @param executor        The background timer the heartbeat is written on.
+     * @param options         The health options supplying the file path and interval.
+     */
+    public HealthSnapshotFile(Vertx vertx, HealthChecks healthChecks, HealthChecks readinessChecks, HealthChecks startupChecks,
+                              BooleanSupplier liveness, ScheduledExecutorService executor, HealthOptions options) {
+        this.vertx = vertx;
+        this.healthChecks = healthChecks;
+        this.readinessChecks = readinessChecks;
+        this.startupChecks = startupChecks;
+        this.liveness = liveness;
+        this.executor = executor;
+        this.path = options.snapshotFile();
+        this.interval = Math.max(1L, options.snapshotFileInterval());
+    }
+
+    /**
+     * Maps the snapshot file, marks every status unknown and starts publishing. Does nothing if already started or if
+     * no file is configured.
+     *
+     * @throws UncheckedIOException if the file cannot be created or mapped
+     */
+    public synchronized void start() {
+        if (schedule != null || path == null || path.isBlank()) {
+            return;
+        }
+        Path file = Path.of(path);
+        try {
+            Path parent = file.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE)) {
+                buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, FILE_SIZE);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot map the health snapshot file " + file, e);
+        }
+        // Continue the sequence of a previous process so that readers caching it still see a change
+        boolean valid = (int) INTS.getAcquire(buffer, OFFSET_MAGIC) == MAGIC;
+        sequence = valid ? ((long) LONGS.getOpaque(buffer, OFFSET_SEQUENCE) + 1) & ~1L : 0L;
+        LONGS.setOpaque(buffer, OFFSET_SEQUENCE, sequence);
+        INTS.setOpaque(buffer, OFFSET_VERSION, LAYOUT_VERSION);
+        INTS.setRelease(buffer, OFFSET_MAGIC, MAGIC);
+        written = null;
+        write(STATUS_UNKNOWN, STATUS_UNKNOWN, STATUS_UNKNOWN, STATUS_UNKNOWN, List.of());
+        schedule = executor.scheduleWithFixedDelay(this::tick, 0, interval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stops publishing and marks every status unknown, so that readers do not act on the last state of a stopped
+     * process.
+     */
+    public synchronized void stop() {
+        if (schedule == null) {
+            return;
+        }
+        schedule.cancel(false);
+        schedule = null;
+        write(STATUS_UNKNOWN, STATUS_UNKNOWN, STATUS_UNKNOWN, STATUS_UNKNOWN, List.of());
+        buffer.force();
+        buffer = null;
+    }
+
+    /**
+     * Writes the heartbeat and dispatches an evaluation of the checks, unless the previous evaluation is still running.
+     */
+    private void tick() {
+        synchronized (this) {
+            if (buffer == null) {
+                return;
+            }
+            LONGS.setRelease(buffer, OFFSET_HEARTBEAT, System.currentTimeMillis());
+        }
+        if (evaluating) {
+            return;
+        }
+        evaluating = true;
+        vertx.executeBlocking(this::evaluate, false)
+                .compose(evaluation -> evaluation)
+                .onComplete(ar -> evaluating = false);
+    }
+
+    /**
+     * Evaluates the aggregated, readiness and startup checks and publishes the outcome with the pre-computed liveness
+     * status. Runs on a Vert.x worker.
+     *
+     * @return a future completed once the outcome has been published.
+     */
+    private Future<Void> evaluate() {
+        List<Future<CheckResult>> results = HealthCheckAdapter.checkUnrecorded(List.of(healthChecks, readinessChecks, startupChecks));
+        Future<CheckResult> all = results.get(0);
+        Future<CheckResult> readiness = results.get(1);
+        Future<CheckResult> startup = results.get(2);
+        return Future.join(all, readiness, startup).transform(ar -> {
+            List<String> failing = new ArrayList<>();
+            if (all.succeeded() && all.result().getChecks() != null) {
+                for (CheckResult check : all.result().getChecks()) {
+                    if (!check.getUp()) {
+                        failing.add(check.getId());
+                    }
+                }
+            }
+            publish(status(all), liveness.getAsBoolean() ? STATUS_UP : STATUS_DOWN, status(readiness), status(startup),
+                    failing);
+            return Future.succeededFuture();
+        });
+    }
+
+    private static byte status(Future<CheckResult> result) {
+        return result.succeeded() && result.result().getUp() ? STATUS_UP : STATUS_DOWN;
+    }
+
+    /**
+     * Writes a state to the file if it differs from the one last written.
+     *
+     * @param status    The aggregated status.
+     * @param liveness  The liveness status.
+     * @param readiness The readiness status.
+     * @param startup   The startup status.
+     * @param failing   The ids of the failing checks.
+     * @return true if the state changed and was written, false if it was unchanged or the writer is stopped.
+     */
+    public synchronized boolean publish(byte status, byte liveness, byte readiness, byte startup, List<String> failing) {
+        if (schedule == null) {
+            return false;
+        }
+        return write(status, liveness, readiness, startup, failing);
+    }
+
+    private boolean write(byte status, byte liveness, byte readiness, byte startup, List<String> failing) {
+        Snapshot previous = written;
+        if (previous != null && previous.status() == status && previous.liveness() == liveness
+                && previous.readiness() == readiness && previous.startup() == startup
+                && previous.failing().equals(failing)) {
+            return false;
+        }
+        byte[] names = encode(failing);
+        long now = System.currentTimeMillis();
+
+        LONGS.setOpaque(buffer, OFFSET_SEQUENCE, sequence + 1);
+        VarHandle.storeStoreFence();
+        buffer.putLong(OFFSET_CHANGED_AT, now);
+        buffer.put(OFFSET_STATUSES, status);
+        buffer.put(OFFSET_STATUSES + 1, liveness);
+        buffer.put(OFFSET_STATUSES + 2, readiness);
+        buffer.put(OFFSET_STATUSES + 3, startup);
+        buffer.putInt(OFFSET_FAILING_COUNT, failing.size());
+        buffer.putInt(OFFSET_FAILING_LENGTH, names.length);
+        buffer.put(OFFSET_FAILING, names);
+        sequence += 2;
+        LONGS.setRelease(buffer, OFFSET_SEQUENCE, sequence);
+
+        written = new Snapshot(sequence, now, now, status, liveness, readiness, startup, failing.size(), List.copyOf(failing));
+        return true;
+    }
+
+    /**
+     * Encodes the failing check ids, dropping the ids that do not fit in the file.
+     *
+     * @param failing the failing check ids
+     * @return the UTF-8 bytes of the ids separated by new lines
+     */
+    private static byte[] encode(List<String> failing) {
+        StringBuilder joined = new StringBuilder();
+        int length = 0;
+        for (String id : failing) {
+            String entry = joined.isEmpty() ? id : "\n" + id;
+            int entryLength = entry.getBytes(StandardCharsets.UTF_8).length;
+            if (length + entryLength > FAILING_CAPACITY) {
+                break;
+            }
+            joined.append(entry);
+            length += entryLength;
+        }
+        return joined.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Returns the path of the snapshot file.
+     *
+     * @return the configured path, empty when the file is disabled.
+     */
+    public String getPath() {
+        return path;
+    }
+
+    /**
+     * A consistent state read from a snapshot file.
+     *
+     * @param sequence     The even sequence of the state, increasing on every change.
+     * @param changedAt    The epoch milliseconds of the change.
+     * @param heartbeat    The epoch milliseconds of the last interval.
+     * @param status       The aggregated status.
+     * @param liveness     The liveness status.
+     * @param readiness    The readiness status.
+     * @param startup      The startup status.
+     * @param failingCount The number of failing checks, which may exceed the ids that fitted in the file.
+     * @param failing      The ids of the failing checks.
+     */
+    public record Snapshot(long sequence, long changedAt, long heartbeat, byte status, byte liveness, byte readiness,
+                           byte startup, int failingCount, List<String> failing) {
+    }
+}
@@ -0,0 +1,103 @@
+package com.guicedee.health.implementations;
+
+import java.io.IOException;
+import java.lang.invoke.VarHandle;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import static com.guicedee.health.implementations.HealthSnapshotFile.*;
+
+/**
+ * Reads the file published by {@link HealthSnapshotFile}.
+ *
+ * <p>The file is mapped once; every {@link #read()} is a handful of memory reads without system calls, retried
+ * while the writer is changing the file. It can also be run as an {@code exec} probe:</p>
+ * <pre>
+ * java -cp guicedee-health.jar com.guicedee.health.implementations.HealthSnapshotFileReader /run/health ready 5000
+ * </pre>
+ * <p>which prints the status and exits with {@code 0} when the requested kind ({@code health}, {@code live},
+ * {@code ready} or {@code started}) is UP and the heartbeat is younger than the given milliseconds, {@code 1}
+ * otherwise.</p>
+ */
+public class HealthSnapshotFileReader {
+    private final MappedByteBuffer buffer;
+
+    /**
+     * Maps a snapshot file for reading.
+     *
+     * @param path The snapshot file.
+     * @throws IOException if the file cannot be opened or mapped
+     */
+    public HealthSnapshotFileReader(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            this.buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, FILE_SIZE);
+        }
+    }
+
+    /**
+     * Reads a consistent state from the file.
+     *
+     * @return the state.
+     * @throws IllegalStateException if the file is not a snapshot file
+     */
+    public HealthSnapshotFile.Snapshot read() {
+        if ((int) INTS.getAcquire(buffer, OFFSET_MAGIC) != MAGIC || (int) INTS.getOpaque(buffer, OFFSET_VERSION) != LAYOUT_VERSION) {
+            throw new IllegalStateException("Not a health snapshot file of layout version " + LAYOUT_VERSION);
+        }
+        while (true) {
+            long before = (long) LONGS.getAcquire(buffer, OFFSET_SEQUENCE);
+            if ((before & 1L) == 0L) {
+                long changedAt = buffer.getLong(OFFSET_CHANGED_AT);
+                byte status = buffer.get(OFFSET_STATUSES);
+                byte liveness = buffer.get(OFFSET_STATUSES + 1);
+                byte readiness = buffer.get(OFFSET_STATUSES + 2);
+                byte startup = buffer.get(OFFSET_STATUSES + 3);
+                int failingCount = buffer.getInt(OFFSET_FAILING_COUNT);
+                // A torn length is discarded below, but must not make the copy fail first
+                byte[] names = new byte[Math.clamp(buffer.getInt(OFFSET_FAILING_LENGTH), 0, FAILING_CAPACITY)];
+                buffer.get(OFFSET_FAILING, names);
+                VarHandle.loadLoadFence();
+                if ((long) LONGS.getOpaque(buffer, OFFSET_SEQUENCE) == before) {
+                    long heartbeat = (long) LONGS.getAcquire(buffer, OFFSET_HEARTBEAT);
+                    List<String> failing = names.length == 0
+                            ? List.of()
+                            : List.of(new String(names, StandardCharsets.UTF_8).split("\n"));
+                    return new HealthSnapshotFile.Snapshot(before, changedAt, heartbeat, status, liveness, readiness,
+                            startup, failingCount, failing);
+                }
+            }
+            Thread.onSpinWait();
+        }
+    }
+
+    /**
+     * Reads a snapshot file and exits with {@code 0} if the requested kind is UP and the heartbeat is fresh.
+     *
+     * @param args The file path, optionally the kind ({@code health}, {@code live}, {@code ready} or {@code started},
+     *             defaults to {@code health}) and the maximum heartbeat age in milliseconds (defaults to {@code 10000}).
+     * @throws IOException if the file cannot be read
+     */
+    public static void main(String... args) throws IOException {
+        if (args.length == 0) {
+            System.err.println("Usage: HealthSnapshotFileReader <file> [health|live|ready|started] [maxAgeMillis]");
+            System.exit(2);
+        }
+        HealthSnapshotFile.Snapshot snapshot = new HealthSnapshotFileReader(Path.of(args[0])).read();
+        String kind = args.length > 1 ? args[1] : "health";
+        long maxAge = args.length > 2 ? Long.parseLong(args[2]) : 10000L;
+        byte status = switch (kind) {
+            case "live" -> snapshot.liveness();
+            case "ready" -> snapshot.readiness();
+            case "started" -> snapshot.startup();
+            default -> snapshot.status();
+        };
+        boolean fresh = System.currentTimeMillis() - snapshot.heartbeat() <= maxAge;
+        boolean up = status == STATUS_UP && fresh;
+        System.out.println(up ? "UP" : fresh ? (status == STATUS_DOWN ? "DOWN" : "UNKNOWN") : "STALE");
+        System.exit(up ? 0 : 1);
+    }
+}
@@ -0,0 +1,86 @@
+package com.guicedee.health.implementations;
+
+import io.vertx.core.Handler;
+import io.vertx.core.http.HttpHeaders;
+import io.vertx.ext.healthchecks.HealthChecks;
+import io.vertx.ext.web.RoutingContext;
+
+/**
+ * Serves a health endpoint in the binary snapshot format to clients that ask for it.
+ *
+ * <p>The handler is mounted in front of the JSON handler of an endpoint. Requests whose {@code Accept} header
+ * contains {@link HealthSnapshotEncoder#MEDIA_TYPE} are answered with a binary frame; all other requests are passed
+ * on, so JSON stays the default. A client sending {@code ?since=<version>} receives a delta against that version,
+ * a full snapshot if the version is no longer retained, or {@code 304 Not Modified} if nothing changed.</p>
+ *
+ * <p>The status code follows the JSON endpoint: {@code 200} when UP, {@code 503} when DOWN. The version of the
+ * returned state is sent in the {@value #VERSION_HEADER} header.</p>
+ */
+public class HealthSnapshotHandler implements Handler<RoutingContext> {
+    /**
+     * The response header carrying the snapshot version.
+     */
+    public static final String VERSION_HEADER = "X-Health-Version";
+
+    private final HealthChecks healthChecks;
+    private final HealthSnapshotEncoder encoder = new HealthSnapshotEncoder();
+
+    /**
+     * Creates a new snapshot handler.
+     *
+     * @param healthChecks The health checks of the endpoint.
+     */
+    public HealthSnapshotHandler(HealthChecks healthChecks) {
+        this.healthChecks = healthChecks;
+    }
+
+    /**
+     * Answers with a binary frame if requested, otherwise passes the request on.
+     *
+     * @param ctx the routing context
+     */
+    @Override
+    public void handle(RoutingContext ctx) {
+        String accept = ctx.request().getHeader(HttpHeaders.ACCEPT);
+        if (accept == null || !accept.contains(HealthSnapshotEncoder.MEDIA_TYPE)) {
+            ctx.next();
+            return;
+        }
+        long since = -1L;
+        String sinceParam = ctx.request().getParam("since");
+        if (sinceParam != null) {
+            try {
+                since = Long.parseLong(sinceParam);
+            } catch (NumberFormatException e) {
+                ctx.response().setStatusCode(400).end();
+                return;
+            }
+        }
+        long clientVersion = since;
+        healthChecks.checkStatus().onComplete(ar -> {
+            if (ar.failed()) {
+                ctx.response().setStatusCode(500).end();
+                return;
+            }
+            HealthSnapshotEncoder.Encoded encoded = encoder.encode(ar.result(), clientVersion);
+            ctx.response().putHeader(VERSION_HEADER, String.valueOf(encoded.version()));
+            if (encoded.body() == null) {
+                ctx.response().setStatusCode(304).end();
+                return;
+            }
+            ctx.response()
+                    .setStatusCode(encoded.up() ? 200 : 503)
+                    .putHeader(HttpHeaders.CONTENT_TYPE, HealthSnapshotEncoder.MEDIA_TYPE)
+                    .end(encoded.body());
+        });
+    }
+
+    /**
+     * Returns the encoder holding the versions of this endpoint.
+     *
+     * @return the snapshot encoder.
+     */
+    public HealthSnapshotEncoder getEncoder() {
+        return encoder;
+    }
+}
@@ -0,0 +1,222 @@
+package com.guicedee.health.implementations;
+
+import com.guicedee.health.HealthOptions;
+import com.guicedee.health.HealthSpan;
+import com.guicedee.health.HealthSpanExporter;
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.Promise;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.healthchecks.CheckResult;
+import io.vertx.ext.healthchecks.HealthChecks;
+import io.vertx.ext.healthchecks.Status;
+import io.vertx.ext.web.RoutingContext;
+
+import java.time.Instant;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Traces health endpoint evaluations as a span per evaluation with a child span per check.
+ *
+ * <p>A sampled evaluation opens its span for the duration of the synchronous call into the Vert.x
+ * {@link HealthChecks}, which invokes every check procedure before returning. Each {@link HealthCheckAdapter}
+ * invoked during that call opens a child span that ends when its promise completes, including by the Vert.x timeout.
+ * Check spans carry the check name, status, duration, timeout, and the type and message of the failure; the
+ * evaluation span carries the endpoint and the HTTP status.</p>
+ *
+ * <p>Sampling is decided once per evaluation from {@link HealthOptions#tracingSampleRatio()}. Unsampled evaluations
+ * and checks evaluated outside an endpoint, such as by the liveness monitor, are not traced.</p>
+ */
+public class HealthTracer {
+    private static final ThreadLocal<Scope> CURRENT = new ThreadLocal<>();
+    private static final HexFormat HEX = HexFormat.of();
+
+    private final double sampleRatio;
+    private final List<HealthSpanExporter> exporters = new CopyOnWriteArrayList<>();
+
+    /**
+     * Creates a new tracer.
+     *
+     * @param options The health options supplying the sampling ratio.
+     */
+    public HealthTracer(HealthOptions options) {
+        this.sampleRatio = Math.clamp(options.tracingSampleRatio(), 0d, 1d);
+    }
+
+    /**
+     * Adds an exporter the completed spans are sent to.
+     *
+     * @param exporter The exporter.
+     */
+    public void addExporter(HealthSpanExporter exporter) {
+        exporters.add(exporter);
+    }
+
+    /**
+     * Removes an exporter.
+     *
+     * @param exporter The exporter.
+     * @return true if the exporter was registered, false otherwise.
+     */
+    public boolean removeExporter(HealthSpanExporter exporter) {
+        return exporters.remove(exporter);
+    }
+
+    /**
+     * Returns the route handler tracing the evaluation of an endpoint. It must be mounted in front of the handlers
+     * of the endpoint.
+     *
+     * @param endpoint The endpoint path.
+     * @return the tracing route handler.
+     */
+    public Handler<RoutingContext> endpointHandler(String endpoint) {
+        return ctx -> {
+            if (!sample()) {
+                ctx.next();
+                return;
+            }
+            Scope scope = new Scope(endpoint);
+            ctx.addEndHandler(ar -> {
+                int statusCode = ctx.response().getStatusCode();
+                scope.attributes.put("http.response.status_code", statusCode);
+                end(scope, statusCode < 400);
+            });
+            Scope previous = CURRENT.get();
+            CURRENT.set(scope);
+            try {
+                ctx.next();
+            } finally {
+                restore(previous);
+            }
+        };
+    }
+
+    /**
+     * Evaluates a health checks instance outside of a route, tracing it as an evaluation of the given endpoint.
+     *
+     * @param endpoint The endpoint name recorded on the span.
+     * @param checks   The health checks to evaluate.
+     * @return the evaluation result.
+     */
+    public Future<CheckResult> evaluate(String endpoint, HealthChecks checks) {
+        if (!sample()) {
+            return checks.checkStatus();
+        }
+        Scope scope = new Scope(endpoint);
+        Scope previous = CURRENT.get();
+        CURRENT.set(scope);
+        Future<CheckResult> result;
+        try {
+            result = checks.checkStatus();
+        } finally {
+            restore(previous);
+        }
+        return result.andThen(ar -> end(scope, ar.succeeded() && ar.result().getUp()));
+    }
+
+    /**
+     * Opens a check span if an endpoint evaluation is being traced on the calling thread, and closes it when the
+     * check's promise completes.
+     *
+     * @param name          The check name.
+     * @param timeoutMillis The timeout of the check.
+     * @param promise       The promise the check completes.
+     */
+    void traceCheck(String name, long timeoutMillis, Promise<Status> promise) {
+        Scope parent = CURRENT.get();
+        if (parent == null) {
+            return;
+        }
+        Instant startTime = Instant.now();
+        long start = System.nanoTime();
+        promise.future().onComplete(ar -> export(new HealthSpan(parent.traceId, newId(), parent.spanId,
+                "health.check " + name, startTime, System.nanoTime() - start, ar.succeeded() && ar.result().isOk(),
+                checkAttributes(name, timeoutMillis, ar))));
+    }
+
+    private static Map<String, Object> checkAttributes(String name, long timeoutMillis, AsyncResult<Status> result) {
+        Map<String, Object> attributes = new LinkedHashMap<>();
+        attributes.put("health.check.name", name);
+        attributes.put("health.check.timeout_ms", timeoutMillis);
+        if (result.failed()) {
+            Throwable failure = result.cause();
+            attributes.put("health.check.status", "ERROR");
+            attributes.put("health.check.timed_out", failure instanceof TimeoutException || "Timeout".equals(failure.getMessage()));
+            attributes.put("exception.type", failure.getClass().getName());
+            attributes.put("exception.message", String.valueOf(failure.getMessage()));
+            return Collections.unmodifiableMap(attributes);
+        }
+        Status status = result.result();
+        attributes.put("health.check.status", status.isOk() ? "UP" : "DOWN");
+        attributes.put("health.check.timed_out", false);
+        JsonObject data = status.getData();
+        if (data != null) {
+            for (String flag : List.of("cached", "skipped", "debounced", "flapping")) {
+                if (data.getValue(flag) instanceof Boolean value) {
+                    attributes.put("health.check." + flag, value);
+                }
+            }
+            if (data.getValue("error") instanceof String error) {
+                attributes.put("exception.message", error);
+            }
+        }
+        return Collections.unmodifiableMap(attributes);
+    }
+
+    private boolean sample() {
+        return sampleRatio >= 1d || (sampleRatio > 0d && ThreadLocalRandom.current().nextDouble() < sampleRatio);
+    }
+
+    private void end(Scope scope, boolean ok) {
+        scope.attributes.put("health.status", ok ? "UP" : "DOWN");
+        export(new HealthSpan(scope.traceId, scope.spanId, null, "health " + scope.endpoint, scope.startTime,
+                System.nanoTime() - scope.start, ok, Collections.unmodifiableMap(scope.attributes)));
+    }
+
+    private void export(HealthSpan span) {
+        for (HealthSpanExporter exporter : exporters) {
+            try {
+                exporter.export(span);
+            } catch (RuntimeException e) {
+                // An exporter failure must never affect the probe
+            }
+        }
+    }
+
+    private static void restore(Scope previous) {
+        if (previous == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(previous);
+        }
+    }
+
+    private static String newId() {
+        return HEX.toHexDigits(ThreadLocalRandom.current().nextLong());
+    }
+
+    /**
+     * A traced endpoint evaluation in progress.
+     */
+    private static final class Scope {
+        private final String endpoint;
+        private final String traceId = newId() + newId();
+        private final String spanId = newId();
+        private final Instant startTime = Instant.now();
+        private final long start = System.nanoTime();
+        private final Map<String, Object> attributes = new LinkedHashMap<>();
+
+        private Scope(String endpoint) {
+            this.endpoint = endpoint;
+            attributes.put("health.endpoint", endpoint);
+        }
+    }
+}
@@ -0,0 +1,207 @@
+package com.guicedee.health.implementations;
+
+import com.guicedee.health.HealthOptions;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.healthchecks.CheckResult;
+import io.vertx.ext.healthchecks.HealthChecks;
+import io.vertx.ext.healthchecks.Status;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Warms up the health pipeline after startup, so that the first probes do not pay for cold code paths.
+ *
+ * <p>Started at the end of post-startup, it evaluates the aggregated, liveness, readiness and startup checks
+ * {@link HealthOptions#warmupIterations()} times in sequence, which runs every registered {@link HealthCheckAdapter}
+ * and its Guice-resolved check, and renders each result the way the endpoints do: as JSON, and through a private
+ * {@link HealthSnapshotEncoder}. Each iteration is dispatched to a Vert.x worker, so the warm-up never runs on the
+ * thread that started it or on the background health timer.</p>
+ *
+ * <p>Warm-up evaluations are synthetic load: they are made through
+ * {@link HealthCheckAdapter#checkUnrecorded(List)}, so they are neither recorded in the check history nor
+ * counted towards hysteresis and flap thresholds, and are never shared with real probes running meanwhile.</p>
+ *
+ * <p>Registered as the {@code guicedee-warmup} readiness check, it reports DOWN until the last iteration completes.
+ * The evaluation and serialization time of each iteration is kept so that the first, cold iteration can be compared
+ * with the last, warm one.</p>
+ */
+public class HealthWarmup implements Handler<Promise<Status>> {
+    private final List<HealthChecks> endpoints;
+    private final Vertx vertx;
+    private final int iterations;
+    private final HealthSnapshotEncoder encoder = new HealthSnapshotEncoder();
+    private final List<Iteration> timings = new CopyOnWriteArrayList<>();
+
+    private volatile boolean complete;
+    private volatile boolean stopped;
+    private Future<Void> running;
+
+    /**
+     * Creates a new warm-up.
+     *
+     * @param healthChecks    The aggregated health checks.
+     * @param livenessChecks  The liveness health checks.
+     * @param readinessChecks The readiness health checks.
+     * @param startupChecks   The startup health checks.
+     * @param vertx           The Vert.x instance whose workers run the iterations.
+     * @param options         The health options supplying the number of iterations.
+     */
+    public HealthWarmup(HealthChecks healthChecks, HealthChecks livenessChecks, HealthChecks readinessChecks,
+                        HealthChecks startupChecks, Vertx vertx, HealthOptions options) {
+        this.endpoints = List.of(healthChecks, livenessChecks, readinessChecks, startupChecks);
+        this.vertx = vertx;
+        this.iterations = Math.max(0, options.warmupIterations());
+        this.complete = iterations == 0;
+    }
+
+    /**
+     * Starts the warm-up. Calling this more than once returns the warm-up already started.
+     *
+     * @return a future completed when every iteration has run, or failed if the warm-up was stopped first.
+     */
+    public synchronized Future<Void> start() {
+        if (running == null) {
+            Promise<Void> done = Promise.promise();
+            running = done.future().onSuccess(v -> complete = true);
+            dispatch(1, done);
+        }
+        return running;
+    }
+
+    /**
+     * Stops the warm-up. No further iteration is started; an iteration in progress is left to finish, and the
+     * warm-up is not reported complete.
+     */
+    public void stop() {
+        stopped = true;
+    }
+
+    /**
+     * Runs one iteration and dispatches the next one, or completes the warm-up after the last.
+     *
+     * @param index the 1-based index of the iteration
+     * @param done  the promise completed after the last iteration
+     */
+    private void iterate(int index, Promise<Void> done) {
+        if (stopped) {
+            done.tryFail(new IllegalStateException("Warm-up stopped"));
+            return;
+        }
+        if (index > iterations) {
+            done.tryComplete();
+            return;
+        }
+        long start = System.nanoTime();
+        List<Future<CheckResult>> results = HealthCheckAdapter.checkUnrecorded(endpoints);
+        Future.join(results).onComplete(ar -> {
+            long evaluated = System.nanoTime();
+            for (Future<CheckResult> result : results) {
+                if (result.succeeded()) {
+                    result.result().toJson().encode();
+                    encoder.encode(result.result(), -1L);
+                }
+            }
+            timings.add(new Iteration(index, evaluated - start, System.nanoTime() - evaluated));
+            dispatch(index + 1, done);
+        });
+    }
+
+    /**
+     * Dispatches an iteration to a Vert.x worker.
+     *
+     * @param index the 1-based index of the iteration
+     * @param done  the promise completed after the last iteration
+     */
+    private void dispatch(int index, Promise<Void> done) {
+        try {
+            vertx.executeBlocking(() -> {
+                iterate(index, done);
+                return null;
+            }, false).onFailure(done::tryFail);
+        } catch (RejectedExecutionException e) {
+            // Vert.x was closed, stop warming up
+            done.tryFail(e);
+        }
+    }
+
+    /**
+     * Reports DOWN until the warm-up has completed, with the timings of the iterations run so far.
+     *
+     * @param promise the promise to complete
+     */
+    @Override
+    public void handle(Promise<Status> promise) {
+        JsonObject data = toJson();
+        promise.tryComplete(complete ? Status.OK(data) : Status.KO(data));
+    }
+
+    /**
+     * Renders the progress and timings of the warm-up.
+     *
+     * @return the warm-up summary.
+     */
+    public JsonObject toJson() {
+        List<Iteration> snapshot = List.copyOf(timings);
+        JsonArray runs = new JsonArray();
+        for (Iteration iteration : snapshot) {
+            runs.add(new JsonObject()
+                    .put("iteration", iteration.index())
+                    .put("evaluationMicros", TimeUnit.NANOSECONDS.toMicros(iteration.evaluationNanos()))
+                    .put("serializationMicros", TimeUnit.NANOSECONDS.toMicros(iteration.serializationNanos())));
+        }
+        JsonObject json = new JsonObject()
+                .put("complete", complete)
+                .put("iterations", iterations)
+                .put("completed", snapshot.size())
+                .put("timings", runs);
+        if (!snapshot.isEmpty()) {
+            json.put("firstMicros", TimeUnit.NANOSECONDS.toMicros(snapshot.getFirst().totalNanos()))
+                    .put("lastMicros", TimeUnit.NANOSECONDS.toMicros(snapshot.getLast().totalNanos()));
+        }
+        return json;
+    }
+
+    /**
+     * Returns whether every iteration has run.
+     *
+     * @return true if the warm-up is complete or disabled, false otherwise.
+     */
+    public boolean isComplete() {
+        return complete;
+    }
+
+    /**
+     * Returns the timings of the iterations run so far, in order.
+     *
+     * @return the iteration timings.
+     */
+    public List<Iteration> getIterations() {
+        return List.copyOf(timings);
+    }
+
+    /**
+     * The timings of one warm-up iteration.
+     *
+     * @param index              The 1-based index of the iteration.
+     * @param evaluationNanos    The time spent evaluating the four endpoints.
+     * @param serializationNanos The time spent rendering their results.
+     */
+    public record Iteration(int index, long evaluationNanos, long serializationNanos) {
+        /**
+         * Returns the total time of the iteration.
+         *
+         * @return the evaluation and serialization time in nanoseconds.
+         */
+        public long totalNanos() {
+            return evaluationNanos + serializationNanos;
+        }
+    }
+}
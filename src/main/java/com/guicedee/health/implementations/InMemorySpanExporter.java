@@ -0,0 +1,84 @@
+package com.guicedee.health.implementations;
+
+import com.guicedee.health.HealthSpan;
+import com.guicedee.health.HealthSpanExporter;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Keeps the most recent health spans in memory, for tests and for inspecting slow evaluations without a tracing
+ * backend.
+ * <pre>{@code
+ * InMemorySpanExporter exporter = new InMemorySpanExporter(256);
+ * HealthPreStartup.getHealthTracer().addExporter(exporter);
+ * }</pre>
+ */
+public class InMemorySpanExporter implements HealthSpanExporter {
+    private final int capacity;
+    private final Deque<HealthSpan> spans;
+
+    /**
+     * Creates an exporter keeping up to 1024 spans.
+     */
+    public InMemorySpanExporter() {
+        this(1024);
+    }
+
+    /**
+     * Creates an exporter keeping up to the given number of spans; the oldest are dropped first.
+     *
+     * @param capacity The maximum number of spans kept.
+     */
+    public InMemorySpanExporter(int capacity) {
+        this.capacity = Math.max(1, capacity);
+        this.spans = new ArrayDeque<>(Math.min(this.capacity, 1024));
+    }
+
+    /**
+     * Retains a span, dropping the oldest one when the capacity is reached.
+     *
+     * @param span the completed span
+     */
+    @Override
+    public synchronized void export(HealthSpan span) {
+        if (spans.size() == capacity) {
+            spans.removeFirst();
+        }
+        spans.addLast(span);
+    }
+
+    /**
+     * Returns the retained spans in the order they completed.
+     *
+     * @return a snapshot of the spans.
+     */
+    public synchronized List<HealthSpan> getSpans() {
+        return new ArrayList<>(spans);
+    }
+
+    /**
+     * Returns the retained spans of a trace in the order they completed.
+     *
+     * @param traceId The trace id.
+     * @return a snapshot of the spans of the trace.
+     */
+    public synchronized List<HealthSpan> getSpans(String traceId) {
+        List<HealthSpan> result = new ArrayList<>();
+        for (HealthSpan span : spans) {
+            if (span.traceId().equals(traceId)) {
+                result.add(span);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Drops all retained spans.
+     */
+    public synchronized void clear() {
+        spans.clear();
+    }
+}
@@ -0,0 +1,384 @@
+package com.guicedee.health.implementations;
+
+import com.guicedee.health.HealthOptions;
+import io.vertx.core.AbstractVerticle;
+import io.vertx.core.Context;
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpHeaders;
+import io.vertx.core.internal.VertxInternal;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.healthchecks.CheckResult;
+import io.vertx.ext.healthchecks.HealthChecks;
+import io.vertx.ext.web.RoutingContext;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Maintains a pre-computed liveness state so that the liveness endpoint never runs user code on the probe path.
+ *
+ * <p>The monitor runs on the shared health monitor timer and tracks:</p>
+ * <ul>
+ *     <li>Event-loop lag: a heartbeat is posted to each event loop and the time until it runs is measured.</li>
+ *     <li>Blocked event loops: a heartbeat that has not run within {@link HealthOptions#eventLoopBlockedThreshold()}
+ *     marks its event loop as blocked.</li>
+ *     <li>Deadlocked threads: detected through {@link ThreadMXBean#findDeadlockedThreads()}.</li>
+ *     <li>User {@code @Liveness} checks: evaluated on a Vert.x worker and cached when the fast path is enabled. An
+ *     evaluation still in flight after the check timeout reports DOWN instead of the last cached result, and the
+ *     checks report DOWN until their first evaluation has completed.</li>
+ * </ul>
+ * <p>Each tick renders the response once; as a route handler the monitor only writes out the last rendered buffer.
+ * The monitor thread never runs user code, so a hung check cannot stop the heartbeat or the deadlock sampling.</p>
+ */
+public class LivenessMonitor implements Handler<RoutingContext> {
+    /**
+     * The content type of the rendered response.
+     */
+    private static final String CONTENT_TYPE = "application/json;charset=UTF-8";
+    private static final System.Logger LOG = System.getLogger(LivenessMonitor.class.getName());
+
+    private final Vertx vertx;
+    private final HealthChecks userChecks;
+    private final ScheduledExecutorService executor;
+    private final boolean evaluateUserChecks;
+    private final long monitorIntervalMillis;
+    private final long blockedThresholdNanos;
+    private final long checkIntervalNanos;
+    private final long userCheckTimeoutNanos;
+    private final ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+
+    /**
+     * One context per monitored event loop, populated as the heartbeat verticles deploy.
+     */
+    private final AtomicReferenceArray<Context> contexts;
+    /**
+     * Pre-allocated heartbeat handlers, one per monitored event loop.
+     */
+    private final Handler<Void>[] heartbeats;
+    /**
+     * The {@link System#nanoTime()} at which the last heartbeat was posted to each event loop.
+     */
+    private final AtomicLongArray postedAt;
+    /**
+     * The {@link System#nanoTime()} at which the last heartbeat ran on each event loop.
+     */
+    private final AtomicLongArray completedAt;
+    private final Queue<String> deploymentIds = new ConcurrentLinkedQueue<>();
+
+    private volatile long maxEventLoopLagNanos;
+    private volatile int blockedEventLoops;
+    private volatile int deadlockedThreads;
+    private volatile CheckResult userResult;
+    private volatile Throwable userFailure;
+    private volatile boolean userCheckInFlight;
+    private volatile long userCheckStartedNanos;
+    private volatile Rendered rendered;
+
+    /**
+     * Only accessed from the monitor thread.
+     */
+    private long lastCheckNanos;
+    private String lastFailure;
+    private ScheduledFuture<?> schedule;
+
+    /**
+     * Creates a new liveness monitor.
+     *
+     * @param vertx            The Vert.x instance whose event loops are monitored.
+     * @param userChecks       The user liveness checks to evaluate in the background.
+     * @param userCheckTimeout The time in milliseconds after which a user check evaluation still in flight reports
+     *                         DOWN.
+     * @param executor         The timer the monitor runs on.
+     * @param options          The health options supplying intervals and thresholds.
+     */
+    @SuppressWarnings("unchecked")
+    public LivenessMonitor(Vertx vertx, HealthChecks userChecks, long userCheckTimeout, ScheduledExecutorService executor,
+                           HealthOptions options) {
+        this.vertx = vertx;
+        this.userChecks = userChecks;
+        this.executor = executor;
+        this.evaluateUserChecks = options.livenessFastPath();
+        this.monitorIntervalMillis = Math.max(1L, options.livenessMonitorInterval());
+        this.blockedThresholdNanos = TimeUnit.MILLISECONDS.toNanos(options.eventLoopBlockedThreshold());
+        this.checkIntervalNanos = TimeUnit.MILLISECONDS.toNanos(options.livenessCheckInterval());
+        this.userCheckTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(1L, userCheckTimeout));
+
+        int loops = eventLoopPoolSize(vertx);
+        this.contexts = new AtomicReferenceArray<>(loops);
+        this.heartbeats = new Handler[loops];
+        this.postedAt = new AtomicLongArray(loops);
+        this.completedAt = new AtomicLongArray(loops);
+        for (int i = 0; i < loops; i++) {
+            int index = i;
+            heartbeats[i] = v -> completedAt.set(index, System.nanoTime());
+        }
+        this.rendered = render(System.nanoTime());
+    }
+
+    /**
+     * Returns the number of event loops of a Vert.x instance, as configured by its {@code VertxOptions}.
+     *
+     * @param vertx the Vert.x instance
+     * @return the size of its event loop pool.
+     */
+    static int eventLoopPoolSize(Vertx vertx) {
+        int loops = 0;
+        for (Object ignored : ((VertxInternal) vertx).nettyEventLoopGroup()) {
+            loops++;
+        }
+        return Math.max(1, loops);
+    }
+
+    /**
+     * Deploys the heartbeat verticles and starts sampling. Calling this more than once has no effect.
+     */
+    public synchronized void start() {
+        if (schedule != null) {
+            return;
+        }
+        for (int i = 0; i < heartbeats.length; i++) {
+            vertx.deployVerticle(new Heartbeat(i)).onSuccess(deploymentIds::add);
+        }
+        lastCheckNanos = System.nanoTime() - checkIntervalNanos;
+        schedule = executor.scheduleAtFixedRate(this::tick, 0, monitorIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stops sampling and undeploys the heartbeat verticles.
+     */
+    public synchronized void stop() {
+        if (schedule == null) {
+            return;
+        }
+        schedule.cancel(false);
+        schedule = null;
+        String id;
+        while ((id = deploymentIds.poll()) != null) {
+            vertx.undeploy(id);
+        }
+    }
+
+    /**
+     * Samples the heartbeats, runs the periodic checks and renders the response.
+     */
+    private void tick() {
+        try {
+            long now = System.nanoTime();
+            long maxLag = 0;
+            int blocked = 0;
+            for (int i = 0; i < heartbeats.length; i++) {
+                Context context = contexts.get(i);
+                if (context == null) {
+                    continue;
+                }
+                long posted = postedAt.get(i);
+                long completed = completedAt.get(i);
+                long lag;
+                if (completed - posted >= 0) {
+                    lag = completed - posted;
+                    postedAt.set(i, now);
+                    context.runOnContext(heartbeats[i]);
+                } else {
+                    lag = now - posted;
+                    if (lag > blockedThresholdNanos) {
+                        blocked++;
+                    }
+                }
+                maxLag = Math.max(maxLag, lag);
+            }
+            maxEventLoopLagNanos = maxLag;
+            blockedEventLoops = blocked;
+
+            if (now - lastCheckNanos >= checkIntervalNanos) {
+                lastCheckNanos = now;
+                long[] deadlocked = threadMXBean.findDeadlockedThreads();
+                deadlockedThreads = deadlocked == null ? 0 : deadlocked.length;
+                if (evaluateUserChecks && !userCheckInFlight) {
+                    evaluateUserChecks(now);
+                }
+            }
+            rendered = render(now);
+            lastFailure = null;
+        } catch (RuntimeException e) {
+            // Never let a failed sample cancel the schedule, but report each distinct failure once
+            String failure = e.getClass().getName() + ": " + e.getMessage();
+            LOG.log(failure.equals(lastFailure) ? System.Logger.Level.DEBUG : System.Logger.Level.WARNING,
+                    "Liveness monitor sample failed", e);
+            lastFailure = failure;
+        }
+    }
+
+    /**
+     * Dispatches an evaluation of the user liveness checks to a Vert.x worker, so that a blocking check never runs
+     * on the monitor thread. A new evaluation is only dispatched once the previous one has completed.
+     *
+     * @param now the {@link System#nanoTime()} of the current tick
+     */
+    private void evaluateUserChecks(long now) {
+        userCheckInFlight = true;
+        userCheckStartedNanos = now;
+        vertx.executeBlocking(() -> {
+            userChecks.checkStatus().onComplete(ar -> {
+                userResult = ar.succeeded() ? ar.result() : null;
+                userFailure = ar.failed() ? ar.cause() : null;
+                userCheckInFlight = false;
+            });
+            return null;
+        }, false).onFailure(failure -> {
+            userResult = null;
+            userFailure = failure;
+            userCheckInFlight = false;
+        });
+    }
+
+    /**
+     * Renders the current state into a response body in the Vert.x health check format.
+     *
+     * @param now the {@link System#nanoTime()} of the current tick
+     * @return The rendered response.
+     */
+    private Rendered render(long now) {
+        JsonArray checks = new JsonArray();
+        boolean loopsUp = blockedEventLoops == 0;
+        checks.add(new JsonObject()
+                .put("id", "guicedee-event-loop")
+                .put("status", loopsUp ? "UP" : "DOWN")
+                .put("data", new JsonObject()
+                        .put("maxLagMs", TimeUnit.NANOSECONDS.toMillis(maxEventLoopLagNanos))
+                        .put("blockedEventLoops", blockedEventLoops)));
+        boolean threadsUp = deadlockedThreads == 0;
+        checks.add(new JsonObject()
+                .put("id", "guicedee-deadlock")
+                .put("status", threadsUp ? "UP" : "DOWN")
+                .put("data", new JsonObject().put("deadlockedThreads", deadlockedThreads)));
+        boolean up = loopsUp && threadsUp;
+
+        if (evaluateUserChecks) {
+            CheckResult result = userResult;
+            Throwable failure = userFailure;
+            long inFlightNanos = now - userCheckStartedNanos;
+            if (userCheckInFlight && inFlightNanos > userCheckTimeoutNanos) {
+                up = false;
+                checks.add(new JsonObject()
+                        .put("id", "guicedee-liveness-checks")
+                        .put("status", "DOWN")
+                        .put("data", new JsonObject()
+                                .put("error", "Liveness checks still running")
+                                .put("runningMs", TimeUnit.NANOSECONDS.toMillis(inFlightNanos))));
+            } else if (result != null) {
+                up &= result.getUp();
+                JsonArray userJson = result.toJson().getJsonArray("checks");
+                if (userJson != null) {
+                    userJson.forEach(checks::add);
+                }
+            } else if (failure != null) {
+                up = false;
+                checks.add(new JsonObject()
+                        .put("id", "guicedee-liveness-checks")
+                        .put("status", "DOWN")
+                        .put("data", new JsonObject().put("error", String.valueOf(failure.getMessage()))));
+            } else {
+                // Not evaluated yet, the user checks may be failing
+                up = false;
+                checks.add(new JsonObject()
+                        .put("id", "guicedee-liveness-checks")
+                        .put("status", "DOWN")
+                        .put("data", new JsonObject().put("error", "Liveness checks not evaluated yet")));
+            }
+        }
+
+        String status = up ? "UP" : "DOWN";
+        JsonObject body = new JsonObject()
+                .put("status", status)
+                .put("outcome", status)
+                .put("checks", checks);
+        return new Rendered(up ? 200 : 503, body.toBuffer());
+    }
+
+    /**
+     * Writes the last rendered liveness state to the response.
+     *
+     * @param ctx the routing context
+     */
+    @Override
+    public void handle(RoutingContext ctx) {
+        Rendered current = rendered;
+        ctx.response()
+                .setStatusCode(current.statusCode())
+                .putHeader(HttpHeaders.CONTENT_TYPE, CONTENT_TYPE)
+                .end(current.body());
+    }
+
+    /**
+     * Returns whether the last rendered liveness state is UP.
+     *
+     * @return true if live, false otherwise.
+     */
+    public boolean isUp() {
+        return rendered.statusCode() == 200;
+    }
+
+    /**
+     * Returns the largest heartbeat lag observed across the monitored event loops in the last sample.
+     *
+     * @return the maximum event loop lag in nanoseconds.
+     */
+    public long getMaxEventLoopLagNanos() {
+        return maxEventLoopLagNanos;
+    }
+
+    /**
+     * Returns the number of event loops whose heartbeat is overdue by more than the blocked threshold.
+     *
+     * @return the number of blocked event loops.
+     */
+    public int getBlockedEventLoops() {
+        return blockedEventLoops;
+    }
+
+    /**
+     * Returns the number of deadlocked threads found by the last deadlock check.
+     *
+     * @return the number of deadlocked threads.
+     */
+    public int getDeadlockedThreads() {
+        return deadlockedThreads;
+    }
+
+    /**
+     * A rendered liveness response.
+     *
+     * @param statusCode The HTTP status code.
+     * @param body       The response body.
+     */
+    private record Rendered(int statusCode, Buffer body) {
+    }
+
+    /**
+     * Captures an event loop context for the heartbeat at the given index.
+     *
+     * <p>Each deployment is assigned the next event loop in turn, so deploying one per event loop covers the pool.</p>
+     */
+    private final class Heartbeat extends AbstractVerticle {
+        private final int index;
+
+        private Heartbeat(int index) {
+            this.index = index;
+        }
+
+        @Override
+        public void start() {
+            contexts.set(index, context);
+        }
+    }
+}
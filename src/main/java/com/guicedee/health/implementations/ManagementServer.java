@@ -0,0 +1,167 @@
+package com.guicedee.health.implementations;
+
+import com.guicedee.health.HealthOptions;
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.core.VertxOptions;
+import io.vertx.core.WorkerExecutor;
+import io.vertx.core.http.HttpServer;
+import io.vertx.core.http.HttpServerOptions;
+import io.vertx.core.net.JksOptions;
+import io.vertx.core.net.PfxOptions;
+import io.vertx.ext.web.Router;
+import io.vertx.ext.web.RoutingContext;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Serves the health endpoints from a dedicated HTTP server, isolated from the application's HTTP traffic.
+ *
+ * <p>The server accepts connections on its own Vert.x instance with a single event loop, so probes are accepted and
+ * answered even when the event loops of the application server are saturated. The requests are not handled on that
+ * event loop: each one is dispatched to the {@value #WORKER_POOL} worker pool of the application's Vert.x instance,
+ * which owns the health checks, so blocking checks run in parallel and a slow check never holds up the other
+ * management requests. The pool has a thread per allowed connection. The fast-path liveness endpoint, which runs no
+ * checks, is answered on the event loop directly so that it never waits for a worker.</p>
+ *
+ * <p>Connections beyond {@link HealthOptions#managementMaxConnections()} are closed as soon as they are accepted, and
+ * TLS is enabled when {@link HealthOptions#managementKeyStore()} is set.</p>
+ */
+public class ManagementServer {
+    /**
+     * The name of the worker pool the management requests are handled on.
+     */
+    public static final String WORKER_POOL = "guicedee-health-management";
+
+    private final Vertx applicationVertx;
+    private final HealthOptions options;
+    private final Consumer<Router> routes;
+    private final AtomicInteger connections = new AtomicInteger();
+
+    private volatile Vertx vertx;
+    private volatile WorkerExecutor workers;
+    private volatile HttpServer server;
+
+    /**
+     * Creates a new management server.
+     *
+     * @param applicationVertx The application's Vert.x instance, owning the health checks and the worker pool the
+     *                         requests are handled on.
+     * @param options          The health options supplying the port, host, connection limit and TLS settings.
+     * @param routes           Mounts the endpoints on the router of the server.
+     */
+    public ManagementServer(Vertx applicationVertx, HealthOptions options, Consumer<Router> routes) {
+        this.applicationVertx = applicationVertx;
+        this.options = options;
+        this.routes = routes;
+    }
+
+    /**
+     * Starts the server. Has no effect if it is already started.
+     *
+     * @return a future completed with the listening server.
+     */
+    public synchronized Future<HttpServer> start() {
+        if (vertx != null) {
+            return server != null ? Future.succeededFuture(server) : Future.failedFuture("Management server is starting");
+        }
+        Vertx managementVertx = Vertx.vertx(new VertxOptions()
+                .setEventLoopPoolSize(1)
+                .setWorkerPoolSize(1)
+                .setInternalBlockingPoolSize(1));
+        vertx = managementVertx;
+        int maxConnections = options.managementMaxConnections();
+        WorkerExecutor requestWorkers = applicationVertx.createSharedWorkerExecutor(WORKER_POOL,
+                maxConnections > 0 ? maxConnections : VertxOptions.DEFAULT_WORKER_POOL_SIZE);
+        workers = requestWorkers;
+        Router router = Router.router(managementVertx);
+        router.route().handler(ctx -> dispatch(ctx, requestWorkers));
+        routes.accept(router);
+        return managementVertx.createHttpServer(serverOptions())
+                .connectionHandler(connection -> {
+                    if (maxConnections > 0 && connections.incrementAndGet() > maxConnections) {
+                        connections.decrementAndGet();
+                        connection.close();
+                        return;
+                    }
+                    connection.closeHandler(v -> connections.decrementAndGet());
+                })
+                .requestHandler(router)
+                .listen()
+                .onSuccess(listening -> server = listening)
+                .onFailure(failure -> stop());
+    }
+
+    /**
+     * Continues the routing of a request on a worker of the application's Vert.x instance, unless it is for the
+     * fast-path liveness endpoint.
+     *
+     * @param ctx            the routing context
+     * @param requestWorkers the worker pool the request is handled on
+     */
+    private void dispatch(RoutingContext ctx, WorkerExecutor requestWorkers) {
+        if (options.livenessFastPath() && options.livenessPath().equals(ctx.normalizedPath())) {
+            ctx.next();
+            return;
+        }
+        requestWorkers.executeBlocking(() -> {
+            ctx.next();
+            return null;
+        }, false).onFailure(ctx::fail);
+    }
+
+    /**
+     * Stops the server, its Vert.x instance and its worker pool.
+     *
+     * @return a future completed when the server is closed.
+     */
+    public synchronized Future<Void> stop() {
+        Vertx managementVertx = vertx;
+        WorkerExecutor requestWorkers = workers;
+        vertx = null;
+        workers = null;
+        server = null;
+        if (requestWorkers != null) {
+            requestWorkers.close();
+        }
+        return managementVertx == null ? Future.succeededFuture() : managementVertx.close();
+    }
+
+    /**
+     * Returns the port the server listens on.
+     *
+     * @return the port, or -1 if the server is not listening.
+     */
+    public int getActualPort() {
+        HttpServer listening = server;
+        return listening == null ? -1 : listening.actualPort();
+    }
+
+    /**
+     * Returns the number of open connections.
+     *
+     * @return the connection count.
+     */
+    public int getConnections() {
+        return connections.get();
+    }
+
+    private HttpServerOptions serverOptions() {
+        HttpServerOptions serverOptions = new HttpServerOptions()
+                .setHost(options.managementHost())
+                .setPort(options.managementPort());
+        String keyStore = options.managementKeyStore();
+        if (keyStore != null && !keyStore.isBlank()) {
+            String password = options.managementKeyStorePassword();
+            serverOptions.setSsl(true);
+            if (keyStore.toLowerCase(Locale.ROOT).endsWith(".jks")) {
+                serverOptions.setKeyCertOptions(new JksOptions().setPath(keyStore).setPassword(password));
+            } else {
+                serverOptions.setKeyCertOptions(new PfxOptions().setPath(keyStore).setPassword(password));
+            }
+        }
+        return serverOptions;
+    }
+}
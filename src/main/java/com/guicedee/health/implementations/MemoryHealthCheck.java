@@ -0,0 +1,32 @@
+package com.guicedee.health.implementations;
+
+import org.eclipse.microprofile.health.HealthCheck;
+import org.eclipse.microprofile.health.HealthCheckResponse;
+import org.eclipse.microprofile.health.Readiness;
+
+/**
+ * Reports readiness DOWN when heap usage exceeds {@link com.guicedee.health.HealthOptions#heapUsageThreshold()} or
+ * the time spent in garbage collection exceeds {@link com.guicedee.health.HealthOptions#gcTimeThreshold()}.
+ */
+@Readiness
+public class MemoryHealthCheck implements HealthCheck {
+    /**
+     * Creates a new memory health check.
+     */
+    public MemoryHealthCheck() {
+    }
+
+    @Override
+    public HealthCheckResponse call() {
+        ResourceSampler sampler = HealthPreStartup.getResourceSampler();
+        double heap = sampler.getHeapUsage();
+        double gc = sampler.getGcTimeFraction();
+        boolean heapUp = sampler.getHeapUsageThreshold() <= 0 || heap <= sampler.getHeapUsageThreshold();
+        boolean gcUp = sampler.getGcTimeThreshold() <= 0 || gc <= sampler.getGcTimeThreshold();
+        return HealthCheckResponse.named("guicedee-memory")
+                .status(heapUp && gcUp)
+                .withData("heapUsagePercent", Math.round(heap * 100))
+                .withData("gcTimePercent", Math.round(gc * 100))
+                .build();
+    }
+}
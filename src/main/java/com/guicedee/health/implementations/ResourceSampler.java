@@ -0,0 +1,510 @@
+package com.guicedee.health.implementations;
+
+import com.guicedee.health.HealthOptions;
+import com.sun.management.HotSpotDiagnosticMXBean;
+import com.sun.management.UnixOperatingSystemMXBean;
+import io.vertx.core.Vertx;
+
+import java.lang.management.BufferPoolMXBean;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.MemoryUsage;
+import java.lang.management.OperatingSystemMXBean;
+import java.lang.management.ThreadMXBean;
+import java.nio.file.FileStore;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Periodically samples process capacity for the built-in readiness checks.
+ *
+ * <p>Samples are taken on the shared health monitor timer and published through volatile fields with a single
+ * writer, so reading them from the probe path is a plain volatile read with no locking. Disk space is the exception:
+ * file store queries can hang on a network mount, so they run on a Vert.x worker, one sample at a time, and never
+ * hold up the timer the liveness heartbeat runs on. The sampler tracks:</p>
+ * <ul>
+ *     <li>Worker-pool latency: the time a no-op blocking task waits for a Vert.x worker thread.</li>
+ *     <li>Heap usage: used heap as a fraction of the maximum heap.</li>
+ *     <li>GC pressure: the smoothed fraction of wall-clock time spent in garbage collection.</li>
+ *     <li>Direct memory: direct buffer pool usage as a fraction of the maximum direct memory.</li>
+ *     <li>Mapped memory: the bytes and number of memory-mapped buffers.</li>
+ *     <li>Disk space: the usable and total space of the file store of each of {@link HealthOptions#diskSpacePaths()},
+ *     published as one immutable map so that a probe never sees paths from different samples.</li>
+ *     <li>File descriptors: the open and maximum file descriptors of the process, on Unix.</li>
+ *     <li>Threads: the live and peak thread counts.</li>
+ * </ul>
+ * <p>Thresholds are read once from {@link HealthOptions} when the sampler is created.</p>
+ */
+public class ResourceSampler {
+    /**
+     * The weight given to the newest GC time sample when smoothing.
+     */
+    private static final double GC_SMOOTHING = 0.2d;
+    private static final System.Logger LOG = System.getLogger(ResourceSampler.class.getName());
+
+    private final Vertx vertx;
+    private final ScheduledExecutorService executor;
+    private final long intervalMillis;
+    private final MemoryMXBean memoryMXBean = ManagementFactory.getMemoryMXBean();
+    private final List<GarbageCollectorMXBean> collectors = ManagementFactory.getGarbageCollectorMXBeans();
+    private final BufferPoolMXBean directPool;
+    private final BufferPoolMXBean mappedPool;
+    private final long maxDirectMemory;
+    private final OperatingSystemMXBean operatingSystemMXBean = ManagementFactory.getOperatingSystemMXBean();
+    private final ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+    private final List<Path> diskSpacePaths;
+    /**
+     * The pre-allocated worker-pool probe task.
+     */
+    private final Callable<Void> workerProbe = () -> {
+        workerStartedAt = System.nanoTime();
+        return null;
+    };
+
+    private final long eventLoopLagThresholdNanos;
+    private final long workerPoolLatencyThresholdNanos;
+    private final double heapUsageThreshold;
+    private final double gcTimeThreshold;
+    private final double directMemoryThreshold;
+    private final long mappedMemoryThreshold;
+    private final double diskFreeThreshold;
+    private final double fileDescriptorThreshold;
+    private final int threadCountThreshold;
+
+    private volatile long workerSubmittedAt;
+    private volatile long workerStartedAt;
+    private volatile long workerPoolLatencyNanos;
+    private volatile double heapUsage;
+    private volatile double gcTimeFraction;
+    private volatile long directMemoryUsed;
+    private volatile double directMemoryUsage;
+    private volatile long mappedMemoryUsed;
+    private volatile long mappedBufferCount;
+    private volatile Map<String, DiskSpace> diskSpace = Collections.emptyMap();
+    private volatile long openFileDescriptors = -1;
+    private volatile long maxFileDescriptors = -1;
+    private volatile int threadCount;
+    private volatile int peakThreadCount;
+    private volatile boolean diskSampleInFlight;
+
+    /**
+     * Only accessed from the monitor thread.
+     */
+    private long lastSampleNanos;
+    private long lastGcTimeMillis;
+    private String lastFailure;
+    private ScheduledFuture<?> schedule;
+
+    /**
+     * Creates a new resource sampler.
+     *
+     * @param vertx    The Vert.x instance whose worker pool is sampled.
+     * @param executor The timer the sampler runs on.
+     * @param options  The health options supplying the interval and thresholds.
+     */
+    public ResourceSampler(Vertx vertx, ScheduledExecutorService executor, HealthOptions options) {
+        this.vertx = vertx;
+        this.executor = executor;
+        this.intervalMillis = Math.max(1L, options.resourceSampleInterval());
+        this.eventLoopLagThresholdNanos = TimeUnit.MILLISECONDS.toNanos(options.eventLoopLagThreshold());
+        this.workerPoolLatencyThresholdNanos = TimeUnit.MILLISECONDS.toNanos(options.workerPoolLatencyThreshold());
+        this.heapUsageThreshold = options.heapUsageThreshold();
+        this.gcTimeThreshold = options.gcTimeThreshold();
+        this.directMemoryThreshold = options.directMemoryThreshold();
+        this.mappedMemoryThreshold = options.mappedMemoryThreshold();
+        this.diskFreeThreshold = options.diskFreeThreshold();
+        this.fileDescriptorThreshold = options.fileDescriptorThreshold();
+        this.threadCountThreshold = options.threadCountThreshold();
+        this.directPool = bufferPool("direct");
+        this.mappedPool = bufferPool("mapped");
+        List<Path> paths = new ArrayList<>();
+        String configuredPaths = options.diskSpacePaths();
+        if (configuredPaths != null) {
+            for (String path : configuredPaths.split(",")) {
+                if (!path.isBlank()) {
+                    paths.add(Path.of(path.strip()));
+                }
+            }
+        }
+        this.diskSpacePaths = List.copyOf(paths);
+        this.maxDirectMemory = readMaxDirectMemory();
+    }
+
+    /**
+     * Starts sampling. Calling this more than once has no effect.
+     */
+    public synchronized void start() {
+        if (schedule != null) {
+            return;
+        }
+        lastSampleNanos = System.nanoTime();
+        lastGcTimeMillis = totalGcTimeMillis();
+        schedule = executor.scheduleAtFixedRate(this::sample, 0, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stops sampling.
+     */
+    public synchronized void stop() {
+        if (schedule != null) {
+            schedule.cancel(false);
+            schedule = null;
+        }
+    }
+
+    /**
+     * Takes one sample of every resource.
+     */
+    private void sample() {
+        try {
+            long now = System.nanoTime();
+
+            long submitted = workerSubmittedAt;
+            long started = workerStartedAt;
+            if (started - submitted >= 0) {
+                workerPoolLatencyNanos = started - submitted;
+                workerSubmittedAt = now;
+                vertx.executeBlocking(workerProbe, false);
+            } else {
+                workerPoolLatencyNanos = now - submitted;
+            }
+
+            MemoryUsage heap = memoryMXBean.getHeapMemoryUsage();
+            heapUsage = heap.getMax() > 0 ? (double) heap.getUsed() / heap.getMax() : 0d;
+
+            long gcTime = totalGcTimeMillis();
+            long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(now - lastSampleNanos);
+            if (elapsedMillis > 0) {
+                double fraction = Math.min(1d, (double) (gcTime - lastGcTimeMillis) / elapsedMillis);
+                gcTimeFraction = gcTimeFraction * (1d - GC_SMOOTHING) + fraction * GC_SMOOTHING;
+            }
+            lastGcTimeMillis = gcTime;
+            lastSampleNanos = now;
+
+            if (directPool != null) {
+                long used = directPool.getMemoryUsed();
+                directMemoryUsed = used;
+                directMemoryUsage = maxDirectMemory > 0 ? (double) used / maxDirectMemory : 0d;
+            }
+            if (mappedPool != null) {
+                mappedMemoryUsed = mappedPool.getMemoryUsed();
+                mappedBufferCount = mappedPool.getCount();
+            }
+
+            if (operatingSystemMXBean instanceof UnixOperatingSystemMXBean unix) {
+                openFileDescriptors = unix.getOpenFileDescriptorCount();
+                maxFileDescriptors = unix.getMaxFileDescriptorCount();
+            }
+            threadCount = threadMXBean.getThreadCount();
+            peakThreadCount = threadMXBean.getPeakThreadCount();
+
+            if (!diskSpacePaths.isEmpty() && !diskSampleInFlight) {
+                diskSampleInFlight = true;
+                vertx.executeBlocking(this::sampleDiskSpace, false)
+                        .onComplete(ar -> diskSampleInFlight = false);
+            }
+            lastFailure = null;
+        } catch (RuntimeException e) {
+            // Never let a failed sample cancel the schedule, but report each distinct failure once
+            String failure = e.getClass().getName() + ": " + e.getMessage();
+            LOG.log(failure.equals(lastFailure) ? System.Logger.Level.DEBUG : System.Logger.Level.WARNING,
+                    "Resource sample failed", e);
+            lastFailure = failure;
+        }
+    }
+
+    /**
+     * Samples the file store of every configured path and publishes them together. Runs on a Vert.x worker.
+     *
+     * @return null
+     */
+    private Void sampleDiskSpace() {
+        Map<String, DiskSpace> sampled = new LinkedHashMap<>();
+        for (Path path : diskSpacePaths) {
+            try {
+                FileStore store = Files.getFileStore(path);
+                sampled.put(path.toString(), new DiskSpace(path.toString(), store.getUsableSpace(), store.getTotalSpace()));
+            } catch (Exception e) {
+                sampled.put(path.toString(), new DiskSpace(path.toString(), -1L, -1L));
+            }
+        }
+        diskSpace = Collections.unmodifiableMap(sampled);
+        return null;
+    }
+
+    /**
+     * Finds a platform buffer pool by name.
+     *
+     * @param name the pool name
+     * @return the pool, or null if the JVM does not expose it.
+     */
+    private static BufferPoolMXBean bufferPool(String name) {
+        return ManagementFactory.getPlatformMXBeans(BufferPoolMXBean.class).stream()
+                .filter(pool -> name.equals(pool.getName()))
+                .findFirst()
+                .orElse(null);
+    }
+
+    /**
+     * Sums the accumulated collection time of every garbage collector.
+     *
+     * @return the total GC time in milliseconds.
+     */
+    private long totalGcTimeMillis() {
+        long total = 0;
+        for (GarbageCollectorMXBean collector : collectors) {
+            long time = collector.getCollectionTime();
+            if (time > 0) {
+                total += time;
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Reads the configured maximum direct memory, which defaults to the maximum heap when not set explicitly.
+     *
+     * @return the maximum direct memory in bytes.
+     */
+    private static long readMaxDirectMemory() {
+        try {
+            HotSpotDiagnosticMXBean diagnostic = ManagementFactory.getPlatformMXBean(HotSpotDiagnosticMXBean.class);
+            long configured = Long.parseLong(diagnostic.getVMOption("MaxDirectMemorySize").getValue());
+            if (configured > 0) {
+                return configured;
+            }
+        } catch (Exception e) {
+            // Not a HotSpot VM, fall back to the heap maximum
+        }
+        return Runtime.getRuntime().maxMemory();
+    }
+
+    /**
+     * Returns the time the last worker-pool probe waited for a worker thread, or the time the pending probe
+     * has been waiting so far.
+     *
+     * @return the worker pool latency in nanoseconds.
+     */
+    public long getWorkerPoolLatencyNanos() {
+        return workerPoolLatencyNanos;
+    }
+
+    /**
+     * Returns the used heap as a fraction of the maximum heap.
+     *
+     * @return the heap usage between 0 and 1.
+     */
+    public double getHeapUsage() {
+        return heapUsage;
+    }
+
+    /**
+     * Returns the smoothed fraction of wall-clock time spent in garbage collection.
+     *
+     * @return the GC time fraction between 0 and 1.
+     */
+    public double getGcTimeFraction() {
+        return gcTimeFraction;
+    }
+
+    /**
+     * Returns the bytes currently held by the direct buffer pool.
+     *
+     * @return the direct memory in use in bytes.
+     */
+    public long getDirectMemoryUsed() {
+        return directMemoryUsed;
+    }
+
+    /**
+     * Returns the direct buffer pool usage as a fraction of the maximum direct memory.
+     *
+     * @return the direct memory usage between 0 and 1.
+     */
+    public double getDirectMemoryUsage() {
+        return directMemoryUsage;
+    }
+
+    /**
+     * Returns the bytes currently held by memory-mapped buffers.
+     *
+     * @return the mapped memory in use in bytes.
+     */
+    public long getMappedMemoryUsed() {
+        return mappedMemoryUsed;
+    }
+
+    /**
+     * Returns the number of memory-mapped buffers.
+     *
+     * @return the mapped buffer count.
+     */
+    public long getMappedBufferCount() {
+        return mappedBufferCount;
+    }
+
+    /**
+     * Returns the last disk space sample of every configured path.
+     *
+     * @return the disk space by path, empty before the first sample or when no path is configured.
+     */
+    public Map<String, DiskSpace> getDiskSpace() {
+        return diskSpace;
+    }
+
+    /**
+     * Returns the number of file descriptors open by the process.
+     *
+     * @return the open file descriptors, or -1 if not available on this platform.
+     */
+    public long getOpenFileDescriptors() {
+        return openFileDescriptors;
+    }
+
+    /**
+     * Returns the maximum number of file descriptors the process may open.
+     *
+     * @return the maximum file descriptors, or -1 if not available on this platform.
+     */
+    public long getMaxFileDescriptors() {
+        return maxFileDescriptors;
+    }
+
+    /**
+     * Returns the open file descriptors as a fraction of the maximum.
+     *
+     * @return the file descriptor usage between 0 and 1, or 0 if not available on this platform.
+     */
+    public double getFileDescriptorUsage() {
+        long max = maxFileDescriptors;
+        long open = openFileDescriptors;
+        return max > 0 && open >= 0 ? (double) open / max : 0d;
+    }
+
+    /**
+     * Returns the number of live threads.
+     *
+     * @return the thread count.
+     */
+    public int getThreadCount() {
+        return threadCount;
+    }
+
+    /**
+     * Returns the peak number of live threads since the JVM started.
+     *
+     * @return the peak thread count.
+     */
+    public int getPeakThreadCount() {
+        return peakThreadCount;
+    }
+
+    /**
+     * Returns the event-loop lag threshold.
+     *
+     * @return the threshold in nanoseconds, or 0 or less if disabled.
+     */
+    public long getEventLoopLagThresholdNanos() {
+        return eventLoopLagThresholdNanos;
+    }
+
+    /**
+     * Returns the worker-pool latency threshold.
+     *
+     * @return the threshold in nanoseconds, or 0 or less if disabled.
+     */
+    public long getWorkerPoolLatencyThresholdNanos() {
+        return workerPoolLatencyThresholdNanos;
+    }
+
+    /**
+     * Returns the heap usage threshold.
+     *
+     * @return the threshold as a fraction, or 0 or less if disabled.
+     */
+    public double getHeapUsageThreshold() {
+        return heapUsageThreshold;
+    }
+
+    /**
+     * Returns the GC time threshold.
+     *
+     * @return the threshold as a fraction, or 0 or less if disabled.
+     */
+    public double getGcTimeThreshold() {
+        return gcTimeThreshold;
+    }
+
+    /**
+     * Returns the direct memory threshold.
+     *
+     * @return the threshold as a fraction, or 0 or less if disabled.
+     */
+    public double getDirectMemoryThreshold() {
+        return directMemoryThreshold;
+    }
+
+    /**
+     * Returns the mapped memory threshold.
+     *
+     * @return the threshold in bytes, or 0 or less if disabled.
+     */
+    public long getMappedMemoryThreshold() {
+        return mappedMemoryThreshold;
+    }
+
+    /**
+     * Returns the minimum fraction of usable disk space.
+     *
+     * @return the threshold as a fraction, or 0 or less if disabled.
+     */
+    public double getDiskFreeThreshold() {
+        return diskFreeThreshold;
+    }
+
+    /**
+     * Returns the file descriptor usage threshold.
+     *
+     * @return the threshold as a fraction, or 0 or less if disabled.
+     */
+    public double getFileDescriptorThreshold() {
+        return fileDescriptorThreshold;
+    }
+
+    /**
+     * Returns the thread count threshold.
+     *
+     * @return the maximum number of live threads, or 0 or less if disabled.
+     */
+    public int getThreadCountThreshold() {
+        return threadCountThreshold;
+    }
+
+    /**
+     * The space of the file store holding a path.
+     *
+     * @param path        The configured path.
+     * @param usableBytes The bytes available to this process, or -1 if the store could not be read.
+     * @param totalBytes  The size of the file store, or -1 if the store could not be read.
+     */
+    public record DiskSpace(String path, long usableBytes, long totalBytes) {
+        /**
+         * Returns the usable space as a fraction of the file store size.
+         *
+         * @return the free fraction between 0 and 1, or 0 if the store could not be read.
+         */
+        public double freeFraction() {
+            return totalBytes > 0 && usableBytes >= 0 ? (double) usableBytes / totalBytes : 0d;
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.guicedee.health.implementations;
+
+import com.guicedee.health.HealthOptions;
+import io.vertx.core.Handler;
+import io.vertx.core.Promise;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.healthchecks.Status;
+import io.vertx.ext.web.RoutingContext;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Gates readiness and drains in-flight work during shutdown.
+ *
+ * <p>Registered as the {@code guicedee-shutdown} readiness check, it reports UP until {@link #drain()} is called,
+ * and DOWN from then on, so that load balancers stop routing new traffic while liveness stays UP. The drain then
+ * keeps serving for {@link HealthOptions#drainPeriod()} and waits up to {@link HealthOptions#drainTimeout()} for the
+ * tracked in-flight requests to complete.</p>
+ *
+ * <p>HTTP requests are tracked by the {@link #requestTracker()} route handler. Other units of work, such as event
+ * bus consumers, can be tracked with {@link #requestStarted()} and {@link #requestCompleted()}.</p>
+ */
+public class ShutdownDrain implements Handler<Promise<Status>> {
+    private final long drainPeriod;
+    private final long drainTimeout;
+    private final AtomicLong inFlight = new AtomicLong();
+    private final Object drained = new Object();
+    private final Handler<RoutingContext> requestTracker = ctx -> {
+        requestStarted();
+        ctx.addEndHandler(ar -> requestCompleted());
+        ctx.next();
+    };
+
+    private volatile boolean draining;
+
+    /**
+     * Creates a new shutdown drain.
+     *
+     * @param options The health options supplying the drain period and timeout.
+     */
+    public ShutdownDrain(HealthOptions options) {
+        this.drainPeriod = options.drainPeriod();
+        this.drainTimeout = options.drainTimeout();
+    }
+
+    /**
+     * Reports readiness: UP until draining starts, DOWN afterwards.
+     *
+     * @param promise the promise to complete
+     */
+    @Override
+    public void handle(Promise<Status> promise) {
+        if (draining) {
+            promise.tryComplete(Status.KO(new JsonObject()
+                    .put("draining", true)
+                    .put("inFlight", inFlight.get())));
+        } else {
+            promise.tryComplete(Status.OK());
+        }
+    }
+
+    /**
+     * Returns the route handler counting in-flight HTTP requests.
+     *
+     * @return the request tracking handler.
+     */
+    public Handler<RoutingContext> requestTracker() {
+        return requestTracker;
+    }
+
+    /**
+     * Marks the start of a unit of in-flight work.
+     */
+    public void requestStarted() {
+        inFlight.incrementAndGet();
+    }
+
+    /**
+     * Marks the completion of a unit of in-flight work.
+     */
+    public void requestCompleted() {
+        if (inFlight.decrementAndGet() == 0 && draining) {
+            synchronized (drained) {
+                drained.notifyAll();
+            }
+        }
+    }
+
+    /**
+     * Flips readiness to DOWN, keeps serving for the drain period and waits for in-flight work to complete.
+     *
+     * <p>Blocks the calling thread for at most {@link HealthOptions#drainPeriod()} plus
+     * {@link HealthOptions#drainTimeout()}.</p>
+     *
+     * @return true if no work was in flight when the drain ended, false if the timeout elapsed first.
+     */
+    public boolean drain() {
+        draining = true;
+        try {
+            if (drainPeriod > 0) {
+                Thread.sleep(drainPeriod);
+            }
+            long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(Math.max(0L, drainTimeout));
+            synchronized (drained) {
+                while (inFlight.get() > 0) {
+                    long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0) {
+                        return false;
+                    }
+                    TimeUnit.NANOSECONDS.timedWait(drained, remaining);
+                }
+            }
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return inFlight.get() == 0;
+        }
+    }
+
+    /**
+     * Returns whether draining has started.
+     *
+     * @return true if draining, false otherwise.
+     */
+    public boolean isDraining() {
+        return draining;
+    }
+
+    /**
+     * Returns the number of tracked units of work in flight.
+     *
+     * @return the in-flight count.
+     */
+    public long getInFlight() {
+        return inFlight.get();
+    }
+}
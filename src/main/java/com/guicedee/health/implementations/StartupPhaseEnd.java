@@ -0,0 +1,73 @@
+package com.guicedee.health.implementations;
+
+import com.guicedee.client.services.lifecycle.IGuicePostStartup;
+import com.guicedee.client.services.lifecycle.IGuicePreStartup;
+import com.guicedee.vertx.web.spi.VertxRouterConfigurator;
+import io.smallrye.mutiny.Uni;
+import io.vertx.core.Future;
+import io.vertx.ext.web.Router;
+
+import java.util.List;
+
+/**
+ * Marks the end of each lifecycle phase in the {@link StartupTracker}.
+ *
+ * <p>Runs last in every lifecycle it takes part in: the last pre-startup hook starts injector creation, the last
+ * post-startup hook ends the post-startup phase, and the last router configurator ends router configuration.</p>
+ */
+public class StartupPhaseEnd implements IGuicePreStartup<StartupPhaseEnd>, IGuicePostStartup<StartupPhaseEnd>,
+        VertxRouterConfigurator<StartupPhaseEnd> {
+    /**
+     * Creates a new lifecycle phase end marker.
+     */
+    public StartupPhaseEnd() {
+    }
+
+    /**
+     * Ends the pre-startup phase and starts the injector phase.
+     *
+     * @return a completed future
+     */
+    @Override
+    public List<Future<Boolean>> onStartup() {
+        StartupTracker tracker = HealthPreStartup.getStartupTracker();
+        tracker.complete(StartupTracker.PRE_STARTUP);
+        tracker.begin(StartupTracker.INJECTOR);
+        return List.of(Future.succeededFuture(true));
+    }
+
+    /**
+     * Ends the post-startup phase. The router phase is marked as skipped if no router was configured.
+     *
+     * @return a completed Uni
+     */
+    @Override
+    public List<Uni<Boolean>> postLoad() {
+        StartupTracker tracker = HealthPreStartup.getStartupTracker();
+        tracker.complete(StartupTracker.POST_STARTUP);
+        tracker.skipIfNotStarted(StartupTracker.ROUTER);
+        return List.of(Uni.createFrom().item(true));
+    }
+
+    /**
+     * Ends the router configuration phase.
+     *
+     * @param router the router being configured
+     * @return the router, unchanged
+     */
+    @Override
+    public Router builder(Router router) {
+        HealthPreStartup.getStartupTracker().complete(StartupTracker.ROUTER);
+        return router;
+    }
+
+    /**
+     * Returns the sort order for this lifecycle hook.
+     *
+     * @return the sort order value
+     */
+    @Override
+    public Integer sortOrder() {
+        return Integer.MAX_VALUE;
+    }
+}
@@ -0,0 +1,73 @@
+package com.guicedee.health.implementations;
+
+import com.guicedee.client.services.lifecycle.IGuicePostStartup;
+import com.guicedee.client.services.lifecycle.IGuicePreStartup;
+import com.guicedee.vertx.web.spi.VertxRouterConfigurator;
+import io.smallrye.mutiny.Uni;
+import io.vertx.core.Future;
+import io.vertx.ext.web.Router;
+
+import java.util.List;
+
+/**
+ * Marks the start of each lifecycle phase in the {@link StartupTracker}.
+ *
+ * <p>Runs first in every lifecycle it takes part in: the first pre-startup hook ends the scan phase, the first
+ * post-startup hook ends injector creation, and the first router configurator starts router configuration.</p>
+ */
+public class StartupPhaseStart implements IGuicePreStartup<StartupPhaseStart>, IGuicePostStartup<StartupPhaseStart>,
+        VertxRouterConfigurator<StartupPhaseStart> {
+    /**
+     * Creates a new lifecycle phase start marker.
+     */
+    public StartupPhaseStart() {
+    }
+
+    /**
+     * Ends the scan phase and starts the pre-startup phase.
+     *
+     * @return a completed future
+     */
+    @Override
+    public List<Future<Boolean>> onStartup() {
+        StartupTracker tracker = HealthPreStartup.getStartupTracker();
+        tracker.complete(StartupTracker.SCAN);
+        tracker.begin(StartupTracker.PRE_STARTUP);
+        return List.of(Future.succeededFuture(true));
+    }
+
+    /**
+     * Ends the injector phase and starts the post-startup phase.
+     *
+     * @return a completed Uni
+     */
+    @Override
+    public List<Uni<Boolean>> postLoad() {
+        StartupTracker tracker = HealthPreStartup.getStartupTracker();
+        tracker.complete(StartupTracker.INJECTOR);
+        tracker.begin(StartupTracker.POST_STARTUP);
+        return List.of(Uni.createFrom().item(true));
+    }
+
+    /**
+     * Starts the router configuration phase.
+     *
+     * @param router the router being configured
+     * @return the router, unchanged
+     */
+    @Override
+    public Router builder(Router router) {
+        HealthPreStartup.getStartupTracker().begin(StartupTracker.ROUTER);
+        return router;
+    }
+
+    /**
+     * Returns the sort order for this lifecycle hook.
+     *
+     * @return the sort order value
+     */
+    @Override
+    public Integer sortOrder() {
+        return Integer.MIN_VALUE;
+    }
+}
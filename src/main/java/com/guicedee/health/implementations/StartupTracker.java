@@ -0,0 +1,278 @@
+package com.guicedee.health.implementations;
+
+import io.smallrye.mutiny.Uni;
+import io.vertx.core.Handler;
+import io.vertx.core.Promise;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.healthchecks.Status;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tracks the progress and timings of the GuicedEE lifecycle phases.
+ *
+ * <p>Registered as the {@code guicedee-lifecycle} startup check, it reports DOWN until every required phase has
+ * completed, with the state and duration of each phase in its data:</p>
+ * <ul>
+ *     <li>{@value #SCAN}: from JVM start until the first pre-startup hook runs</li>
+ *     <li>{@value #PRE_STARTUP}: all {@code IGuicePreStartup} hooks</li>
+ *     <li>{@value #INJECTOR}: from the last pre-startup hook until the first post-startup hook, covering injector
+ *     creation and module configuration</li>
+ *     <li>{@value #POST_STARTUP}: all {@code IGuicePostStartup} hooks</li>
+ *     <li>{@value #ROUTER}: all {@code VertxRouterConfigurator}s, skipped if no router is configured</li>
+ * </ul>
+ * <p>The phase boundaries are recorded by {@link StartupPhaseStart} and {@link StartupPhaseEnd}, which run first and
+ * last in each lifecycle. Individual hooks are recorded as {@code post-startup:<name>}; hooks can report themselves
+ * with {@link #track(String, Uni)} or {@link #begin(String)} and {@link #complete(String)}.</p>
+ */
+public class StartupTracker implements Handler<Promise<Status>> {
+    /**
+     * The classpath scan phase.
+     */
+    public static final String SCAN = "scan";
+    /**
+     * The pre-startup hooks phase.
+     */
+    public static final String PRE_STARTUP = "pre-startup";
+    /**
+     * The injector creation phase.
+     */
+    public static final String INJECTOR = "injector";
+    /**
+     * The post-startup hooks phase.
+     */
+    public static final String POST_STARTUP = "post-startup";
+    /**
+     * The router configuration phase.
+     */
+    public static final String ROUTER = "router";
+
+    private static final List<String> REQUIRED = List.of(SCAN, PRE_STARTUP, INJECTOR, POST_STARTUP, ROUTER);
+
+    private final long bootNanos;
+    private final Map<String, Phase> phases = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a new startup tracker. The {@value #SCAN} phase is considered to have begun at JVM start.
+     */
+    public StartupTracker() {
+        this.bootNanos = System.nanoTime() - TimeUnit.MILLISECONDS.toNanos(ManagementFactory.getRuntimeMXBean().getUptime());
+        phase(SCAN).startNanos = bootNanos;
+    }
+
+    /**
+     * Records the start of a phase. Has no effect if the phase has already begun.
+     *
+     * @param name The phase name.
+     */
+    public void begin(String name) {
+        Phase phase = phase(name);
+        synchronized (phase) {
+            if (phase.startNanos == 0L) {
+                phase.startNanos = System.nanoTime();
+            }
+        }
+    }
+
+    /**
+     * Records the completion of a phase, beginning it now if it had not begun. Has no effect if the phase has
+     * already ended.
+     *
+     * @param name The phase name.
+     */
+    public void complete(String name) {
+        end(name, PhaseState.COMPLETED, null);
+    }
+
+    /**
+     * Records the failure of a phase.
+     *
+     * @param name    The phase name.
+     * @param failure The cause of the failure.
+     */
+    public void fail(String name, Throwable failure) {
+        end(name, PhaseState.FAILED, failure);
+    }
+
+    /**
+     * Records a phase as skipped if it has not begun.
+     *
+     * @param name The phase name.
+     */
+    public void skipIfNotStarted(String name) {
+        Phase phase = phase(name);
+        synchronized (phase) {
+            if (phase.startNanos == 0L) {
+                phase.state = PhaseState.SKIPPED;
+            }
+        }
+    }
+
+    /**
+     * Tracks an asynchronous unit of startup work as a phase.
+     *
+     * @param name The phase name.
+     * @param work The work to track.
+     * @param <T>  The item type.
+     * @return the tracked work.
+     */
+    public <T> Uni<T> track(String name, Uni<T> work) {
+        return Uni.createFrom().deferred(() -> {
+                    begin(name);
+                    return work;
+                })
+                .onItem().invoke(() -> complete(name))
+                .onFailure().invoke(failure -> fail(name, failure));
+    }
+
+    /**
+     * Returns whether every required phase has completed or was skipped.
+     *
+     * @return true if startup is complete, false otherwise.
+     */
+    public boolean isComplete() {
+        for (String name : REQUIRED) {
+            PhaseState state = phase(name).state;
+            if (state != PhaseState.COMPLETED && state != PhaseState.SKIPPED) {
+                return false;
+            }
+        }
+        for (Phase phase : phases.values()) {
+            if (phase.state == PhaseState.FAILED) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the state of a phase.
+     *
+     * @param name The phase name.
+     * @return the phase state.
+     */
+    public PhaseState getState(String name) {
+        Phase phase = phases.get(name);
+        return phase == null ? PhaseState.PENDING : phase.state;
+    }
+
+    /**
+     * Returns the duration of a phase, up to now if it is still running.
+     *
+     * @param name The phase name.
+     * @return the duration in milliseconds, or -1 if the phase has not begun.
+     */
+    public long getDurationMillis(String name) {
+        Phase phase = phases.get(name);
+        return phase == null ? -1L : phase.durationMillis();
+    }
+
+    /**
+     * Reports UP once every required phase has completed, DOWN otherwise, with the phase timings as data.
+     *
+     * @param promise the promise to complete
+     */
+    @Override
+    public void handle(Promise<Status> promise) {
+        JsonObject data = toJson();
+        promise.tryComplete(isComplete() ? Status.OK(data) : Status.KO(data));
+    }
+
+    /**
+     * Renders the phases in order of their start, with their state and duration.
+     *
+     * @return the phase timings.
+     */
+    public JsonObject toJson() {
+        List<Phase> ordered = new ArrayList<>(phases.values());
+        ordered.sort((a, b) -> Long.compare(a.startNanos == 0L ? Long.MAX_VALUE : a.startNanos,
+                b.startNanos == 0L ? Long.MAX_VALUE : b.startNanos));
+        JsonArray phaseJson = new JsonArray();
+        long lastEnd = bootNanos;
+        for (Phase phase : ordered) {
+            JsonObject entry = new JsonObject()
+                    .put("name", phase.name)
+                    .put("state", phase.state.name());
+            if (phase.startNanos != 0L) {
+                entry.put("startMs", TimeUnit.NANOSECONDS.toMillis(phase.startNanos - bootNanos));
+                entry.put("durationMs", phase.durationMillis());
+            }
+            if (phase.failure != null) {
+                entry.put("error", String.valueOf(phase.failure.getMessage()));
+            }
+            lastEnd = Math.max(lastEnd, phase.endNanos);
+            phaseJson.add(entry);
+        }
+        return new JsonObject()
+                .put("complete", isComplete())
+                .put("totalMs", TimeUnit.NANOSECONDS.toMillis((isComplete() ? lastEnd : System.nanoTime()) - bootNanos))
+                .put("phases", phaseJson);
+    }
+
+    private void end(String name, PhaseState state, Throwable failure) {
+        Phase phase = phase(name);
+        synchronized (phase) {
+            if (phase.endNanos != 0L) {
+                return;
+            }
+            long now = System.nanoTime();
+            if (phase.startNanos == 0L) {
+                phase.startNanos = now;
+            }
+            phase.endNanos = now;
+            phase.failure = failure;
+            phase.state = state;
+        }
+    }
+
+    private Phase phase(String name) {
+        return phases.computeIfAbsent(name, Phase::new);
+    }
+
+    /**
+     * The state of a lifecycle phase.
+     */
+    public enum PhaseState {
+        /**
+         * The phase has not completed yet.
+         */
+        PENDING,
+        /**
+         * The phase has completed.
+         */
+        COMPLETED,
+        /**
+         * The phase failed.
+         */
+        FAILED,
+        /**
+         * The phase did not run.
+         */
+        SKIPPED
+    }
+
+    private static final class Phase {
+        private final String name;
+        private volatile long startNanos;
+        private volatile long endNanos;
+        private volatile PhaseState state = PhaseState.PENDING;
+        private volatile Throwable failure;
+
+        private Phase(String name) {
+            this.name = name;
+        }
+
+        private long durationMillis() {
+            if (startNanos == 0L) {
+                return -1L;
+            }
+            return TimeUnit.NANOSECONDS.toMillis((endNanos == 0L ? System.nanoTime() : endNanos) - startNanos);
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.guicedee.health.implementations;
+
+import io.vertx.core.Future;
+import io.vertx.ext.healthchecks.CheckResult;
+import io.vertx.ext.healthchecks.HealthChecks;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * The health checks of a single tenant, held by the {@link TenantHealthRegistry}.
+ *
+ * <p>Each tenant has its own Vert.x {@link HealthChecks} instance, so evaluating one tenant never runs the checks
+ * of another. The outcome of the last evaluation is cached for the fleet summary.</p>
+ */
+public class TenantHealth {
+    private final String tenantId;
+    private final HealthChecks healthChecks;
+    private final Set<String> checkNames = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean sweepQueued = new AtomicBoolean();
+
+    private volatile CheckResult lastResult;
+    private volatile long lastCheckedAt;
+    private volatile boolean evaluating;
+
+    /**
+     * Creates a new tenant health.
+     *
+     * @param tenantId     The tenant identifier.
+     * @param healthChecks The tenant's own health checks instance.
+     */
+    TenantHealth(String tenantId, HealthChecks healthChecks) {
+        this.tenantId = tenantId;
+        this.healthChecks = healthChecks;
+    }
+
+    /**
+     * Evaluates every check of this tenant and caches the outcome.
+     *
+     * @return a future completed with the result.
+     */
+    Future<CheckResult> evaluate() {
+        evaluating = true;
+        return healthChecks.checkStatus().andThen(ar -> {
+            if (ar.succeeded()) {
+                lastResult = ar.result();
+            }
+            lastCheckedAt = System.currentTimeMillis();
+            evaluating = false;
+        });
+    }
+
+    /**
+     * Returns the tenant identifier.
+     *
+     * @return the tenant identifier.
+     */
+    public String getTenantId() {
+        return tenantId;
+    }
+
+    /**
+     * Returns the tenant's own health checks instance.
+     *
+     * @return the health checks instance.
+     */
+    public HealthChecks getHealthChecks() {
+        return healthChecks;
+    }
+
+    /**
+     * Returns the names of the checks registered for this tenant.
+     *
+     * @return the check names.
+     */
+    public Set<String> getCheckNames() {
+        return checkNames;
+    }
+
+    /**
+     * Returns the result of the last completed evaluation.
+     *
+     * @return the last result, or null if the tenant has not been evaluated yet.
+     */
+    public CheckResult getLastResult() {
+        return lastResult;
+    }
+
+    /**
+     * Returns when the tenant was last evaluated.
+     *
+     * @return the epoch milliseconds of the last evaluation, or 0 if never evaluated.
+     */
+    public long getLastCheckedAt() {
+        return lastCheckedAt;
+    }
+
+    /**
+     * Returns whether an evaluation is in progress.
+     *
+     * @return true if evaluating, false otherwise.
+     */
+    boolean isEvaluating() {
+        return evaluating;
+    }
+
+    /**
+     * Claims the background sweep of this tenant, so that a tenant still waiting for the concurrency budget is not
+     * queued again by the next sweep.
+     *
+     * @return true if claimed, false if a sweep of this tenant is already queued or running.
+     */
+    boolean claimSweep() {
+        return sweepQueued.compareAndSet(false, true);
+    }
+
+    /**
+     * Releases the background sweep claimed by {@link #claimSweep()}.
+     */
+    void releaseSweep() {
+        sweepQueued.set(false);
+    }
+}
@@ -0,0 +1,410 @@
+package com.guicedee.health.implementations;
+
+import com.guicedee.health.AsyncHealthCheck;
+import com.guicedee.health.HealthOptions;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+import io.vertx.core.http.HttpHeaders;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.healthchecks.CheckResult;
+import io.vertx.ext.healthchecks.HealthChecks;
+import io.vertx.ext.web.RoutingContext;
+import org.eclipse.microprofile.health.HealthCheck;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Thread-safe registry of tenant-scoped health checks.
+ *
+ * <p>Each tenant owns a separate Vert.x {@link HealthChecks} instance, so evaluating one tenant never runs the checks
+ * of another:</p>
+ * <pre>{@code
+ * @Inject
+ * private TenantHealthRegistry tenants;
+ *
+ * tenants.register(tenantId, "datasource", new DataSourceCheck(ds));
+ * tenants.removeTenant(tenantId);
+ * }</pre>
+ *
+ * <p>Tenants are spread over a fixed number of shards, each held in a copy-on-write map. Writers only lock and copy
+ * their own shard, readers only perform a volatile read. Every evaluation, whether requested on
+ * {@link HealthOptions#tenantPath()} or started by the background sweep, passes through a shared
+ * {@link HealthConcurrencyBudget} so that hundreds of tenants never evaluate all at once. The sweep only queues
+ * evaluations on the background timer; each one runs on a Vert.x worker, so a blocking tenant check never stalls the
+ * timer shared with the other health monitors.</p>
+ */
+public class TenantHealthRegistry {
+    private static final int SHARDS = 16;
+
+    private final Vertx vertx;
+    private final HealthHistory history;
+    private final long timeout;
+    private final HealthConcurrencyBudget budget;
+    private final ScheduledExecutorService executor;
+    private final long checkInterval;
+    private final Shard[] shards = new Shard[SHARDS];
+
+    private volatile ScheduledFuture<?> schedule;
+
+    /**
+     * Creates a new tenant health registry.
+     *
+     * @param vertx    The Vert.x instance the tenant health checks are created on.
+     * @param history  The history evaluations are recorded in.
+     * @param timeout  The timeout in milliseconds applied to each check.
+     * @param executor The background timer the sweep runs on.
+     * @param options  The health options supplying the concurrency budget and sweep interval.
+     */
+    public TenantHealthRegistry(Vertx vertx, HealthHistory history, long timeout, ScheduledExecutorService executor, HealthOptions options) {
+        this.vertx = vertx;
+        this.history = history;
+        this.timeout = timeout;
+        this.executor = executor;
+        this.budget = new HealthConcurrencyBudget(options.tenantConcurrency());
+        this.checkInterval = options.tenantCheckInterval();
+        for (int i = 0; i < SHARDS; i++) {
+            shards[i] = new Shard();
+        }
+    }
+
+    /**
+     * Registers a blocking health check for a tenant, replacing any check registered under the same name.
+     *
+     * @param tenantId The tenant identifier.
+     * @param name     The name of the check, unique within the tenant.
+     * @param check    The health check.
+     * @return the tenant health.
+     */
+    public TenantHealth register(String tenantId, String name, HealthCheck check) {
+        return registerInstance(tenantId, name, check);
+    }
+
+    /**
+     * Registers an asynchronous health check for a tenant, replacing any check registered under the same name.
+     *
+     * @param tenantId The tenant identifier.
+     * @param name     The name of the check, unique within the tenant.
+     * @param check    The asynchronous health check.
+     * @return the tenant health.
+     */
+    public TenantHealth register(String tenantId, String name, AsyncHealthCheck check) {
+        return registerInstance(tenantId, name, check);
+    }
+
+    /**
+     * Removes a single check of a tenant. The tenant is removed once its last check is removed.
+     *
+     * @param tenantId The tenant identifier.
+     * @param name     The name of the check.
+     * @return true if a check was removed, false otherwise.
+     */
+    public boolean unregister(String tenantId, String name) {
+        Shard shard = shardOf(tenantId);
+        synchronized (shard) {
+            TenantHealth tenant = shard.tenants.get(tenantId);
+            if (tenant == null || !tenant.getCheckNames().remove(name)) {
+                return false;
+            }
+            tenant.getHealthChecks().unregister(name);
+            history.remove(historyName(tenantId, name));
+            if (tenant.getCheckNames().isEmpty()) {
+                shard.remove(tenantId);
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Removes a tenant and all of its checks.
+     *
+     * @param tenantId The tenant identifier.
+     * @return true if the tenant was removed, false otherwise.
+     */
+    public boolean removeTenant(String tenantId) {
+        Shard shard = shardOf(tenantId);
+        synchronized (shard) {
+            TenantHealth tenant = shard.tenants.get(tenantId);
+            if (tenant == null) {
+                return false;
+            }
+            for (String name : tenant.getCheckNames()) {
+                tenant.getHealthChecks().unregister(name);
+                history.remove(historyName(tenantId, name));
+            }
+            tenant.getCheckNames().clear();
+            shard.remove(tenantId);
+            return true;
+        }
+    }
+
+    /**
+     * Returns the health of a tenant.
+     *
+     * @param tenantId The tenant identifier.
+     * @return the tenant health, or null if the tenant has no registered checks.
+     */
+    public TenantHealth get(String tenantId) {
+        return shardOf(tenantId).tenants.get(tenantId);
+    }
+
+    /**
+     * Returns a snapshot of all tenants.
+     *
+     * @return the tenants.
+     */
+    public List<TenantHealth> getAll() {
+        List<TenantHealth> all = new ArrayList<>();
+        for (Shard shard : shards) {
+            all.addAll(shard.tenants.values());
+        }
+        return all;
+    }
+
+    /**
+     * Returns the number of tenants.
+     *
+     * @return the number of tenants.
+     */
+    public int size() {
+        int size = 0;
+        for (Shard shard : shards) {
+            size += shard.tenants.size();
+        }
+        return size;
+    }
+
+    /**
+     * Evaluates the checks of a single tenant on a Vert.x worker, within the shared concurrency budget.
+     *
+     * @param tenantId The tenant identifier.
+     * @return a future completed with the result, or failed if the tenant is unknown.
+     */
+    public Future<CheckResult> check(String tenantId) {
+        TenantHealth tenant = get(tenantId);
+        if (tenant == null) {
+            return Future.failedFuture(new IllegalArgumentException("Unknown tenant " + tenantId));
+        }
+        return budget.submit(() -> dispatch(tenant));
+    }
+
+    /**
+     * Returns the shared concurrency budget tenant evaluations run under.
+     *
+     * @return the concurrency budget.
+     */
+    public HealthConcurrencyBudget getBudget() {
+        return budget;
+    }
+
+    /**
+     * Renders the fleet summary from the cached outcome of each tenant's last evaluation.
+     *
+     * @return the summary.
+     */
+    public JsonObject summary() {
+        int up = 0;
+        int down = 0;
+        int unknown = 0;
+        JsonArray tenants = new JsonArray();
+        for (Shard shard : shards) {
+            for (TenantHealth tenant : shard.tenants.values()) {
+                CheckResult result = tenant.getLastResult();
+                String status;
+                if (result == null) {
+                    status = "UNKNOWN";
+                    unknown++;
+                } else if (result.getUp()) {
+                    status = "UP";
+                    up++;
+                } else {
+                    status = "DOWN";
+                    down++;
+                }
+                tenants.add(new JsonObject()
+                        .put("id", tenant.getTenantId())
+                        .put("status", status)
+                        .put("checkedAt", tenant.getLastCheckedAt()));
+            }
+        }
+        return new JsonObject()
+                .put("status", down == 0 ? "UP" : "DOWN")
+                .put("total", up + down + unknown)
+                .put("up", up)
+                .put("down", down)
+                .put("unknown", unknown)
+                .put("inFlight", budget.getInFlight())
+                .put("waiting", budget.getWaiting())
+                .put("tenants", tenants);
+    }
+
+    /**
+     * Returns the route handler evaluating the tenant named by the {@code tenantId} path parameter.
+     *
+     * @return the tenant route handler.
+     */
+    public Handler<RoutingContext> tenantHandler() {
+        return ctx -> {
+            String tenantId = ctx.pathParam("tenantId");
+            if (tenantId == null || get(tenantId) == null) {
+                ctx.response().setStatusCode(404).end();
+                return;
+            }
+            check(tenantId).onComplete(ar -> {
+                if (ar.failed()) {
+                    ctx.response()
+                            .setStatusCode(503)
+                            .putHeader(HttpHeaders.CONTENT_TYPE, "application/json;charset=UTF-8")
+                            .end(new JsonObject()
+                                    .put("status", "DOWN")
+                                    .put("outcome", "DOWN")
+                                    .put("error", String.valueOf(ar.cause().getMessage()))
+                                    .toBuffer());
+                    return;
+                }
+                CheckResult result = ar.result();
+                JsonObject body = result.toJson();
+                body.put("outcome", result.getUp() ? "UP" : "DOWN");
+                ctx.response()
+                        .setStatusCode(result.getUp() ? 200 : 503)
+                        .putHeader(HttpHeaders.CONTENT_TYPE, "application/json;charset=UTF-8")
+                        .end(body.toBuffer());
+            });
+        };
+    }
+
+    /**
+     * Returns the route handler rendering the fleet summary.
+     *
+     * @return the summary route handler.
+     */
+    public Handler<RoutingContext> summaryHandler() {
+        return ctx -> ctx.response()
+                .putHeader(HttpHeaders.CONTENT_TYPE, "application/json;charset=UTF-8")
+                .end(summary().toBuffer());
+    }
+
+    /**
+     * Starts the background sweep evaluating every tenant at {@link HealthOptions#tenantCheckInterval()}.
+     * Does nothing if the interval is {@code 0} or less, or the sweep is already running.
+     */
+    public synchronized void start() {
+        if (schedule != null || checkInterval <= 0) {
+            return;
+        }
+        schedule = executor.scheduleWithFixedDelay(this::sweep, checkInterval, checkInterval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stops the background sweep.
+     */
+    public synchronized void stop() {
+        if (schedule != null) {
+            schedule.cancel(false);
+            schedule = null;
+        }
+    }
+
+    /**
+     * Submits every tenant that is neither being evaluated nor already queued by a previous sweep, one shard at
+     * a time.
+     */
+    private void sweep() {
+        for (Shard shard : shards) {
+            for (TenantHealth tenant : shard.tenants.values()) {
+                if (!tenant.isEvaluating() && tenant.claimSweep()) {
+                    budget.submit(() -> dispatch(tenant)).onComplete(ar -> tenant.releaseSweep());
+                }
+            }
+        }
+    }
+
+    /**
+     * Evaluates a tenant on a Vert.x worker, so that its checks never run on the thread starting the evaluation.
+     *
+     * @param tenant the tenant to evaluate
+     * @return a future completed with the result.
+     */
+    private Future<CheckResult> dispatch(TenantHealth tenant) {
+        return vertx.executeBlocking(tenant::evaluate, false).compose(result -> result);
+    }
+
+    /**
+     * Registers a health check instance for a tenant.
+     *
+     * @param tenantId The tenant identifier.
+     * @param name     The name of the check, unique within the tenant.
+     * @param check    The {@link HealthCheck} or {@link AsyncHealthCheck} instance.
+     * @return the tenant health.
+     */
+    private TenantHealth registerInstance(String tenantId, String name, Object check) {
+        if (tenantId == null || tenantId.isBlank()) {
+            throw new IllegalArgumentException("Tenant id must not be null or empty");
+        }
+        if (name == null || name.isBlank()) {
+            throw new IllegalArgumentException("Health check name must not be null or empty");
+        }
+        Shard shard = shardOf(tenantId);
+        synchronized (shard) {
+            TenantHealth tenant = shard.tenants.get(tenantId);
+            if (tenant == null) {
+                tenant = new TenantHealth(tenantId, HealthChecks.create(vertx));
+                shard.put(tenant);
+            }
+            CheckHistory checkHistory = history.forCheck(historyName(tenantId, name));
+            tenant.getHealthChecks().unregister(name);
+            tenant.getHealthChecks().register(name, timeout, HealthCheckAdapter.of(name, check, timeout, checkHistory));
+            tenant.getCheckNames().add(name);
+            return tenant;
+        }
+    }
+
+    /**
+     * Returns the shard a tenant is held in.
+     *
+     * @param tenantId The tenant identifier.
+     * @return the shard.
+     */
+    private Shard shardOf(String tenantId) {
+        int hash = tenantId.hashCode();
+        return shards[(hash ^ (hash >>> 16)) & (SHARDS - 1)];
+    }
+
+    /**
+     * Returns the name a tenant check's history is recorded under.
+     *
+     * @param tenantId The tenant identifier.
+     * @param name     The name of the check.
+     * @return the history name.
+     */
+    private static String historyName(String tenantId, String name) {
+        return "tenant:" + tenantId + ":" + name;
+    }
+
+    /**
+     * A copy-on-write map of tenants. Writers synchronize on the shard.
+     */
+    private static final class Shard {
+        private volatile Map<String, TenantHealth> tenants = Collections.emptyMap();
+
+        private void put(TenantHealth tenant) {
+            Map<String, TenantHealth> next = new HashMap<>(tenants);
+            next.put(tenant.getTenantId(), tenant);
+            tenants = Collections.unmodifiableMap(next);
+        }
+
+        private void remove(String tenantId) {
+            Map<String, TenantHealth> next = new HashMap<>(tenants);
+            next.remove(tenantId);
+            tenants = Collections.unmodifiableMap(next);
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.guicedee.health.implementations;
+
+import org.eclipse.microprofile.health.HealthCheck;
+import org.eclipse.microprofile.health.HealthCheckResponse;
+import org.eclipse.microprofile.health.Readiness;
+
+/**
+ * Reports readiness DOWN when the number of live threads exceeds
+ * {@link com.guicedee.health.HealthOptions#threadCountThreshold()}.
+ */
+@Readiness
+public class ThreadCountHealthCheck implements HealthCheck {
+    /**
+     * Creates a new thread count health check.
+     */
+    public ThreadCountHealthCheck() {
+    }
+
+    @Override
+    public HealthCheckResponse call() {
+        ResourceSampler sampler = HealthPreStartup.getResourceSampler();
+        int threads = sampler.getThreadCount();
+        int threshold = sampler.getThreadCountThreshold();
+        return HealthCheckResponse.named("guicedee-threads")
+                .status(threshold <= 0 || threads <= threshold)
+                .withData("count", threads)
+                .withData("peak", sampler.getPeakThreadCount())
+                .build();
+    }
+}
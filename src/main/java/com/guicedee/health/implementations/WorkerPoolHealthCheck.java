@@ -0,0 +1,35 @@
+package com.guicedee.health.implementations;
+
+import org.eclipse.microprofile.health.HealthCheck;
+import org.eclipse.microprofile.health.HealthCheckResponse;
+import org.eclipse.microprofile.health.Readiness;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reports readiness DOWN when tasks wait for a Vert.x worker thread longer than
+ * {@link com.guicedee.health.HealthOptions#workerPoolLatencyThreshold()}.
+ *
+ * <p>Vert.x does not expose the worker queue depth, so the {@link ResourceSampler} measures the queueing delay of a
+ * no-op blocking task instead; a growing delay is the observable effect of a deep queue.</p>
+ */
+@Readiness
+public class WorkerPoolHealthCheck implements HealthCheck {
+    /**
+     * Creates a new worker pool health check.
+     */
+    public WorkerPoolHealthCheck() {
+    }
+
+    @Override
+    public HealthCheckResponse call() {
+        ResourceSampler sampler = HealthPreStartup.getResourceSampler();
+        long latency = sampler.getWorkerPoolLatencyNanos();
+        long threshold = sampler.getWorkerPoolLatencyThresholdNanos();
+        return HealthCheckResponse.named("guicedee-worker-pool")
+                .status(threshold <= 0 || latency <= threshold)
+                .withData("queueWaitMs", TimeUnit.NANOSECONDS.toMillis(latency))
+                .withData("thresholdMs", TimeUnit.NANOSECONDS.toMillis(threshold))
+                .build();
+    }
+}
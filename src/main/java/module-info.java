@@ -19,6 +19,8 @@ module com.guicedee.health {
     requires transitive com.guicedee.modules.services.health;
 
     requires com.guicedee.vertx.web;
+    requires java.management;
+    requires jdk.management;
 
     requires static com.guicedee.service.registry;
 
@@ -28,9 +30,15 @@ module com.guicedee.health {
     opens com.guicedee.health.implementations to com.google.guice, com.guicedee.client, com.guicedee.guicedinjection;
     exports com.guicedee.health.implementations;
 
+    uses com.guicedee.health.HealthSpanExporter;
+
     provides com.guicedee.client.services.lifecycle.IGuiceModule with com.guicedee.health.implementations.HealthModule;
-    provides com.guicedee.client.services.lifecycle.IGuicePreStartup with com.guicedee.health.implementations.HealthPreStartup;
-    provides com.guicedee.client.services.lifecycle.IGuicePostStartup with com.guicedee.health.implementations.HealthPreStartup;
-    provides com.guicedee.vertx.web.spi.VertxRouterConfigurator with com.guicedee.health.implementations.HealthRouterConfigurator;
+    provides com.guicedee.client.services.lifecycle.IGuicePreStartup with com.guicedee.health.implementations.HealthPreStartup,
+            com.guicedee.health.implementations.StartupPhaseStart, com.guicedee.health.implementations.StartupPhaseEnd;
+    provides com.guicedee.client.services.lifecycle.IGuicePostStartup with com.guicedee.health.implementations.HealthPreStartup,
+            com.guicedee.health.implementations.StartupPhaseStart, com.guicedee.health.implementations.StartupPhaseEnd;
+    provides com.guicedee.client.services.lifecycle.IGuicePreDestroy with com.guicedee.health.implementations.HealthPreStartup;
+    provides com.guicedee.vertx.web.spi.VertxRouterConfigurator with com.guicedee.health.implementations.HealthRouterConfigurator,
+            com.guicedee.health.implementations.StartupPhaseStart, com.guicedee.health.implementations.StartupPhaseEnd;
     provides org.eclipse.microprofile.health.spi.HealthCheckResponseProvider with com.guicedee.health.implementations.mp.GuicedHealthCheckResponseProvider;
 }
@@ -0,0 +1,107 @@
+package com.guicedee.health.test;
+
+import com.guicedee.health.AsyncHealthCheck;
+import com.guicedee.health.StageHealthCheck;
+import com.guicedee.health.implementations.HealthCheckRegistry;
+import com.guicedee.health.implementations.HealthHistory;
+import io.smallrye.mutiny.Uni;
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.healthchecks.CheckResult;
+import io.vertx.ext.healthchecks.HealthChecks;
+import org.eclipse.microprofile.health.HealthCheckResponse;
+import org.eclipse.microprofile.health.Readiness;
+import org.eclipse.microprofile.health.Startup;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static com.guicedee.health.test.HealthTestSupport.await;
+import static com.guicedee.health.test.HealthTestSupport.awaitCondition;
+import static com.guicedee.health.test.HealthTestSupport.options;
+
+public class AsyncHealthCheckTest {
+    private Vertx vertx;
+    private HealthChecks healthChecks;
+    private HealthChecks readinessChecks;
+    private HealthChecks startupChecks;
+    private HealthCheckRegistry registry;
+
+    @BeforeEach
+    public void setUp() {
+        vertx = Vertx.vertx();
+        healthChecks = HealthChecks.create(vertx);
+        readinessChecks = HealthChecks.create(vertx);
+        startupChecks = HealthChecks.create(vertx);
+        registry = new HealthCheckRegistry(healthChecks, HealthChecks.create(vertx), readinessChecks, startupChecks,
+                new HealthHistory(options()), 200L);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        vertx.close();
+    }
+
+    @Test
+    public void testUniCheckIsRegisteredByItsAnnotation() throws Exception {
+        registry.register("async", new MockAsyncReadinessCheck(), HealthCheckRegistry.kindsOf(MockAsyncReadinessCheck.class));
+
+        JsonObject check = check(await(readinessChecks.checkStatus()), "async");
+        Assertions.assertEquals("UP", check.getString("status"));
+        Assertions.assertEquals("uni", check.getJsonObject("data").getString("source"));
+        Assertions.assertNotNull(check(await(healthChecks.checkStatus()), "async"));
+    }
+
+    @Test
+    public void testStageCheckIsRegisteredByItsAnnotation() throws Exception {
+        registry.register("stage", new MockStageStartupCheck(), HealthCheckRegistry.kindsOf(MockStageStartupCheck.class));
+
+        Assertions.assertEquals("UP", check(await(startupChecks.checkStatus()), "stage").getString("status"));
+        Assertions.assertEquals("UP", check(await(healthChecks.checkStatus()), "stage").getString("status"));
+        Assertions.assertTrue(await(readinessChecks.checkStatus()).getChecks().isEmpty());
+    }
+
+    @Test
+    public void testTimedOutCheckIsCancelled() throws Exception {
+        AtomicBoolean cancelled = new AtomicBoolean();
+        AsyncHealthCheck hanging = () -> Uni.createFrom().<HealthCheckResponse>emitter(emitter -> {
+        }).onCancellation().invoke(() -> cancelled.set(true));
+        registry.register("hanging", hanging);
+
+        CheckResult result = await(healthChecks.checkStatus());
+        Assertions.assertFalse(result.getUp());
+        Assertions.assertEquals("DOWN", check(result, "hanging").getString("status"));
+        awaitCondition(cancelled::get);
+    }
+
+    private static JsonObject check(CheckResult result, String id) {
+        return result.toJson().getJsonArray("checks").stream()
+                .map(o -> (JsonObject) o)
+                .filter(j -> id.equals(j.getString("id")))
+                .findFirst().orElseThrow();
+    }
+
+    @Readiness
+    public static class MockAsyncReadinessCheck implements AsyncHealthCheck {
+        @Override
+        public Uni<HealthCheckResponse> call() {
+            return Uni.createFrom().item(() -> HealthCheckResponse.named("mock-async-readiness")
+                    .up()
+                    .withData("source", "uni")
+                    .build());
+        }
+    }
+
+    @Startup
+    public static class MockStageStartupCheck implements StageHealthCheck {
+        @Override
+        public CompletionStage<HealthCheckResponse> callStage() {
+            return CompletableFuture.supplyAsync(() -> HealthCheckResponse.named("mock-stage-startup").up().build());
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package com.guicedee.health.test;
+
+import com.guicedee.health.HealthCheckKind;
+import com.guicedee.health.HealthCheckOptions;
+import com.guicedee.health.implementations.HealthCheckRegistry;
+import com.guicedee.health.implementations.HealthHistory;
+import io.vertx.core.Vertx;
+import io.vertx.ext.healthchecks.CheckResult;
+import io.vertx.ext.healthchecks.HealthChecks;
+import org.eclipse.microprofile.health.HealthCheck;
+import org.eclipse.microprofile.health.HealthCheckResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.guicedee.health.test.HealthTestSupport.options;
+
+public class CheckDependencyTest {
+    private static final AtomicBoolean databaseUp = new AtomicBoolean(true);
+    private static final AtomicInteger databaseCalls = new AtomicInteger();
+    private static final AtomicInteger repositoryCalls = new AtomicInteger();
+    private static final AtomicInteger reportingCalls = new AtomicInteger();
+
+    private Vertx vertx;
+    private HealthChecks healthChecks;
+    private HealthChecks readinessChecks;
+    private HealthCheckRegistry registry;
+
+    @BeforeEach
+    public void setUp() {
+        databaseUp.set(true);
+        databaseCalls.set(0);
+        repositoryCalls.set(0);
+        reportingCalls.set(0);
+        vertx = Vertx.vertx();
+        healthChecks = HealthChecks.create(vertx);
+        readinessChecks = HealthChecks.create(vertx);
+        registry = new HealthCheckRegistry(healthChecks, healthChecks, readinessChecks, healthChecks,
+                new HealthHistory(options()), 5000L);
+        registry.register("repository", new RepositoryCheck(), HealthCheckKind.READINESS);
+        registry.register("reporting", new ReportingCheck(), HealthCheckKind.READINESS);
+        registry.register("database", new DatabaseCheck(), HealthCheckKind.READINESS);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        vertx.close();
+    }
+
+    @Test
+    public void testDependentsRunWhenParentIsUp() throws Exception {
+        CheckResult result = evaluate(readinessChecks);
+        Assertions.assertTrue(result.getUp());
+        Assertions.assertEquals(1, databaseCalls.get(), "The parent must be evaluated once for all dependents");
+        Assertions.assertEquals(1, repositoryCalls.get());
+        Assertions.assertEquals(1, reportingCalls.get());
+    }
+
+    @Test
+    public void testParentDownSkipsDependents() throws Exception {
+        databaseUp.set(false);
+        CheckResult result = evaluate(readinessChecks);
+        Assertions.assertFalse(result.getUp());
+        Assertions.assertEquals(1, databaseCalls.get());
+        Assertions.assertEquals(0, repositoryCalls.get(), "A dependent of a DOWN check must not run");
+        Assertions.assertEquals(0, reportingCalls.get());
+
+        CheckResult repository = child(result, "repository");
+        Assertions.assertFalse(repository.getUp());
+        Assertions.assertTrue(repository.getData().getBoolean("skipped"));
+        Assertions.assertEquals("dependency database down", repository.getData().getString("reason"));
+    }
+
+    @Test
+    public void testLaterProbesEvaluateAfresh() throws Exception {
+        evaluate(readinessChecks);
+        Assertions.assertEquals(1, databaseCalls.get());
+        Thread.sleep(1100);
+        evaluate(healthChecks);
+        Assertions.assertEquals(2, databaseCalls.get());
+        Assertions.assertEquals(2, repositoryCalls.get());
+    }
+
+    @Test
+    public void testCyclesAreRejected() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> registry.dependsOn("database", "repository"));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> registry.dependsOn("database", "database"));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> registry.dependsOn("missing", "database"));
+    }
+
+    @Test
+    public void testRuntimeDependencies() throws Exception {
+        HealthCheck cacheCheck = () -> HealthCheckResponse.named("cache").up().build();
+        registry.register("cache", cacheCheck, HealthCheckKind.READINESS);
+        registry.dependsOn("cache", "database");
+        Assertions.assertEquals(Set.of("database"), registry.get("cache").getAdapter().getDependencies());
+
+        databaseUp.set(false);
+        CheckResult cache = child(evaluate(readinessChecks), "cache");
+        Assertions.assertFalse(cache.getUp());
+        Assertions.assertTrue(cache.getData().getBoolean("skipped"));
+    }
+
+    private static CheckResult evaluate(HealthChecks checks) throws Exception {
+        return checks.checkStatus().toCompletionStage().toCompletableFuture().get(5, TimeUnit.SECONDS);
+    }
+
+    private static CheckResult child(CheckResult result, String id) {
+        return result.getChecks().stream()
+                .filter(check -> id.equals(check.getId()))
+                .findFirst()
+                .orElseThrow();
+    }
+
+    public static class DatabaseCheck implements HealthCheck {
+        @Override
+        public HealthCheckResponse call() {
+            databaseCalls.incrementAndGet();
+            return HealthCheckResponse.named("database").status(databaseUp.get()).build();
+        }
+    }
+
+    @HealthCheckOptions(dependsOnNames = "database")
+    public static class RepositoryCheck implements HealthCheck {
+        @Override
+        public HealthCheckResponse call() {
+            repositoryCalls.incrementAndGet();
+            return HealthCheckResponse.named("repository").up().build();
+        }
+    }
+
+    @HealthCheckOptions(dependsOnNames = "database")
+    public static class ReportingCheck implements HealthCheck {
+        @Override
+        public HealthCheckResponse call() {
+            reportingCalls.incrementAndGet();
+            return HealthCheckResponse.named("reporting").up().build();
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.guicedee.health.test;
+
+import com.guicedee.health.implementations.CheckHistory;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+public class CheckHistoryTest {
+
+    @Test
+    public void testRingBufferKeepsNewestEntries() {
+        CheckHistory history = new CheckHistory("ring", 4, 0, 60000, false);
+        for (int i = 0; i < 10; i++) {
+            history.record(i % 2 == 0, i);
+        }
+
+        List<CheckHistory.Entry> entries = history.entries();
+        Assertions.assertEquals(4, entries.size());
+        Assertions.assertEquals(9, entries.get(0).latencyNanos());
+        Assertions.assertEquals(6, entries.get(3).latencyNanos());
+        Assertions.assertFalse(entries.get(0).up());
+        Assertions.assertEquals(10, history.getRecorded());
+    }
+
+    @Test
+    public void testConcurrentWritersNeverExposeTornEntries() throws Exception {
+        CheckHistory history = new CheckHistory("concurrent", 4, 0, 60000, false);
+        AtomicBoolean torn = new AtomicBoolean();
+        List<Thread> writers = new ArrayList<>();
+        for (int w = 0; w < 4; w++) {
+            long base = (long) w << 32;
+            writers.add(Thread.ofPlatform().start(() -> {
+                for (long i = 0; i < 200_000; i++) {
+                    // The status is derived from the latency, so a torn entry mixes the two
+                    long latency = base | i;
+                    history.record(latency % 2 == 0, latency);
+                }
+            }));
+        }
+        while (writers.stream().anyMatch(Thread::isAlive)) {
+            List<CheckHistory.Entry> entries = history.entries();
+            if (entries.size() > 4 || new HashSet<>(entries).size() != entries.size()) {
+                torn.set(true);
+            }
+            for (CheckHistory.Entry entry : entries) {
+                if (entry.up() != (entry.latencyNanos() % 2 == 0)) {
+                    torn.set(true);
+                }
+            }
+        }
+        for (Thread writer : writers) {
+            writer.join();
+        }
+        Assertions.assertFalse(torn.get(), "A torn or duplicated entry was read");
+        Assertions.assertEquals(800_000, history.getRecorded());
+        Assertions.assertEquals(4, history.entries().size());
+    }
+
+    @Test
+    public void testDisabledHistoryRecordsNothing() {
+        CheckHistory history = new CheckHistory("disabled", 0, 0, 60000, false);
+        Assertions.assertTrue(history.record(true, 1));
+        Assertions.assertTrue(history.entries().isEmpty());
+    }
+
+    @Test
+    public void testFlapDetectionHoldsStableStatus() {
+        CheckHistory history = new CheckHistory("flap", 16, 3, 60000, true);
+        Assertions.assertTrue(history.record(true, 1));
+        Assertions.assertFalse(history.record(false, 1));
+        Assertions.assertTrue(history.record(true, 1));
+        Assertions.assertFalse(history.isFlapping());
+
+        // Third transition inside the window - held at the last stable status (UP)
+        Assertions.assertTrue(history.record(false, 1));
+        Assertions.assertTrue(history.isFlapping());
+        Assertions.assertEquals(3, history.getTransitions());
+    }
+
+    @Test
+    public void testFlapDetectionWithoutHoldReportsEvaluatedStatus() {
+        CheckHistory history = new CheckHistory("flap-no-hold", 16, 2, 60000, false);
+        history.record(true, 1);
+        history.record(false, 1);
+        Assertions.assertTrue(history.record(true, 1));
+        Assertions.assertTrue(history.isFlapping());
+        Assertions.assertFalse(history.record(false, 1));
+    }
+}
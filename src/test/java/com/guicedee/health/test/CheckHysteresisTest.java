@@ -0,0 +1,45 @@
+package com.guicedee.health.test;
+
+import com.guicedee.health.implementations.CheckHysteresis;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class CheckHysteresisTest {
+
+    @Test
+    public void testDefaultThresholdsPassThrough() {
+        CheckHysteresis hysteresis = new CheckHysteresis(1, 1);
+        Assertions.assertTrue(hysteresis.apply(true));
+        Assertions.assertFalse(hysteresis.apply(false));
+        Assertions.assertTrue(hysteresis.apply(true));
+    }
+
+    @Test
+    public void testFailureThresholdDebouncesDown() {
+        CheckHysteresis hysteresis = new CheckHysteresis(3, 1);
+        Assertions.assertTrue(hysteresis.apply(true));
+        Assertions.assertTrue(hysteresis.apply(false));
+        Assertions.assertTrue(hysteresis.apply(false));
+        Assertions.assertEquals(2, hysteresis.getPendingStreak());
+        Assertions.assertFalse(hysteresis.apply(false));
+        Assertions.assertEquals(0, hysteresis.getPendingStreak());
+    }
+
+    @Test
+    public void testSuccessResetsFailureStreak() {
+        CheckHysteresis hysteresis = new CheckHysteresis(2, 1);
+        Assertions.assertTrue(hysteresis.apply(true));
+        Assertions.assertTrue(hysteresis.apply(false));
+        Assertions.assertTrue(hysteresis.apply(true));
+        Assertions.assertTrue(hysteresis.apply(false));
+        Assertions.assertFalse(hysteresis.apply(false));
+    }
+
+    @Test
+    public void testSuccessThresholdDebouncesUp() {
+        CheckHysteresis hysteresis = new CheckHysteresis(1, 2);
+        Assertions.assertFalse(hysteresis.apply(false));
+        Assertions.assertFalse(hysteresis.apply(true));
+        Assertions.assertTrue(hysteresis.apply(true));
+    }
+}
@@ -0,0 +1,168 @@
+package com.guicedee.health.test;
+
+import com.guicedee.health.implementations.ClusterHealth;
+import com.guicedee.health.implementations.HealthCheckRegistry;
+import com.guicedee.health.implementations.HealthHistory;
+import com.guicedee.health.implementations.ShutdownDrain;
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.healthchecks.HealthChecks;
+import org.eclipse.microprofile.health.HealthCheck;
+import org.eclipse.microprofile.health.HealthCheckResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static com.guicedee.health.test.HealthTestSupport.awaitCondition;
+import static com.guicedee.health.test.HealthTestSupport.options;
+
+public class ClusterHealthTest {
+    private Vertx vertx;
+    private ScheduledExecutorService executor;
+
+    @BeforeEach
+    public void setUp() {
+        vertx = Vertx.vertx();
+        executor = Executors.newScheduledThreadPool(2);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        executor.shutdownNow();
+        vertx.close();
+    }
+
+    @Test
+    public void testNodesShareStateAndLeave() throws InterruptedException {
+        AtomicBoolean databaseUp = new AtomicBoolean(false);
+        ClusterHealth nodeA = node("node-a", () -> true);
+        ClusterHealth nodeB = node("node-b", databaseUp::get);
+        nodeA.start();
+        nodeB.start();
+
+        awaitCondition(() -> nodeA.getNode("node-b") != null && !nodeA.getNode("node-b").up() && nodeB.getNode("node-a") != null);
+        JsonObject view = nodeA.toJson();
+        Assertions.assertEquals(2, view.getInteger("nodes"));
+        Assertions.assertEquals("DOWN", view.getString("status"));
+        Assertions.assertEquals(new JsonArray().add("database"), nodeB.toJson().getJsonArray("checks").stream()
+                .map(o -> (JsonObject) o)
+                .filter(j -> "node-b".equals(j.getString("id")))
+                .findFirst().orElseThrow().getJsonArray("down"));
+
+        long sequence = nodeA.getNode("node-b").sequence();
+        databaseUp.set(true);
+        awaitCondition(() -> nodeA.getNode("node-b").up());
+        Assertions.assertTrue(nodeA.getNode("node-b").sequence() > sequence);
+        Assertions.assertEquals("UP", nodeA.toJson().getString("status"));
+
+        nodeB.stop();
+        awaitCondition(() -> nodeA.getNode("node-b") == null);
+        nodeA.stop();
+    }
+
+    @Test
+    public void testLateJoinerLearnsExistingNodes() throws InterruptedException {
+        ClusterHealth nodeA = node("node-a", () -> true);
+        nodeA.start();
+        awaitCondition(() -> nodeA.getNode("node-a") != null);
+
+        ClusterHealth nodeC = node("node-c", () -> true);
+        nodeC.start();
+        awaitCondition(() -> nodeC.getNode("node-a") != null);
+        nodeC.stop();
+        nodeA.stop();
+    }
+
+    @Test
+    public void testSilentNodesExpire() throws InterruptedException {
+        ClusterHealth nodeA = node("node-a", () -> true);
+        nodeA.start();
+        vertx.eventBus().publish("guicedee.health.cluster", new JsonObject()
+                .put("type", "snapshot")
+                .put("node", "ghost")
+                .put("epoch", 1L)
+                .put("seq", 1L)
+                .put("up", true)
+                .put("down", new JsonArray()));
+        awaitCondition(() -> nodeA.getNode("ghost") != null);
+        awaitCondition(() -> nodeA.getNode("ghost") == null);
+        nodeA.stop();
+    }
+
+    @Test
+    public void testSnapshotFollowsTheProbesWithoutRunningChecks() throws InterruptedException {
+        AtomicInteger calls = new AtomicInteger();
+        AtomicBoolean databaseUp = new AtomicBoolean(false);
+        HealthChecks checks = HealthChecks.create(vertx);
+        ClusterHealth nodeA = node("node-a", checks, () -> {
+            calls.incrementAndGet();
+            return databaseUp.get();
+        });
+        nodeA.start();
+
+        // Not probed yet: published without the check and without running it
+        awaitCondition(() -> nodeA.getNode("node-a") != null);
+        Thread.sleep(200);
+        Assertions.assertEquals(0, calls.get());
+        Assertions.assertTrue(nodeA.getNode("node-a").up());
+
+        checks.checkStatus();
+        awaitCondition(() -> !nodeA.getNode("node-a").up());
+        Assertions.assertEquals(List.of("database"), nodeA.getNode("node-a").down());
+        Assertions.assertEquals(1, calls.get());
+        nodeA.stop();
+    }
+
+    @Test
+    public void testDrainingNodeIsAdvertisedDown() throws InterruptedException {
+        ShutdownDrain drain = new ShutdownDrain(options(Map.of("drainPeriod", 0L, "drainTimeout", 0L)));
+        HealthChecks checks = HealthChecks.create(vertx);
+        ClusterHealth nodeA = node("node-a", () -> true);
+        BooleanSupplier serving = () -> !drain.isDraining();
+        ClusterHealth nodeB = node("node-b", checks, () -> true, Map.of("guicedee-shutdown", serving));
+        vertx.setPeriodic(20, id -> checks.checkStatus());
+        nodeA.start();
+        nodeB.start();
+        awaitCondition(() -> nodeA.getNode("node-b") != null && nodeA.getNode("node-b").up());
+
+        Assertions.assertTrue(drain.drain());
+        awaitCondition(() -> !nodeA.getNode("node-b").up());
+        Assertions.assertEquals(List.of("guicedee-shutdown"), nodeA.getNode("node-b").down());
+        nodeB.stop();
+        nodeA.stop();
+    }
+
+    private ClusterHealth node(String nodeId, BooleanSupplier databaseUp) {
+        HealthChecks checks = HealthChecks.create(vertx);
+        ClusterHealth node = node(nodeId, checks, databaseUp, Map.of());
+        // Probe the checks as the health endpoints would
+        vertx.setPeriodic(20, id -> checks.checkStatus());
+        return node;
+    }
+
+    private ClusterHealth node(String nodeId, HealthChecks checks, BooleanSupplier databaseUp) {
+        return node(nodeId, checks, databaseUp, Map.of());
+    }
+
+    private ClusterHealth node(String nodeId, HealthChecks checks, BooleanSupplier databaseUp,
+                               Map<String, BooleanSupplier> procedures) {
+        HealthCheckRegistry registry = new HealthCheckRegistry(checks, checks, checks, checks,
+                new HealthHistory(options(Map.of())), 2000L);
+        HealthCheck database = () -> HealthCheckResponse.named("database").status(databaseUp.getAsBoolean()).build();
+        registry.register("database", database);
+        return new ClusterHealth(vertx.eventBus(), registry, procedures, executor, options(Map.of(
+                "clusterNodeId", nodeId,
+                "clusterPublishInterval", 50L,
+                "clusterNodeTtl", 600L)));
+    }
+}
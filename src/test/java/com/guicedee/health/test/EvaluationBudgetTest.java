@@ -0,0 +1,141 @@
+package com.guicedee.health.test;
+
+import com.guicedee.health.AsyncHealthCheck;
+import com.guicedee.health.HealthCheckKind;
+import com.guicedee.health.HealthCheckOptions;
+import com.guicedee.health.HealthCheckPriority;
+import com.guicedee.health.implementations.HealthCheckRegistry;
+import com.guicedee.health.implementations.HealthHistory;
+import io.smallrye.mutiny.Uni;
+import io.vertx.core.Vertx;
+import io.vertx.ext.healthchecks.CheckResult;
+import io.vertx.ext.healthchecks.HealthChecks;
+import org.eclipse.microprofile.health.HealthCheck;
+import org.eclipse.microprofile.health.HealthCheckResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.guicedee.health.test.HealthTestSupport.awaitCondition;
+import static com.guicedee.health.test.HealthTestSupport.options;
+
+public class EvaluationBudgetTest {
+    private static final AtomicLong slowDelay = new AtomicLong();
+    private static final AtomicLong criticalDelay = new AtomicLong();
+    private static final AtomicInteger informationalCalls = new AtomicInteger();
+
+    private Vertx vertx;
+    private HealthChecks healthChecks;
+    private HealthCheckRegistry registry;
+
+    @BeforeEach
+    public void setUp() {
+        slowDelay.set(0);
+        criticalDelay.set(0);
+        informationalCalls.set(0);
+        vertx = Vertx.vertx();
+        healthChecks = HealthChecks.create(vertx);
+        registry = new HealthCheckRegistry(healthChecks, healthChecks, healthChecks, healthChecks,
+                new HealthHistory(options()), 5000L);
+        registry.setEvaluationBudget(200L, vertx);
+        registry.register("slow", new SlowCheck(), HealthCheckKind.READINESS);
+        registry.register("critical", new CriticalCheck(), HealthCheckKind.READINESS);
+        registry.register("informational", new InformationalCheck(), HealthCheckKind.READINESS);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        vertx.close();
+    }
+
+    @Test
+    public void testFirstEvaluationIsFresh() throws Exception {
+        slowDelay.set(400);
+        long start = System.nanoTime();
+        CheckResult result = evaluate();
+        Assertions.assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(400),
+                "Without a previous result the check must be awaited");
+        for (CheckResult check : result.getChecks()) {
+            Assertions.assertFalse(check.getData().getBoolean("cached"), check.getId());
+        }
+    }
+
+    @Test
+    public void testNormalCheckIsCachedWhenBudgetIsExhausted() throws Exception {
+        evaluate();
+        slowDelay.set(1500);
+        long start = System.nanoTime();
+        CheckResult result = evaluate();
+        long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        Assertions.assertTrue(elapsed < 1000, "The slow check must not hold up the endpoint, took " + elapsed + "ms");
+
+        CheckResult slow = child(result, "slow");
+        Assertions.assertTrue(slow.getUp());
+        Assertions.assertTrue(slow.getData().getBoolean("cached"));
+        Assertions.assertTrue(slow.getData().containsKey("ageMs"));
+        Assertions.assertFalse(child(result, "critical").getData().getBoolean("cached"));
+    }
+
+    @Test
+    public void testCriticalCheckIsAlwaysAwaited() throws Exception {
+        evaluate();
+        criticalDelay.set(500);
+        long start = System.nanoTime();
+        CheckResult result = evaluate();
+        Assertions.assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(500));
+        Assertions.assertFalse(child(result, "critical").getData().getBoolean("cached"));
+    }
+
+    @Test
+    public void testInformationalCheckIsRefreshedInBackground() throws Exception {
+        evaluate();
+        Assertions.assertEquals(1, informationalCalls.get());
+        CheckResult informational = child(evaluate(), "informational");
+        Assertions.assertTrue(informational.getData().getBoolean("cached"));
+        awaitCondition(() -> informationalCalls.get() >= 2);
+        Assertions.assertEquals(2, informationalCalls.get(), "A cached answer must still trigger a refresh");
+    }
+
+    private CheckResult evaluate() throws Exception {
+        return healthChecks.checkStatus().toCompletionStage().toCompletableFuture().get(5, TimeUnit.SECONDS);
+    }
+
+    private static CheckResult child(CheckResult result, String id) {
+        return result.getChecks().stream()
+                .filter(check -> id.equals(check.getId()))
+                .findFirst()
+                .orElseThrow();
+    }
+
+    public static class SlowCheck implements AsyncHealthCheck {
+        @Override
+        public Uni<HealthCheckResponse> call() {
+            return Uni.createFrom().item(() -> HealthCheckResponse.named("slow").up().build())
+                    .onItem().delayIt().by(Duration.ofMillis(Math.max(1L, slowDelay.get())));
+        }
+    }
+
+    @HealthCheckOptions(priority = HealthCheckPriority.CRITICAL)
+    public static class CriticalCheck implements AsyncHealthCheck {
+        @Override
+        public Uni<HealthCheckResponse> call() {
+            return Uni.createFrom().item(() -> HealthCheckResponse.named("critical").up().build())
+                    .onItem().delayIt().by(Duration.ofMillis(Math.max(1L, criticalDelay.get())));
+        }
+    }
+
+    @HealthCheckOptions(priority = HealthCheckPriority.INFORMATIONAL)
+    public static class InformationalCheck implements HealthCheck {
+        @Override
+        public HealthCheckResponse call() {
+            informationalCalls.incrementAndGet();
+            return HealthCheckResponse.named("informational").up().build();
+        }
+    }
+}
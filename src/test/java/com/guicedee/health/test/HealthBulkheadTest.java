@@ -0,0 +1,170 @@
+package com.guicedee.health.test;
+
+import com.guicedee.health.HealthCheckKind;
+import com.guicedee.health.HealthCheckOptions;
+import com.guicedee.health.implementations.HealthBulkhead;
+import com.guicedee.health.implementations.HealthCheckRegistry;
+import com.guicedee.health.implementations.HealthHistory;
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.ext.healthchecks.CheckResult;
+import io.vertx.ext.healthchecks.HealthChecks;
+import org.eclipse.microprofile.health.HealthCheck;
+import org.eclipse.microprofile.health.HealthCheckResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+import static com.guicedee.health.test.HealthTestSupport.await;
+import static com.guicedee.health.test.HealthTestSupport.awaitCondition;
+import static com.guicedee.health.test.HealthTestSupport.options;
+
+public class HealthBulkheadTest {
+    private Vertx vertx;
+    private ScheduledExecutorService executor;
+    private HealthChecks healthChecks;
+    private HealthCheckRegistry registry;
+    private HealthBulkhead bulkhead;
+
+    @BeforeEach
+    public void setUp() {
+        vertx = Vertx.vertx();
+        executor = Executors.newSingleThreadScheduledExecutor();
+        healthChecks = HealthChecks.create(vertx);
+        registry = new HealthCheckRegistry(healthChecks, healthChecks, healthChecks, healthChecks,
+                new HealthHistory(options(Map.of())), 300L);
+        bulkhead = new HealthBulkhead(executor, options(Map.of("bulkheadThreads", 2, "bulkheadQueueSize", 4)));
+        registry.setBulkhead(bulkhead);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        bulkhead.shutdown();
+        executor.shutdownNow();
+        vertx.close();
+    }
+
+    @Test
+    public void testConcurrentProbesJoinASingleExecution() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        HealthCheck slow = () -> {
+            calls.incrementAndGet();
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(150));
+            return HealthCheckResponse.named("slow").up().build();
+        };
+        registry.register("slow", slow, HealthCheckKind.READINESS);
+
+        List<Future<CheckResult>> probes = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            probes.add(healthChecks.checkStatus());
+        }
+        for (Future<CheckResult> probe : probes) {
+            Assertions.assertTrue(await(probe).getUp());
+        }
+        Assertions.assertEquals(1, calls.get());
+    }
+
+    @Test
+    public void testInterruptibleHungExecutionIsAbandonedAndInterrupted() throws Exception {
+        AtomicBoolean interrupted = new AtomicBoolean();
+        HealthCheck hung = () -> {
+            try {
+                Thread.sleep(60_000);
+            } catch (InterruptedException e) {
+                interrupted.set(true);
+                throw new IllegalStateException("Interrupted", e);
+            }
+            return HealthCheckResponse.named("hung").up().build();
+        };
+        registry.register("hung", hung, HealthCheckKind.READINESS);
+
+        Assertions.assertFalse(await(healthChecks.checkStatus()).getUp());
+        awaitCondition(interrupted::get);
+        awaitCondition(() -> bulkhead.getStuckCount() == 0);
+        HealthBulkhead.Gauge gauge = bulkhead.getGauges().get(HealthBulkhead.DEFAULT_GROUP);
+        Assertions.assertEquals(1, gauge.abandoned());
+    }
+
+    @Test
+    public void testStuckExecutionIsIsolatedToItsCheckAndGroup() throws Exception {
+        AtomicBoolean release = new AtomicBoolean();
+        AtomicInteger calls = new AtomicInteger();
+        registry.register("stuck", new StuckCheck(release, calls), HealthCheckKind.READINESS);
+        registry.register("database", new DatabaseCheck(), HealthCheckKind.READINESS);
+
+        for (int i = 0; i < 10; i++) {
+            CheckResult result = await(healthChecks.checkStatus());
+            Assertions.assertFalse(result.getUp());
+            Assertions.assertTrue(check(result, "database").getUp(), "Checks of other groups must keep answering");
+        }
+        awaitCondition(() -> bulkhead.getStuckCount() == 1);
+        Assertions.assertEquals(1, calls.get(), "A stuck check must not be started again until it returns");
+
+        HealthBulkhead.Gauge gauge = bulkhead.getGauges().get("legacy");
+        Assertions.assertEquals(1, gauge.stuck());
+        Assertions.assertTrue(gauge.rejected() > 0);
+        Assertions.assertTrue(gauge.active() <= gauge.threads());
+
+        release.set(true);
+        awaitCondition(() -> bulkhead.getStuckCount() == 0);
+        Assertions.assertTrue(await(healthChecks.checkStatus()).getUp());
+        Assertions.assertEquals(2, calls.get());
+    }
+
+    @Test
+    public void testGaugesAreReportedAsACheck() throws Exception {
+        registry.register("database", new DatabaseCheck(), HealthCheckKind.READINESS);
+        await(healthChecks.checkStatus());
+        HealthChecks gauges = HealthChecks.create(vertx);
+        gauges.register("guicedee-bulkheads", bulkhead);
+        CheckResult result = await(gauges.checkStatus());
+        Assertions.assertTrue(result.getUp());
+        Assertions.assertEquals(2, result.getChecks().getFirst().getData().getJsonObject("infrastructure").getInteger("threads"));
+    }
+
+    /**
+     * A check that ignores interruption until released, and is UP once released.
+     */
+    @HealthCheckOptions(group = "legacy")
+    public static class StuckCheck implements HealthCheck {
+        private final AtomicBoolean release;
+        private final AtomicInteger calls;
+
+        public StuckCheck(AtomicBoolean release, AtomicInteger calls) {
+            this.release = release;
+            this.calls = calls;
+        }
+
+        @Override
+        public HealthCheckResponse call() {
+            calls.incrementAndGet();
+            while (!release.get()) {
+                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(5));
+            }
+            return HealthCheckResponse.named("stuck").up().build();
+        }
+    }
+
+    @HealthCheckOptions(group = "infrastructure")
+    public static class DatabaseCheck implements HealthCheck {
+        @Override
+        public HealthCheckResponse call() {
+            return HealthCheckResponse.named("database").up().build();
+        }
+    }
+
+    private static CheckResult check(CheckResult result, String id) {
+        return result.getChecks().stream().filter(check -> id.equals(check.getId())).findFirst().orElseThrow();
+    }
+}
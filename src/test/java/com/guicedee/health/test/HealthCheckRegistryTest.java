@@ -0,0 +1,108 @@
+package com.guicedee.health.test;
+
+import com.guicedee.health.HealthCheckKind;
+import com.guicedee.health.implementations.HealthCheckRegistry;
+import com.guicedee.health.implementations.HealthHistory;
+import io.vertx.core.Vertx;
+import io.vertx.ext.healthchecks.CheckResult;
+import io.vertx.ext.healthchecks.HealthChecks;
+import org.eclipse.microprofile.health.HealthCheck;
+import org.eclipse.microprofile.health.HealthCheckResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+import static com.guicedee.health.test.HealthTestSupport.options;
+
+public class HealthCheckRegistryTest {
+    private Vertx vertx;
+    private HealthChecks healthChecks;
+    private HealthChecks livenessChecks;
+    private HealthChecks readinessChecks;
+    private HealthCheckRegistry registry;
+
+    @BeforeEach
+    public void setUp() {
+        vertx = Vertx.vertx();
+        healthChecks = HealthChecks.create(vertx);
+        livenessChecks = HealthChecks.create(vertx);
+        readinessChecks = HealthChecks.create(vertx);
+        registry = new HealthCheckRegistry(healthChecks, livenessChecks, readinessChecks, healthChecks,
+                new HealthHistory(options()), 2000L);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        vertx.close();
+    }
+
+    @Test
+    public void testReplacementNeverLeavesTheEndpointWithoutTheCheck() throws Exception {
+        registry.register("datasource", down("first"), HealthCheckKind.READINESS);
+        AtomicBoolean stop = new AtomicBoolean();
+        Thread replacer = Thread.ofPlatform().start(() -> {
+            for (int i = 0; !stop.get(); i++) {
+                registry.register("datasource", down("replacement-" + i), HealthCheckKind.READINESS);
+            }
+        });
+        try {
+            for (int i = 0; i < 500; i++) {
+                CheckResult result = evaluate(readinessChecks);
+                Assertions.assertFalse(result.getUp(), "A probe answered UP without the replaced DOWN check");
+                Assertions.assertEquals(1, result.getChecks().size());
+            }
+        } finally {
+            stop.set(true);
+            replacer.join();
+        }
+    }
+
+    @Test
+    public void testReplacementMovesTheCheckBetweenEndpoints() throws Exception {
+        registry.register("cache", down("cache"), HealthCheckKind.READINESS);
+        Assertions.assertFalse(evaluate(readinessChecks).getUp());
+
+        registry.register("cache", down("cache"), HealthCheckKind.LIVENESS);
+        Assertions.assertTrue(evaluate(readinessChecks).getChecks().isEmpty());
+        Assertions.assertEquals(1, evaluate(livenessChecks).getChecks().size());
+        Assertions.assertEquals(1, evaluate(healthChecks).getChecks().size());
+
+        Assertions.assertTrue(registry.unregister("cache"));
+        Assertions.assertTrue(evaluate(livenessChecks).getChecks().isEmpty());
+        Assertions.assertTrue(evaluate(healthChecks).getChecks().isEmpty());
+    }
+
+    @Test
+    public void testInstancesOfTheSameCheckAreToldApartByName() throws Exception {
+        registry.register("tenant-a-datasource", up("tenant-a"), HealthCheckKind.READINESS);
+        registry.register("tenant-b-datasource", up("tenant-b"), HealthCheckKind.READINESS);
+        Assertions.assertNotNull(registry.get("tenant-a-datasource"));
+        Assertions.assertEquals(Set.of("tenant-a-datasource", "tenant-b-datasource"), ids(evaluate(readinessChecks)));
+
+        Assertions.assertTrue(registry.unregister("tenant-a-datasource"));
+        Assertions.assertFalse(registry.unregister("tenant-a-datasource"));
+        Assertions.assertEquals(Set.of("tenant-b-datasource"), ids(evaluate(readinessChecks)));
+    }
+
+    private static HealthCheck up(String name) {
+        return () -> HealthCheckResponse.named(name).up().build();
+    }
+
+    private static Set<String> ids(CheckResult result) {
+        return result.getChecks().stream().map(CheckResult::getId).collect(Collectors.toSet());
+    }
+
+    private static HealthCheck down(String name) {
+        return () -> HealthCheckResponse.named(name).down().build();
+    }
+
+    private static CheckResult evaluate(HealthChecks checks) throws Exception {
+        return checks.checkStatus().toCompletionStage().toCompletableFuture().get(5, TimeUnit.SECONDS);
+    }
+}
@@ -0,0 +1,66 @@
+package com.guicedee.health.test;
+
+import com.guicedee.health.implementations.HealthConcurrencyBudget;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class HealthConcurrencyBudgetTest {
+
+    @Test
+    public void testLimitsConcurrentTasks() {
+        HealthConcurrencyBudget budget = new HealthConcurrencyBudget(2);
+        List<Promise<Integer>> running = new ArrayList<>();
+        List<Future<Integer>> results = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            results.add(budget.submit(() -> {
+                Promise<Integer> promise = Promise.promise();
+                running.add(promise);
+                return promise.future();
+            }));
+        }
+        Assertions.assertEquals(2, running.size());
+        Assertions.assertEquals(2, budget.getInFlight());
+        Assertions.assertEquals(3, budget.getWaiting());
+
+        running.get(0).complete(0);
+        Assertions.assertTrue(results.get(0).succeeded());
+        Assertions.assertEquals(3, running.size());
+        Assertions.assertEquals(2, budget.getInFlight());
+
+        for (int i = 1; i < 5; i++) {
+            running.get(i).complete(i);
+        }
+        Assertions.assertEquals(0, budget.getInFlight());
+        Assertions.assertEquals(0, budget.getWaiting());
+        Assertions.assertEquals(4, results.get(4).result());
+    }
+
+    @Test
+    public void testSynchronousTasksDoNotRecurse() {
+        HealthConcurrencyBudget budget = new HealthConcurrencyBudget(1);
+        int count = 10_000;
+        List<Future<Integer>> results = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int value = i;
+            results.add(budget.submit(() -> Future.succeededFuture(value)));
+        }
+        Assertions.assertTrue(results.stream().allMatch(Future::succeeded));
+        Assertions.assertEquals(0, budget.getInFlight());
+    }
+
+    @Test
+    public void testThrowingTaskFailsItsFuture() {
+        HealthConcurrencyBudget budget = new HealthConcurrencyBudget(1);
+        Future<Integer> failed = budget.submit(() -> {
+            throw new IllegalStateException("boom");
+        });
+        Assertions.assertTrue(failed.failed());
+        Assertions.assertEquals(0, budget.getInFlight());
+        Assertions.assertTrue(budget.submit(() -> Future.succeededFuture(1)).succeeded());
+    }
+}
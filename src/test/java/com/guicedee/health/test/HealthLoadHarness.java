@@ -0,0 +1,380 @@
+package com.guicedee.health.test;
+
+import com.guicedee.client.IGuiceContext;
+import com.guicedee.health.AsyncHealthCheck;
+import com.guicedee.health.HealthCheckKind;
+import com.guicedee.health.HealthOptions;
+import com.guicedee.health.implementations.HealthCheckRegistry;
+import com.guicedee.health.implementations.HealthPreStartup;
+import com.guicedee.health.implementations.HealthRouterConfigurator;
+import com.guicedee.health.implementations.LivenessMonitor;
+import io.smallrye.mutiny.Uni;
+import io.vertx.core.Vertx;
+import io.vertx.core.http.HttpClient;
+import io.vertx.core.http.HttpClientOptions;
+import io.vertx.core.http.HttpMethod;
+import io.vertx.core.http.HttpServer;
+import io.vertx.core.http.PoolOptions;
+import io.vertx.ext.web.Router;
+import org.eclipse.microprofile.health.HealthCheck;
+import org.eclipse.microprofile.health.HealthCheckResponse;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Drives the health endpoints of a local GuicedEE application over HTTP and reports how many probes per second it
+ * absorbs.
+ *
+ * <p>The harness boots GuicedEE, registers a configurable mix of synthetic checks through the
+ * {@link HealthCheckRegistry}, mounts the real {@link HealthRouterConfigurator} routes on an HTTP server bound to a
+ * random local port, and drives one endpoint with a Vert.x HTTP client from a separate Vert.x instance. It reports
+ * throughput, p50/p99/p99.9 latency, response codes, and the event-loop lag of the serving Vert.x instance. No
+ * external services are needed.</p>
+ *
+ * <p>Every setting can be overridden with a system property, for example:</p>
+ * <pre>
+ * mvn test -Dtest=HealthLoadTest -Dhealth.load=true -Dhealth.load.duration=30000 -Dhealth.load.concurrency=64 -Dhealth.load.blocking=4
+ * </pre>
+ */
+public class HealthLoadHarness {
+    private static final String PREFIX = "health.load.";
+    private static final long LAG_INTERVAL_MILLIS = 10;
+
+    private final Config config;
+
+    /**
+     * Creates a harness for a configuration.
+     *
+     * @param config The load configuration.
+     */
+    public HealthLoadHarness(Config config) {
+        this.config = config;
+    }
+
+    /**
+     * Runs the harness with the configuration read from the system properties and prints the report.
+     *
+     * @param args ignored
+     * @throws Exception if the run fails
+     */
+    public static void main(String[] args) throws Exception {
+        System.out.println(new HealthLoadHarness(Config.fromSystemProperties(Config.defaults())).run());
+        System.exit(0);
+    }
+
+    /**
+     * Runs a warm-up followed by the measured load.
+     *
+     * @return the report of the measured run.
+     * @throws Exception if the application or the server cannot be started
+     */
+    public Report run() throws Exception {
+        IGuiceContext.instance().inject();
+        HealthCheckRegistry registry = HealthPreStartup.getHealthCheckRegistry();
+        List<String> registered = registerChecks(registry);
+
+        Vertx serverVertx = Vertx.vertx();
+        Vertx clientVertx = Vertx.vertx();
+        try {
+            Router router = Router.router(serverVertx);
+            new HealthRouterConfigurator().builder(router);
+            HttpServer server = serverVertx.createHttpServer()
+                    .requestHandler(router)
+                    .listen(0, "localhost")
+                    .toCompletionStage().toCompletableFuture().get(10, TimeUnit.SECONDS);
+
+            HttpClient client = clientVertx.createHttpClient(new HttpClientOptions()
+                            .setDefaultHost("localhost")
+                            .setDefaultPort(server.actualPort())
+                            .setKeepAlive(true),
+                    new PoolOptions().setHttp1MaxSize(config.concurrency()));
+
+            drive(client, config.warmupMillis(), null);
+
+            Recorder latency = new Recorder();
+            Recorder lag = new Recorder();
+            AtomicLong appLag = new AtomicLong();
+            long lagTimer = trackLag(serverVertx, lag, appLag);
+            long start = System.nanoTime();
+            Map<Integer, Long> statuses = drive(client, config.durationMillis(), latency);
+            long elapsed = System.nanoTime() - start;
+            serverVertx.cancelTimer(lagTimer);
+
+            client.close().toCompletionStage().toCompletableFuture().get(10, TimeUnit.SECONDS);
+            server.close().toCompletionStage().toCompletableFuture().get(10, TimeUnit.SECONDS);
+            return new Report(config, latency.count(), elapsed, statuses, latency.snapshot(), lag.snapshot(),
+                    TimeUnit.NANOSECONDS.toMillis(appLag.get()));
+        } finally {
+            registered.forEach(registry::unregister);
+            clientVertx.close();
+            serverVertx.close();
+        }
+    }
+
+    /**
+     * Registers the synthetic checks with the endpoint kinds of the driven path.
+     *
+     * @param registry the registry to register with
+     * @return the registered names
+     */
+    private List<String> registerChecks(HealthCheckRegistry registry) {
+        HealthCheckKind kind = kindOf(config.path());
+        List<String> names = new ArrayList<>();
+        for (int i = 0; i < config.fastChecks(); i++) {
+            String name = "load-fast-" + i;
+            HealthCheck check = () -> HealthCheckResponse.named(name).up().build();
+            registry.register(name, check, kind);
+            names.add(name);
+        }
+        for (int i = 0; i < config.slowChecks(); i++) {
+            String name = "load-slow-" + i;
+            AsyncHealthCheck check = new AsyncHealthCheck() {
+                @Override
+                public Uni<HealthCheckResponse> call() {
+                    return Uni.createFrom().item(() -> HealthCheckResponse.named(name).up().build())
+                            .onItem().delayIt().by(Duration.ofMillis(config.slowLatencyMillis()));
+                }
+            };
+            registry.register(name, check, kind);
+            names.add(name);
+        }
+        for (int i = 0; i < config.blockingChecks(); i++) {
+            String name = "load-blocking-" + i;
+            HealthCheck check = () -> {
+                try {
+                    Thread.sleep(config.blockingLatencyMillis());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return HealthCheckResponse.named(name).up().build();
+            };
+            registry.register(name, check, kind);
+            names.add(name);
+        }
+        for (int i = 0; i < config.failingChecks(); i++) {
+            String name = "load-failing-" + i;
+            HealthCheck check = () -> {
+                throw new IllegalStateException("Synthetic failure");
+            };
+            registry.register(name, check, kind);
+            names.add(name);
+        }
+        return names;
+    }
+
+    /**
+     * Sends requests from {@link Config#concurrency()} concurrent clients until the duration elapses.
+     *
+     * @param client   the HTTP client
+     * @param millis   the duration
+     * @param latency  the recorder of the request latencies, or null during warm-up
+     * @return the number of responses per status code, with {@code -1} counting failed requests
+     * @throws InterruptedException if interrupted while waiting
+     */
+    private Map<Integer, Long> drive(HttpClient client, long millis, Recorder latency) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(millis);
+        Map<Integer, LongAdder> codes = new ConcurrentHashMap<>();
+        CountDownLatch done = new CountDownLatch(config.concurrency());
+        for (int i = 0; i < config.concurrency(); i++) {
+            send(client, deadline, latency, codes, done);
+        }
+        if (!done.await(millis + 30_000, TimeUnit.MILLISECONDS)) {
+            throw new IllegalStateException("Requests did not complete within 30 seconds of the deadline");
+        }
+        Map<Integer, Long> result = new TreeMap<>();
+        codes.forEach((code, count) -> result.put(code, count.sum()));
+        return result;
+    }
+
+    private void send(HttpClient client, long deadline, Recorder latency, Map<Integer, LongAdder> codes, CountDownLatch done) {
+        if (System.nanoTime() >= deadline) {
+            done.countDown();
+            return;
+        }
+        long start = System.nanoTime();
+        client.request(HttpMethod.GET, config.path())
+                .compose(request -> request.send())
+                .compose(response -> response.body().map(body -> response.statusCode()))
+                .onComplete(ar -> {
+                    if (latency != null) {
+                        latency.record(System.nanoTime() - start);
+                    }
+                    codes.computeIfAbsent(ar.succeeded() ? ar.result() : -1, code -> new LongAdder()).increment();
+                    send(client, deadline, latency, codes, done);
+                });
+    }
+
+    /**
+     * Measures how late a periodic timer fires on the serving Vert.x instance, and samples the event-loop lag
+     * reported by the {@link LivenessMonitor} of the application.
+     *
+     * @param vertx  the serving Vert.x instance
+     * @param lag    the recorder of the timer lateness
+     * @param appLag the largest application event-loop lag seen, in nanoseconds
+     * @return the timer id
+     */
+    private static long trackLag(Vertx vertx, Recorder lag, AtomicLong appLag) {
+        long interval = TimeUnit.MILLISECONDS.toNanos(LAG_INTERVAL_MILLIS);
+        AtomicLong last = new AtomicLong(System.nanoTime());
+        return vertx.setPeriodic(LAG_INTERVAL_MILLIS, id -> {
+            long now = System.nanoTime();
+            lag.record(Math.max(0L, now - last.getAndSet(now) - interval));
+            LivenessMonitor monitor = HealthPreStartup.getLivenessMonitor();
+            appLag.accumulateAndGet(monitor.getMaxEventLoopLagNanos(), Math::max);
+        });
+    }
+
+    private static HealthCheckKind kindOf(String path) {
+        HealthOptions options = HealthPreStartup.getEffectiveOptions();
+        if (path.equals(options.readinessPath())) {
+            return HealthCheckKind.READINESS;
+        }
+        if (path.equals(options.livenessPath())) {
+            return HealthCheckKind.LIVENESS;
+        }
+        if (path.equals(options.startupPath())) {
+            return HealthCheckKind.STARTUP;
+        }
+        return HealthCheckKind.GENERIC;
+    }
+
+    /**
+     * The load to apply.
+     *
+     * @param path                  The endpoint path to drive.
+     * @param concurrency           The number of requests kept in flight.
+     * @param warmupMillis          The unmeasured warm-up duration.
+     * @param durationMillis        The measured duration.
+     * @param fastChecks            The number of checks answering immediately.
+     * @param slowChecks            The number of asynchronous checks answering after {@code slowLatencyMillis}.
+     * @param slowLatencyMillis     The latency of the slow checks.
+     * @param blockingChecks        The number of checks blocking their calling thread for {@code blockingLatencyMillis}.
+     * @param blockingLatencyMillis The latency of the blocking checks.
+     * @param failingChecks         The number of checks throwing an exception.
+     */
+    public record Config(String path, int concurrency, long warmupMillis, long durationMillis,
+                         int fastChecks, int slowChecks, long slowLatencyMillis,
+                         int blockingChecks, long blockingLatencyMillis, int failingChecks) {
+        /**
+         * Returns a short default load: 16 concurrent clients on {@code /health/ready} for two seconds, with 20 fast,
+         * 5 slow (20ms), 1 blocking (2ms) and 1 failing check.
+         *
+         * @return the default configuration.
+         */
+        public static Config defaults() {
+            return new Config("/health/ready", 16, 500, 2000, 20, 5, 20, 1, 2, 1);
+        }
+
+        /**
+         * Overrides the values of a configuration with the {@code health.load.*} system properties.
+         *
+         * @param base The configuration supplying the defaults.
+         * @return the configuration.
+         */
+        public static Config fromSystemProperties(Config base) {
+            return new Config(
+                    System.getProperty(PREFIX + "path", base.path()),
+                    Integer.getInteger(PREFIX + "concurrency", base.concurrency()),
+                    Long.getLong(PREFIX + "warmup", base.warmupMillis()),
+                    Long.getLong(PREFIX + "duration", base.durationMillis()),
+                    Integer.getInteger(PREFIX + "fast", base.fastChecks()),
+                    Integer.getInteger(PREFIX + "slow", base.slowChecks()),
+                    Long.getLong(PREFIX + "slowLatency", base.slowLatencyMillis()),
+                    Integer.getInteger(PREFIX + "blocking", base.blockingChecks()),
+                    Long.getLong(PREFIX + "blockingLatency", base.blockingLatencyMillis()),
+                    Integer.getInteger(PREFIX + "failing", base.failingChecks()));
+        }
+    }
+
+    /**
+     * The outcome of a measured run.
+     *
+     * @param config       The applied load.
+     * @param requests     The number of completed requests.
+     * @param elapsedNanos The measured duration.
+     * @param statuses     The number of responses per status code, {@code -1} counting failed requests.
+     * @param latency      The request latency distribution.
+     * @param lag          The event-loop lag distribution of the serving Vert.x instance.
+     * @param appLagMillis The largest event-loop lag reported by the application's liveness monitor.
+     */
+    public record Report(Config config, long requests, long elapsedNanos, Map<Integer, Long> statuses,
+                         Percentiles latency, Percentiles lag, long appLagMillis) {
+        /**
+         * Returns the completed requests per second.
+         *
+         * @return the throughput.
+         */
+        public double throughput() {
+            return requests * 1_000_000_000d / elapsedNanos;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("""
+                            Health load: %s, concurrency %d, %dms
+                              checks: %d fast, %d slow (%dms), %d blocking (%dms), %d failing
+                              throughput: %.0f req/s (%d requests), status codes %s
+                              latency ms: p50=%.2f p99=%.2f p99.9=%.2f max=%.2f
+                              server event-loop lag ms: p50=%.2f p99=%.2f max=%.2f, application event-loop lag max=%dms""",
+                    config.path(), config.concurrency(), config.durationMillis(),
+                    config.fastChecks(), config.slowChecks(), config.slowLatencyMillis(),
+                    config.blockingChecks(), config.blockingLatencyMillis(), config.failingChecks(),
+                    throughput(), requests, statuses,
+                    latency.p50(), latency.p99(), latency.p999(), latency.max(),
+                    lag.p50(), lag.p99(), lag.max(), appLagMillis);
+        }
+    }
+
+    /**
+     * A latency distribution in milliseconds.
+     *
+     * @param p50  The median.
+     * @param p99  The 99th percentile.
+     * @param p999 The 99.9th percentile.
+     * @param max  The maximum.
+     */
+    public record Percentiles(double p50, double p99, double p999, double max) {
+    }
+
+    /**
+     * Records nanosecond samples from any thread.
+     */
+    private static final class Recorder {
+        private long[] samples = new long[1 << 16];
+        private int size;
+
+        private synchronized void record(long nanos) {
+            if (size == samples.length) {
+                samples = Arrays.copyOf(samples, samples.length * 2);
+            }
+            samples[size++] = nanos;
+        }
+
+        private synchronized long count() {
+            return size;
+        }
+
+        private synchronized Percentiles snapshot() {
+            long[] sorted = Arrays.copyOf(samples, size);
+            if (sorted.length == 0) {
+                return new Percentiles(0, 0, 0, 0);
+            }
+            Arrays.sort(sorted);
+            return new Percentiles(at(sorted, 0.50), at(sorted, 0.99), at(sorted, 0.999), sorted[sorted.length - 1] / 1e6);
+        }
+
+        private static double at(long[] sorted, double quantile) {
+            return sorted[Math.min(sorted.length - 1, (int) Math.ceil(quantile * sorted.length) - 1)] / 1e6;
+        }
+    }
+}
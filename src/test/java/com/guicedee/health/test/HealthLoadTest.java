@@ -0,0 +1,32 @@
+package com.guicedee.health.test;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestReporter;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+/**
+ * Runs the {@link HealthLoadHarness} with a short default load and publishes its report as a test report entry.
+ * The test only runs with {@code -Dhealth.load=true}, so regular builds do not spend seconds driving load. Raise the
+ * load with the {@code health.load.*} system properties to size a pod; only basic sanity is asserted so that the test
+ * stays stable on shared build machines.
+ */
+@EnabledIfSystemProperty(named = "health.load", matches = "true")
+public class HealthLoadTest {
+
+    @Test
+    public void testReadinessUnderLoad(TestReporter reporter) throws Exception {
+        HealthLoadHarness.Config config = HealthLoadHarness.Config.fromSystemProperties(HealthLoadHarness.Config.defaults());
+        HealthLoadHarness.Report report = new HealthLoadHarness(config).run();
+        reporter.publishEntry("report", report.toString());
+
+        Assertions.assertTrue(report.requests() > 0, "No request completed");
+        Assertions.assertFalse(report.statuses().containsKey(-1), "Requests failed: " + report.statuses());
+        Assertions.assertEquals(report.requests(), report.statuses().getOrDefault(200, 0L) + report.statuses().getOrDefault(503, 0L),
+                "Every response should be 200 or 503: " + report.statuses());
+        if (config.failingChecks() > 0) {
+            Assertions.assertFalse(report.statuses().containsKey(200), "A failing check must fail the endpoint");
+        }
+        Assertions.assertTrue(report.latency().p50() <= report.latency().p99());
+    }
+}
@@ -0,0 +1,99 @@
+package com.guicedee.health.test;
+
+import com.guicedee.health.implementations.HealthSnapshotDecoder;
+import com.guicedee.health.implementations.HealthSnapshotEncoder;
+import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.healthchecks.CheckResult;
+import io.vertx.ext.healthchecks.HealthChecks;
+import io.vertx.ext.healthchecks.Status;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestReporter;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Compares the size and throughput of the binary snapshot format against the Vert.x JSON format for an endpoint
+ * with 200 checks. The size relations are asserted on every build. The throughput comparison only runs with
+ * {@code -Dhealth.benchmark=true} and publishes its timings as test report entries; they are not asserted.
+ */
+public class HealthSnapshotBenchmarkTest {
+    private static final int CHECKS = 200;
+    private static final int WARMUP = 2_000;
+    private static final int ITERATIONS = 20_000;
+
+    private Vertx vertx;
+    private HealthChecks checks;
+    private final AtomicBoolean flipped = new AtomicBoolean();
+
+    @BeforeEach
+    public void setUp() {
+        vertx = Vertx.vertx();
+        checks = HealthChecks.create(vertx);
+        for (int i = 0; i < CHECKS; i++) {
+            int index = i;
+            checks.register("com.example.tenant" + i + ".DataSourceHealthCheck",
+                    promise -> promise.complete(index == 0 && flipped.get() ? Status.KO() : Status.OK()));
+        }
+    }
+
+    @AfterEach
+    public void tearDown() {
+        vertx.close();
+    }
+
+    @Test
+    public void testSizeAgainstJson(TestReporter reporter) throws Exception {
+        CheckResult result = evaluate();
+        Buffer json = result.toJson().toBuffer();
+        HealthSnapshotEncoder encoder = new HealthSnapshotEncoder();
+        Buffer full = encoder.encode(result, -1).body();
+        long version = encoder.getVersion();
+        flipped.set(true);
+        Buffer delta = encoder.encode(evaluate(), version).body();
+
+        reporter.publishEntry(Map.of(
+                "jsonBytes", String.valueOf(json.length()),
+                "binaryFullBytes", String.valueOf(full.length()),
+                "binaryDeltaBytes", String.valueOf(delta.length())));
+        Assertions.assertTrue(full.length() * 2 < json.length(), "The binary snapshot should be less than half the JSON size");
+        Assertions.assertTrue(delta.length() < 64, "A single-check delta should not carry the other checks");
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "health.benchmark", matches = "true")
+    public void testThroughputAgainstJson(TestReporter reporter) throws Exception {
+        CheckResult result = evaluate();
+        Buffer json = result.toJson().toBuffer();
+        Buffer full = new HealthSnapshotEncoder().encode(result, -1).body();
+
+        reporter.publishEntry(Map.of(
+                "jsonEncodeNsPerOp", String.valueOf(time(() -> result.toJson().toBuffer())),
+                // Uncached, includes interning
+                "binaryEncodeNsPerOp", String.valueOf(time(() -> new HealthSnapshotEncoder().encode(result, -1))),
+                "jsonDecodeNsPerOp", String.valueOf(time(() -> new JsonObject(json))),
+                "binaryDecodeNsPerOp", String.valueOf(time(() -> new HealthSnapshotDecoder().apply(full)))));
+    }
+
+    private CheckResult evaluate() throws Exception {
+        return checks.checkStatus().toCompletionStage().toCompletableFuture().get(5, TimeUnit.SECONDS);
+    }
+
+    private static long time(Runnable operation) {
+        for (int i = 0; i < WARMUP; i++) {
+            operation.run();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            operation.run();
+        }
+        return (System.nanoTime() - start) / ITERATIONS;
+    }
+}
@@ -0,0 +1,125 @@
+package com.guicedee.health.test;
+
+import com.guicedee.health.implementations.HealthSnapshotDecoder;
+import com.guicedee.health.implementations.HealthSnapshotEncoder;
+import io.vertx.core.Vertx;
+import io.vertx.ext.healthchecks.CheckResult;
+import io.vertx.ext.healthchecks.HealthChecks;
+import io.vertx.ext.healthchecks.Status;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+public class HealthSnapshotCodecTest {
+    private Vertx vertx;
+    private HealthChecks checks;
+    private final AtomicBoolean databaseUp = new AtomicBoolean(true);
+
+    @BeforeEach
+    public void setUp() {
+        vertx = Vertx.vertx();
+        checks = HealthChecks.create(vertx);
+        checks.register("database", promise -> promise.complete(databaseUp.get() ? Status.OK() : Status.KO()));
+        checks.register("broker", promise -> promise.complete(Status.OK()));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        vertx.close();
+    }
+
+    @Test
+    public void testFullSnapshotRoundTrip() throws Exception {
+        HealthSnapshotEncoder encoder = new HealthSnapshotEncoder();
+        HealthSnapshotEncoder.Encoded encoded = encoder.encode(evaluate(), -1);
+        HealthSnapshotDecoder decoder = new HealthSnapshotDecoder();
+        decoder.apply(encoded.body());
+
+        Assertions.assertEquals(1, decoder.getVersion());
+        Assertions.assertTrue(decoder.isUp());
+        Assertions.assertEquals(Boolean.TRUE, decoder.getStatus("database"));
+        Assertions.assertEquals(Boolean.TRUE, decoder.getStatus("broker"));
+        Assertions.assertEquals(2, decoder.getStatuses().size());
+    }
+
+    @Test
+    public void testDeltaCarriesOnlyChanges() throws Exception {
+        HealthSnapshotEncoder encoder = new HealthSnapshotEncoder();
+        HealthSnapshotDecoder decoder = new HealthSnapshotDecoder();
+        decoder.apply(encoder.encode(evaluate(), -1).body());
+
+        HealthSnapshotEncoder.Encoded unchanged = encoder.encode(evaluate(), decoder.getVersion());
+        Assertions.assertNull(unchanged.body(), "An unchanged state must not be re-sent");
+
+        databaseUp.set(false);
+        checks.register("cache", promise -> promise.complete(Status.OK()));
+        HealthSnapshotEncoder.Encoded delta = encoder.encode(evaluate(), decoder.getVersion());
+        HealthSnapshotEncoder.Encoded full = encoder.encode(evaluate(), -1);
+        Assertions.assertTrue(delta.body().length() < full.body().length());
+        decoder.apply(delta.body());
+
+        Assertions.assertEquals(2, decoder.getVersion());
+        Assertions.assertFalse(decoder.isUp());
+        Assertions.assertEquals(Boolean.FALSE, decoder.getStatus("database"));
+        Assertions.assertEquals(Boolean.TRUE, decoder.getStatus("cache"));
+
+        checks.unregister("broker");
+        decoder.apply(encoder.encode(evaluate(), decoder.getVersion()).body());
+        Assertions.assertNull(decoder.getStatus("broker"));
+        Assertions.assertEquals(2, decoder.getStatuses().size());
+    }
+
+    @Test
+    public void testExpiredVersionFallsBackToFullSnapshot() throws Exception {
+        HealthSnapshotEncoder encoder = new HealthSnapshotEncoder();
+        HealthSnapshotDecoder stale = new HealthSnapshotDecoder();
+        stale.apply(encoder.encode(evaluate(), -1).body());
+        for (int i = 0; i <= HealthSnapshotEncoder.RETAINED_VERSIONS; i++) {
+            databaseUp.set(!databaseUp.get());
+            encoder.encode(evaluate(), -1);
+        }
+        HealthSnapshotEncoder.Encoded encoded = encoder.encode(evaluate(), stale.getVersion());
+        stale.apply(encoded.body());
+        Assertions.assertEquals(encoder.getVersion(), stale.getVersion());
+        Assertions.assertEquals(databaseUp.get(), stale.getStatus("database"));
+    }
+
+    @Test
+    public void testDeltaAgainstUnknownVersionIsRejected() throws Exception {
+        HealthSnapshotEncoder encoder = new HealthSnapshotEncoder();
+        encoder.encode(evaluate(), -1);
+        databaseUp.set(false);
+        HealthSnapshotEncoder.Encoded delta = encoder.encode(evaluate(), 1);
+        Assertions.assertThrows(IllegalStateException.class, () -> new HealthSnapshotDecoder().apply(delta.body()));
+    }
+
+    @Test
+    public void testNameTableIsCompactedUnderChurn() throws Exception {
+        HealthSnapshotEncoder encoder = new HealthSnapshotEncoder();
+        HealthSnapshotDecoder follower = new HealthSnapshotDecoder();
+        for (int i = 0; i < 10 * HealthSnapshotEncoder.COMPACTION_THRESHOLD; i++) {
+            String tenant = "tenant-" + i;
+            checks.register(tenant, promise -> promise.complete(Status.OK()));
+            follower.apply(encoder.encode(evaluate(), follower.getVersion()).body());
+            checks.unregister(tenant);
+            Assertions.assertEquals(Boolean.TRUE, follower.getStatus(tenant));
+            Assertions.assertEquals(3, follower.getStatuses().size());
+        }
+
+        follower.apply(encoder.encode(evaluate(), follower.getVersion()).body());
+        Assertions.assertEquals(2, follower.getStatuses().size());
+        // The name count of a full snapshot follows the one-byte id of the first name
+        HealthSnapshotEncoder.Encoded full = encoder.encode(evaluate(), -1);
+        Assertions.assertEquals(0, full.body().getByte(21));
+        Assertions.assertTrue(full.body().getByte(22) <= HealthSnapshotEncoder.COMPACTION_THRESHOLD + 2,
+                "The name table kept growing: " + full.body().getByte(22));
+    }
+
+    private CheckResult evaluate() throws Exception {
+        return checks.checkStatus().toCompletionStage().toCompletableFuture().get(5, TimeUnit.SECONDS);
+    }
+}
@@ -0,0 +1,245 @@
+package com.guicedee.health.test;
+
+import com.guicedee.health.implementations.HealthCheckKind;
+import com.guicedee.health.implementations.HealthCheckRegistry;
+import com.guicedee.health.implementations.HealthHistory;
+import com.guicedee.health.implementations.HealthSnapshotFile;
+import com.guicedee.health.implementations.HealthSnapshotFileReader;
+import io.vertx.core.Vertx;
+import io.vertx.ext.healthchecks.HealthChecks;
+import io.vertx.ext.healthchecks.Status;
+import org.eclipse.microprofile.health.HealthCheck;
+import org.eclipse.microprofile.health.HealthCheckResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+
+import static com.guicedee.health.implementations.HealthSnapshotFile.STATUS_DOWN;
+import static com.guicedee.health.implementations.HealthSnapshotFile.STATUS_UNKNOWN;
+import static com.guicedee.health.implementations.HealthSnapshotFile.STATUS_UP;
+import static com.guicedee.health.test.HealthTestSupport.awaitCondition;
+import static com.guicedee.health.test.HealthTestSupport.options;
+
+public class HealthSnapshotFileTest {
+    private static final String MONITOR_THREAD = "snapshot-file-test";
+
+    @TempDir
+    Path directory;
+
+    private Vertx vertx;
+    private ScheduledExecutorService executor;
+    private HealthChecks healthChecks;
+    private HealthChecks readinessChecks;
+    private HealthChecks startupChecks;
+    private final AtomicBoolean live = new AtomicBoolean(true);
+
+    @BeforeEach
+    public void setUp() {
+        vertx = Vertx.vertx();
+        executor = Executors.newSingleThreadScheduledExecutor(runnable -> new Thread(runnable, MONITOR_THREAD));
+        healthChecks = HealthChecks.create(vertx);
+        readinessChecks = HealthChecks.create(vertx);
+        startupChecks = HealthChecks.create(vertx);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        executor.shutdownNow();
+        vertx.close();
+    }
+
+    @Test
+    public void testPublishesStatusesAndFailingChecksOnlyOnChange() throws Exception {
+        AtomicBoolean databaseUp = new AtomicBoolean(false);
+        healthChecks.register("database", promise -> promise.complete(databaseUp.get() ? Status.OK() : Status.KO()));
+        readinessChecks.register("database", promise -> promise.complete(databaseUp.get() ? Status.OK() : Status.KO()));
+        Path file = directory.resolve("health");
+        HealthSnapshotFile writer = writer(file, 20L);
+        writer.start();
+        HealthSnapshotFileReader reader = new HealthSnapshotFileReader(file);
+
+        awaitCondition(() -> reader.read().status() == STATUS_DOWN);
+        HealthSnapshotFile.Snapshot down = reader.read();
+        Assertions.assertEquals(STATUS_UP, down.liveness());
+        Assertions.assertEquals(STATUS_DOWN, down.readiness());
+        Assertions.assertEquals(STATUS_UP, down.startup());
+        Assertions.assertEquals(1, down.failingCount());
+        Assertions.assertEquals(List.of("database"), down.failing());
+
+        long heartbeat = down.heartbeat();
+        awaitCondition(() -> reader.read().heartbeat() > heartbeat);
+        Assertions.assertEquals(down.sequence(), reader.read().sequence(), "An unchanged state must not be rewritten");
+
+        databaseUp.set(true);
+        awaitCondition(() -> reader.read().status() == STATUS_UP);
+        HealthSnapshotFile.Snapshot up = reader.read();
+        Assertions.assertTrue(up.sequence() > down.sequence());
+        Assertions.assertEquals(STATUS_UP, up.readiness());
+        Assertions.assertEquals(List.of(), up.failing());
+
+        writer.stop();
+        HealthSnapshotFile.Snapshot stopped = reader.read();
+        Assertions.assertEquals(STATUS_UNKNOWN, stopped.status());
+        Assertions.assertEquals(STATUS_UNKNOWN, stopped.readiness());
+    }
+
+    @Test
+    public void testChecksRunOffTheMonitorThreadAndLivenessComesFromTheMonitor() throws Exception {
+        Set<String> threads = ConcurrentHashMap.newKeySet();
+        AtomicBoolean release = new AtomicBoolean();
+        readinessChecks.register("slow", promise -> {
+            threads.add(Thread.currentThread().getName());
+            while (!release.get()) {
+                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(5));
+            }
+            promise.complete(Status.OK());
+        });
+        Path file = directory.resolve("health");
+        HealthSnapshotFile writer = writer(file, 20L);
+        writer.start();
+        HealthSnapshotFileReader reader = new HealthSnapshotFileReader(file);
+
+        // The heartbeat keeps being written while the check hangs
+        awaitCondition(() -> !threads.isEmpty());
+        long heartbeat = reader.read().heartbeat();
+        awaitCondition(() -> reader.read().heartbeat() > heartbeat);
+        Assertions.assertEquals(Set.of(threads.iterator().next()), threads, "A hung evaluation must not be dispatched again");
+        Assertions.assertFalse(threads.contains(MONITOR_THREAD), "Checks ran on the monitor thread");
+
+        release.set(true);
+        awaitCondition(() -> reader.read().readiness() == STATUS_UP);
+        Assertions.assertEquals(STATUS_UP, reader.read().liveness());
+        live.set(false);
+        awaitCondition(() -> reader.read().liveness() == STATUS_DOWN);
+        writer.stop();
+    }
+
+    @Test
+    public void testEvaluationsAreNotRecordedInTheHistory() throws Exception {
+        HealthCheckRegistry registry = new HealthCheckRegistry(healthChecks, healthChecks, readinessChecks, startupChecks,
+                new HealthHistory(options(Map.of())), 2000L);
+        AtomicInteger calls = new AtomicInteger();
+        HealthCheck database = () -> {
+            calls.incrementAndGet();
+            return HealthCheckResponse.down("database");
+        };
+        registry.register("database", database, HealthCheckKind.READINESS);
+        Path file = directory.resolve("health");
+        HealthSnapshotFile writer = writer(file, 20L);
+        writer.start();
+        HealthSnapshotFileReader reader = new HealthSnapshotFileReader(file);
+
+        awaitCondition(() -> reader.read().readiness() == STATUS_DOWN && calls.get() >= 5);
+        Assertions.assertEquals(List.of("database"), reader.read().failing());
+        writer.stop();
+        Assertions.assertEquals(0, registry.get("database").getHistory().getRecorded(),
+                "Snapshot evaluations must not count towards the hysteresis and flap thresholds");
+        Assertions.assertNull(registry.get("database").getAdapter().getLastStatus());
+
+        int before = calls.get();
+        healthChecks.checkStatus().toCompletionStage().toCompletableFuture().get(5, TimeUnit.SECONDS);
+        Assertions.assertEquals(before + 1, calls.get());
+        Assertions.assertEquals(1, registry.get("database").getHistory().getRecorded(), "Probes are still recorded");
+    }
+
+    @Test
+    public void testFailingChecksAreTruncatedToWholeIds() throws Exception {
+        Path file = directory.resolve("health");
+        HealthSnapshotFile writer = writer(file, TimeUnit.HOURS.toMillis(1));
+        writer.start();
+        List<String> failing = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            failing.add("com.example.checks.ExternalServiceHealthCheck-" + i);
+        }
+        Assertions.assertTrue(writer.publish(STATUS_DOWN, STATUS_UP, STATUS_DOWN, STATUS_UP, failing));
+        HealthSnapshotFile.Snapshot snapshot = new HealthSnapshotFileReader(file).read();
+        Assertions.assertEquals(500, snapshot.failingCount());
+        Assertions.assertTrue(snapshot.failing().size() < 500);
+        Assertions.assertEquals(failing.subList(0, snapshot.failing().size()), snapshot.failing());
+        writer.stop();
+    }
+
+    @Test
+    public void testReadersNeverObserveTornWrites() throws Exception {
+        Path file = directory.resolve("health");
+        HealthSnapshotFile writer = writer(file, TimeUnit.HOURS.toMillis(1));
+        writer.start();
+        List<String> manyFailing = new ArrayList<>();
+        for (int i = 0; i < 60; i++) {
+            manyFailing.add("check-" + i);
+        }
+
+        AtomicBoolean running = new AtomicBoolean(true);
+        AtomicReference<String> torn = new AtomicReference<>();
+        AtomicLong reads = new AtomicLong();
+        List<Thread> readers = new ArrayList<>();
+        for (int r = 0; r < 3; r++) {
+            HealthSnapshotFileReader reader = new HealthSnapshotFileReader(file);
+            Thread thread = Thread.ofPlatform().start(() -> {
+                while (running.get()) {
+                    HealthSnapshotFile.Snapshot snapshot = reader.read();
+                    boolean consistent = isAllUp(snapshot) || isAllDown(snapshot, manyFailing) || isUnknown(snapshot);
+                    if (!consistent) {
+                        torn.compareAndSet(null, snapshot.toString());
+                    }
+                    reads.incrementAndGet();
+                }
+            });
+            readers.add(thread);
+        }
+
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(1000);
+        int writes = 0;
+        while (System.nanoTime() < deadline) {
+            writer.publish(STATUS_UP, STATUS_UP, STATUS_UP, STATUS_UP, List.of());
+            writer.publish(STATUS_DOWN, STATUS_DOWN, STATUS_DOWN, STATUS_DOWN, manyFailing);
+            writes += 2;
+        }
+        running.set(false);
+        for (Thread thread : readers) {
+            thread.join(5000);
+        }
+        writer.stop();
+
+        Assertions.assertNull(torn.get(), "A reader observed a torn snapshot: " + torn.get());
+        Assertions.assertTrue(writes > 1000, "Too few writes to exercise the sequence lock: " + writes);
+        Assertions.assertTrue(reads.get() > 1000, "Too few reads to exercise the sequence lock: " + reads.get());
+    }
+
+    private static boolean isAllUp(HealthSnapshotFile.Snapshot snapshot) {
+        return snapshot.status() == STATUS_UP && snapshot.liveness() == STATUS_UP && snapshot.readiness() == STATUS_UP
+                && snapshot.startup() == STATUS_UP && snapshot.failingCount() == 0 && snapshot.failing().isEmpty();
+    }
+
+    private static boolean isAllDown(HealthSnapshotFile.Snapshot snapshot, List<String> failing) {
+        return snapshot.status() == STATUS_DOWN && snapshot.liveness() == STATUS_DOWN && snapshot.readiness() == STATUS_DOWN
+                && snapshot.startup() == STATUS_DOWN && snapshot.failingCount() == failing.size() && snapshot.failing().equals(failing);
+    }
+
+    private static boolean isUnknown(HealthSnapshotFile.Snapshot snapshot) {
+        return snapshot.status() == STATUS_UNKNOWN && snapshot.liveness() == STATUS_UNKNOWN && snapshot.readiness() == STATUS_UNKNOWN
+                && snapshot.startup() == STATUS_UNKNOWN && snapshot.failingCount() == 0 && snapshot.failing().isEmpty();
+    }
+
+    private HealthSnapshotFile writer(Path file, long interval) {
+        return new HealthSnapshotFile(vertx, healthChecks, readinessChecks, startupChecks, live::get, executor,
+                options(Map.of("snapshotFile", file.toString(), "snapshotFileInterval", interval)));
+    }
+}
@@ -0,0 +1,63 @@
+package com.guicedee.health.test;
+
+import com.guicedee.health.HealthOptions;
+import io.vertx.core.Future;
+import org.junit.jupiter.api.Assertions;
+
+import java.lang.reflect.Proxy;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Shared fixtures for the health tests: {@link HealthOptions} instances built the same way as
+ * {@code HealthPreStartup} builds its defaults, and bounded waits for asynchronous outcomes.
+ */
+final class HealthTestSupport {
+    private HealthTestSupport() {
+    }
+
+    /**
+     * @return options with every attribute at its declared default
+     */
+    static HealthOptions options() {
+        return options(Map.of());
+    }
+
+    /**
+     * @param overrides attribute values keyed by attribute name; missing attributes use their declared default
+     * @return options backed by the given overrides
+     */
+    static HealthOptions options(Map<String, Object> overrides) {
+        return (HealthOptions) Proxy.newProxyInstance(HealthOptions.class.getClassLoader(), new Class<?>[]{HealthOptions.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "annotationType" -> HealthOptions.class;
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    case "toString" -> "@HealthOptions";
+                    default -> overrides.getOrDefault(method.getName(), method.getDefaultValue());
+                });
+    }
+
+    /**
+     * Waits up to 5 seconds for the condition to hold, failing the test otherwise.
+     */
+    static void awaitCondition(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > deadline) {
+                Assertions.fail("Condition not met in time");
+            }
+            Thread.sleep(10);
+        }
+    }
+
+    /**
+     * Waits up to 10 seconds for the future to complete.
+     *
+     * @return the future's result
+     */
+    static <T> T await(Future<T> future) throws Exception {
+        return future.toCompletionStage().toCompletableFuture().get(10, TimeUnit.SECONDS);
+    }
+}
@@ -0,0 +1,142 @@
+package com.guicedee.health.test;
+
+import com.guicedee.health.AsyncHealthCheck;
+import com.guicedee.health.HealthCheckKind;
+import com.guicedee.health.HealthSpan;
+import com.guicedee.health.implementations.HealthCheckRegistry;
+import com.guicedee.health.implementations.HealthHistory;
+import com.guicedee.health.implementations.HealthTracer;
+import com.guicedee.health.implementations.InMemorySpanExporter;
+import io.smallrye.mutiny.Uni;
+import io.vertx.core.Vertx;
+import io.vertx.ext.healthchecks.CheckResult;
+import io.vertx.ext.healthchecks.HealthChecks;
+import org.eclipse.microprofile.health.HealthCheck;
+import org.eclipse.microprofile.health.HealthCheckResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static com.guicedee.health.test.HealthTestSupport.options;
+
+public class HealthTracerTest {
+    private Vertx vertx;
+    private HealthChecks healthChecks;
+    private HealthCheckRegistry registry;
+    private final InMemorySpanExporter exporter = new InMemorySpanExporter();
+
+    @BeforeEach
+    public void setUp() {
+        vertx = Vertx.vertx();
+        healthChecks = HealthChecks.create(vertx);
+        registry = new HealthCheckRegistry(healthChecks, healthChecks, healthChecks, healthChecks,
+                new HealthHistory(options(Map.of())), 300L);
+        HealthCheck database = () -> HealthCheckResponse.named("database").up().build();
+        HealthCheck broker = () -> {
+            throw new IllegalStateException("broker unreachable");
+        };
+        AsyncHealthCheck hanging = new AsyncHealthCheck() {
+            @Override
+            public Uni<HealthCheckResponse> call() {
+                return Uni.createFrom().nothing();
+            }
+        };
+        registry.register("database", database, HealthCheckKind.READINESS);
+        registry.register("broker", broker, HealthCheckKind.READINESS);
+        registry.register("hanging", hanging, HealthCheckKind.READINESS);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        vertx.close();
+    }
+
+    @Test
+    public void testEvaluationSpanWithCheckSpans() throws Exception {
+        HealthTracer tracer = new HealthTracer(options(Map.of("tracingSampleRatio", 1d)));
+        tracer.addExporter(exporter);
+        registry.setTracer(tracer);
+
+        CheckResult result = tracer.evaluate("/health/ready", healthChecks)
+                .toCompletionStage().toCompletableFuture().get(5, TimeUnit.SECONDS);
+        Assertions.assertFalse(result.getUp());
+
+        List<HealthSpan> spans = awaitSpans(4);
+        Assertions.assertEquals(4, spans.size(), "One evaluation span and three check spans expected: " + spans);
+        HealthSpan root = spans.stream().filter(HealthSpan::isRoot).findFirst().orElseThrow();
+        Assertions.assertEquals("health /health/ready", root.name());
+        Assertions.assertEquals("DOWN", root.attributes().get("health.status"));
+        Assertions.assertEquals(32, root.traceId().length());
+
+        for (HealthSpan span : spans.stream().filter(span -> !span.isRoot()).toList()) {
+            Assertions.assertEquals(root.traceId(), span.traceId());
+            Assertions.assertEquals(root.spanId(), span.parentSpanId());
+            Assertions.assertEquals(300L, span.attributes().get("health.check.timeout_ms"));
+        }
+
+        HealthSpan database = span(spans, "database");
+        Assertions.assertTrue(database.ok());
+        Assertions.assertEquals("UP", database.attributes().get("health.check.status"));
+
+        HealthSpan broker = span(spans, "broker");
+        Assertions.assertFalse(broker.ok());
+        Assertions.assertEquals(IllegalStateException.class.getName(), broker.attributes().get("exception.type"));
+        Assertions.assertEquals("broker unreachable", broker.attributes().get("exception.message"));
+
+        HealthSpan hanging = span(spans, "hanging");
+        Assertions.assertFalse(hanging.ok());
+        Assertions.assertEquals(Boolean.TRUE, hanging.attributes().get("health.check.timed_out"));
+        Assertions.assertTrue(hanging.durationNanos() >= TimeUnit.MILLISECONDS.toNanos(250));
+    }
+
+    @Test
+    public void testUnsampledEvaluationsAreNotTraced() throws Exception {
+        HealthTracer tracer = new HealthTracer(options(Map.of("tracingSampleRatio", 0d)));
+        tracer.addExporter(exporter);
+        registry.setTracer(tracer);
+        tracer.evaluate("/health/ready", healthChecks).toCompletionStage().toCompletableFuture().get(5, TimeUnit.SECONDS);
+        Assertions.assertTrue(exporter.getSpans().isEmpty());
+    }
+
+    @Test
+    public void testChecksOutsideAnEvaluationAreNotTraced() throws Exception {
+        HealthTracer tracer = new HealthTracer(options(Map.of("tracingSampleRatio", 1d)));
+        tracer.addExporter(exporter);
+        registry.setTracer(tracer);
+        healthChecks.checkStatus().toCompletionStage().toCompletableFuture().get(5, TimeUnit.SECONDS);
+        Assertions.assertTrue(exporter.getSpans().isEmpty());
+    }
+
+    @Test
+    public void testInMemoryExporterIsBounded() {
+        InMemorySpanExporter bounded = new InMemorySpanExporter(2);
+        for (int i = 0; i < 3; i++) {
+            bounded.export(new HealthSpan("t" + i, "s" + i, null, "health /health", Instant.now(), 0L, true, Map.of()));
+        }
+        Assertions.assertEquals(List.of("t1", "t2"), bounded.getSpans().stream().map(HealthSpan::traceId).toList());
+        Assertions.assertEquals(1, bounded.getSpans("t2").size());
+        bounded.clear();
+        Assertions.assertTrue(bounded.getSpans().isEmpty());
+    }
+
+    private List<HealthSpan> awaitSpans(int count) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(2);
+        while (exporter.getSpans().size() < count && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        return exporter.getSpans();
+    }
+
+    private static HealthSpan span(List<HealthSpan> spans, String check) {
+        return spans.stream()
+                .filter(span -> ("health.check " + check).equals(span.name()))
+                .findFirst()
+                .orElseThrow();
+    }
+}
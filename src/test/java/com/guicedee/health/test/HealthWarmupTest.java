@@ -0,0 +1,195 @@
+package com.guicedee.health.test;
+
+import com.guicedee.health.implementations.HealthCheckKind;
+import com.guicedee.health.implementations.HealthCheckRegistry;
+import com.guicedee.health.implementations.HealthHistory;
+import com.guicedee.health.implementations.HealthWarmup;
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.healthchecks.CheckResult;
+import io.vertx.ext.healthchecks.HealthChecks;
+import io.vertx.ext.healthchecks.Status;
+import org.eclipse.microprofile.health.HealthCheck;
+import org.eclipse.microprofile.health.HealthCheckResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.guicedee.health.test.HealthTestSupport.options;
+
+public class HealthWarmupTest {
+    private Vertx vertx;
+    private HealthChecks healthChecks;
+    private HealthChecks livenessChecks;
+    private HealthChecks readinessChecks;
+    private HealthChecks startupChecks;
+    private final AtomicInteger databaseCalls = new AtomicInteger();
+
+    @BeforeEach
+    public void setUp() {
+        vertx = Vertx.vertx();
+        healthChecks = HealthChecks.create(vertx);
+        livenessChecks = HealthChecks.create(vertx);
+        readinessChecks = HealthChecks.create(vertx);
+        startupChecks = HealthChecks.create(vertx);
+        readinessChecks.register("database", promise -> {
+            databaseCalls.incrementAndGet();
+            promise.complete(Status.OK());
+        });
+    }
+
+    @AfterEach
+    public void tearDown() {
+        vertx.close();
+    }
+
+    @Test
+    public void testReadinessIsDownUntilEveryIterationHasRun() throws Exception {
+        HealthWarmup warmup = warmup(5);
+        readinessChecks.register("guicedee-warmup", warmup);
+        Assertions.assertFalse(await(readinessChecks).getUp());
+        databaseCalls.set(0);
+
+        warmup.start().toCompletionStage().toCompletableFuture().get(5, TimeUnit.SECONDS);
+
+        Assertions.assertTrue(warmup.isComplete());
+        Assertions.assertEquals(5, databaseCalls.get(), "Every iteration must evaluate every check");
+        Assertions.assertEquals(5, warmup.getIterations().size());
+        for (int i = 0; i < 5; i++) {
+            HealthWarmup.Iteration iteration = warmup.getIterations().get(i);
+            Assertions.assertEquals(i + 1, iteration.index());
+            Assertions.assertTrue(iteration.evaluationNanos() > 0 && iteration.serializationNanos() > 0);
+        }
+
+        CheckResult ready = await(readinessChecks);
+        Assertions.assertTrue(ready.getUp());
+        JsonObject data = ready.getChecks().stream()
+                .filter(check -> "guicedee-warmup".equals(check.getId()))
+                .findFirst().orElseThrow()
+                .getData();
+        Assertions.assertEquals(5, data.getInteger("completed"));
+        Assertions.assertEquals(5, data.getJsonArray("timings").size());
+        Assertions.assertNotNull(data.getLong("firstMicros"));
+        Assertions.assertNotNull(data.getLong("lastMicros"));
+    }
+
+    @Test
+    public void testStartIsIdempotent() throws Exception {
+        HealthWarmup warmup = warmup(3);
+        Assertions.assertSame(warmup.start(), warmup.start());
+        warmup.start().toCompletionStage().toCompletableFuture().get(5, TimeUnit.SECONDS);
+        Assertions.assertEquals(3, databaseCalls.get());
+    }
+
+    @Test
+    public void testDisabledWarmupIsImmediatelyComplete() throws Exception {
+        HealthWarmup warmup = warmup(0);
+        Assertions.assertTrue(warmup.isComplete());
+        warmup.start().toCompletionStage().toCompletableFuture().get(5, TimeUnit.SECONDS);
+        Assertions.assertEquals(0, databaseCalls.get());
+        Assertions.assertTrue(warmup.getIterations().isEmpty());
+    }
+
+    @Test
+    public void testStopHaltsTheWarmupWithoutCompletingIt() throws Exception {
+        HealthWarmup warmup = warmup(1_000_000);
+        Future<Void> running = warmup.start();
+        while (databaseCalls.get() == 0) {
+            Thread.sleep(1);
+        }
+        warmup.stop();
+
+        Assertions.assertThrows(ExecutionException.class,
+                () -> running.toCompletionStage().toCompletableFuture().get(5, TimeUnit.SECONDS));
+        Assertions.assertFalse(warmup.isComplete());
+        int calls = databaseCalls.get();
+        Thread.sleep(50);
+        Assertions.assertEquals(calls, databaseCalls.get(), "No iteration may start after the warm-up is stopped");
+    }
+
+    @Test
+    public void testClosedVertxFailsTheWarmup() throws Exception {
+        HealthWarmup warmup = warmup(3);
+        vertx.close().toCompletionStage().toCompletableFuture().get(5, TimeUnit.SECONDS);
+        Assertions.assertThrows(ExecutionException.class,
+                () -> warmup.start().toCompletionStage().toCompletableFuture().get(5, TimeUnit.SECONDS));
+        Assertions.assertFalse(warmup.isComplete());
+    }
+
+    @Test
+    public void testWarmupIsNotRecordedInTheHistory() throws Exception {
+        HealthCheckRegistry registry = new HealthCheckRegistry(healthChecks, livenessChecks, readinessChecks, startupChecks,
+                new HealthHistory(options(Map.of())), 2000L);
+        AtomicInteger flappingCalls = new AtomicInteger();
+        HealthCheck flapping = () -> flappingCalls.incrementAndGet() % 2 == 0
+                ? HealthCheckResponse.up("flapping") : HealthCheckResponse.down("flapping");
+        registry.register("flapping", flapping, HealthCheckKind.LIVENESS);
+
+        warmup(20).start().toCompletionStage().toCompletableFuture().get(5, TimeUnit.SECONDS);
+        Assertions.assertTrue(flappingCalls.get() >= 20, "The warm-up must evaluate the registered check");
+        Assertions.assertEquals(0, registry.get("flapping").getHistory().getRecorded());
+        Assertions.assertFalse(registry.get("flapping").getHistory().isFlapping());
+
+        await(livenessChecks);
+        Assertions.assertEquals(1, registry.get("flapping").getHistory().getRecorded(), "Probes after the warm-up are recorded");
+    }
+
+    @Test
+    public void testProbesDuringTheWarmupAreRecorded() throws Exception {
+        HealthCheckRegistry registry = new HealthCheckRegistry(healthChecks, livenessChecks, readinessChecks, startupChecks,
+                new HealthHistory(options(Map.of())), 2000L);
+        AtomicInteger calls = new AtomicInteger();
+        HealthCheck datasource = () -> {
+            calls.incrementAndGet();
+            return HealthCheckResponse.up("datasource");
+        };
+        registry.register("datasource", datasource, HealthCheckKind.READINESS);
+
+        HealthWarmup warmup = warmup(1_000_000);
+        Future<Void> running = warmup.start();
+        try {
+            while (calls.get() == 0) {
+                Thread.sleep(1);
+            }
+            for (int i = 1; i <= 5; i++) {
+                Assertions.assertTrue(await(readinessChecks).getUp());
+                Assertions.assertEquals(i, registry.get("datasource").getHistory().getRecorded(),
+                        "Every probe made while the warm-up runs must be recorded");
+            }
+            Assertions.assertFalse(running.isComplete(), "The warm-up must still be running");
+        } finally {
+            warmup.stop();
+        }
+    }
+
+    @Test
+    public void testIterationsRunOnAWorker() throws Exception {
+        Set<String> threads = ConcurrentHashMap.newKeySet();
+        livenessChecks.register("thread", promise -> {
+            threads.add(Thread.currentThread().getName());
+            promise.complete(Status.OK());
+        });
+        warmup(3).start().toCompletionStage().toCompletableFuture().get(5, TimeUnit.SECONDS);
+        Assertions.assertFalse(threads.isEmpty());
+        Assertions.assertTrue(threads.stream().allMatch(name -> name.startsWith("vert.x-worker-thread")),
+                "Iterations must run on Vert.x workers, ran on " + threads);
+    }
+
+    private HealthWarmup warmup(int iterations) {
+        return new HealthWarmup(healthChecks, livenessChecks, readinessChecks, startupChecks, vertx,
+                options(Map.of("warmupIterations", iterations)));
+    }
+
+    private static CheckResult await(HealthChecks checks) throws Exception {
+        return checks.checkStatus().toCompletionStage().toCompletableFuture().get(5, TimeUnit.SECONDS);
+    }
+}
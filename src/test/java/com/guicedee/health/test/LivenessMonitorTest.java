@@ -0,0 +1,177 @@
+package com.guicedee.health.test;
+
+import com.guicedee.health.implementations.LivenessMonitor;
+import io.vertx.core.AbstractVerticle;
+import io.vertx.core.DeploymentOptions;
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.core.VertxOptions;
+import io.vertx.core.http.HttpClient;
+import io.vertx.core.http.HttpMethod;
+import io.vertx.core.http.HttpServer;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.healthchecks.HealthChecks;
+import io.vertx.ext.healthchecks.Status;
+import io.vertx.ext.web.Router;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.LockSupport;
+
+import static com.guicedee.health.test.HealthTestSupport.await;
+import static com.guicedee.health.test.HealthTestSupport.awaitCondition;
+import static com.guicedee.health.test.HealthTestSupport.options;
+
+public class LivenessMonitorTest {
+    private static final int EVENT_LOOPS = 3;
+
+    private Vertx vertx;
+    private Vertx probeVertx;
+    private ScheduledExecutorService executor;
+    private HealthChecks livenessChecks;
+    private LivenessMonitor monitor;
+    private final AtomicBoolean release = new AtomicBoolean();
+
+    @BeforeEach
+    public void setUp() {
+        vertx = Vertx.vertx(new VertxOptions().setEventLoopPoolSize(EVENT_LOOPS));
+        probeVertx = Vertx.vertx();
+        executor = Executors.newSingleThreadScheduledExecutor();
+        livenessChecks = HealthChecks.create(vertx);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        release.set(true);
+        if (monitor != null) {
+            monitor.stop();
+        }
+        executor.shutdownNow();
+        probeVertx.close();
+        vertx.close();
+    }
+
+    @Test
+    public void testBlockedEventLoopsTurnTheLivenessEndpointDown() throws Exception {
+        monitor = start(Map.of());
+        HttpServer server = serve(monitor);
+        HttpClient client = probeVertx.createHttpClient();
+        awaitCondition(() -> monitor.isUp() && monitor.getMaxEventLoopLagNanos() >= 0);
+        Thread.sleep(100);
+        Assertions.assertEquals(200, await(get(client, server.actualPort())).status());
+
+        // One instance per event loop blocks every loop of the configured pool
+        vertx.deployVerticle(() -> new AbstractVerticle() {
+            @Override
+            public void start() {
+                context.runOnContext(v -> {
+                    while (!release.get()) {
+                        LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(5));
+                    }
+                });
+            }
+        }, new DeploymentOptions().setInstances(EVENT_LOOPS));
+
+        awaitCondition(() -> monitor.getBlockedEventLoops() == EVENT_LOOPS);
+        Assertions.assertFalse(monitor.isUp());
+        Probe probe = await(get(client, server.actualPort()));
+        Assertions.assertEquals(503, probe.status());
+        Assertions.assertEquals("DOWN", probe.body().getString("status"));
+        Assertions.assertEquals(EVENT_LOOPS, probe.body().getJsonArray("checks").getJsonObject(0)
+                .getJsonObject("data").getInteger("blockedEventLoops"));
+
+        release.set(true);
+        awaitCondition(monitor::isUp);
+        Assertions.assertEquals(0, monitor.getBlockedEventLoops());
+    }
+
+    @Test
+    public void testHungUserLivenessCheckTurnsDownInsteadOfStayingUp() throws Exception {
+        livenessChecks.register("hung", 60_000, promise -> {
+            while (!release.get()) {
+                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(5));
+            }
+            promise.complete(Status.OK());
+        });
+        monitor = start(Map.of());
+        HttpServer server = serve(monitor);
+        HttpClient client = probeVertx.createHttpClient();
+
+        awaitCondition(() -> !monitor.isUp());
+        Probe probe = await(get(client, server.actualPort()));
+        Assertions.assertEquals(503, probe.status());
+        JsonObject check = probe.body().getJsonArray("checks").stream()
+                .map(JsonObject.class::cast)
+                .filter(json -> "guicedee-liveness-checks".equals(json.getString("id")))
+                .findFirst().orElseThrow();
+        Assertions.assertEquals("DOWN", check.getString("status"));
+        Assertions.assertEquals(0, monitor.getBlockedEventLoops(), "The check must not run on an event loop");
+
+        // The heartbeat keeps being sampled while the check hangs
+        long lag = monitor.getMaxEventLoopLagNanos();
+        vertx.runOnContext(v -> LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(300)));
+        awaitCondition(() -> monitor.getMaxEventLoopLagNanos() != lag && monitor.getBlockedEventLoops() > 0);
+
+        release.set(true);
+        awaitCondition(monitor::isUp);
+    }
+
+    @Test
+    public void testFailingUserCheckIsNeverReportedUpBeforeItsFirstEvaluation() throws Exception {
+        livenessChecks.register("failing", promise -> promise.complete(Status.KO()));
+        monitor = start(Map.of());
+        Assertions.assertFalse(monitor.isUp(), "Liveness must not be UP before the user checks were evaluated");
+        HttpServer server = serve(monitor);
+        HttpClient client = probeVertx.createHttpClient();
+
+        Probe probe = await(get(client, server.actualPort()));
+        Assertions.assertEquals(503, probe.status());
+        Assertions.assertEquals("DOWN", probe.body().getString("status"));
+
+        // Still DOWN once the first evaluation has completed, now reporting the user check itself
+        awaitCondition(() -> {
+            try {
+                return await(get(client, server.actualPort())).body().getJsonArray("checks").stream()
+                        .map(JsonObject.class::cast)
+                        .anyMatch(json -> "failing".equals(json.getString("id")));
+            } catch (Exception e) {
+                return false;
+            }
+        });
+        Assertions.assertEquals(503, await(get(client, server.actualPort())).status());
+    }
+
+    private LivenessMonitor start(Map<String, Object> overrides) {
+        Map<String, Object> values = new HashMap<>(Map.of(
+                "livenessMonitorInterval", 20L,
+                "eventLoopBlockedThreshold", 200L,
+                "livenessCheckInterval", 50L));
+        values.putAll(overrides);
+        LivenessMonitor started = new LivenessMonitor(vertx, livenessChecks, 200L, executor, options(values));
+        started.start();
+        return started;
+    }
+
+    private HttpServer serve(LivenessMonitor handler) throws Exception {
+        Router router = Router.router(probeVertx);
+        router.get("/health/live").handler(handler);
+        return await(probeVertx.createHttpServer().requestHandler(router).listen(0, "localhost"));
+    }
+
+    private static Future<Probe> get(HttpClient client, int port) {
+        return client.request(HttpMethod.GET, port, "localhost", "/health/live")
+                .compose(request -> request.send())
+                .compose(response -> response.body().map(body -> new Probe(response.statusCode(), body.toJsonObject())));
+    }
+
+    private record Probe(int status, JsonObject body) {
+    }
+}
@@ -0,0 +1,151 @@
+package com.guicedee.health.test;
+
+import com.guicedee.health.implementations.ManagementServer;
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.core.VertxOptions;
+import io.vertx.core.http.HttpClient;
+import io.vertx.core.http.HttpClientOptions;
+import io.vertx.core.http.HttpMethod;
+import io.vertx.core.http.HttpServer;
+import io.vertx.core.http.PoolOptions;
+import io.vertx.ext.healthchecks.HealthChecks;
+import io.vertx.ext.healthchecks.Status;
+import io.vertx.ext.web.Router;
+import io.vertx.ext.web.healthchecks.HealthCheckHandler;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static com.guicedee.health.test.HealthTestSupport.await;
+import static com.guicedee.health.test.HealthTestSupport.awaitCondition;
+import static com.guicedee.health.test.HealthTestSupport.options;
+
+public class ManagementServerTest {
+    private Vertx appVertx;
+    private Vertx clientVertx;
+    private HealthChecks readinessChecks;
+    private ManagementServer management;
+
+    @BeforeEach
+    public void setUp() {
+        appVertx = Vertx.vertx(new VertxOptions().setEventLoopPoolSize(1));
+        clientVertx = Vertx.vertx();
+        readinessChecks = HealthChecks.create(appVertx);
+        readinessChecks.register("database", promise -> promise.complete(Status.OK()));
+    }
+
+    @AfterEach
+    public void tearDown() throws Exception {
+        if (management != null) {
+            await(management.stop());
+        }
+        clientVertx.close();
+        appVertx.close();
+    }
+
+    @Test
+    public void testProbesAreAnsweredWhileTheApplicationEventLoopIsSaturated() throws Exception {
+        HttpServer app = await(appVertx.createHttpServer()
+                .requestHandler(request -> {
+                    try {
+                        Thread.sleep(2000);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    request.response().end("done");
+                })
+                .listen(0, "localhost"));
+        management = start(Map.of());
+
+        HttpClient client = clientVertx.createHttpClient(new HttpClientOptions().setDefaultHost("localhost"),
+                new PoolOptions().setHttp1MaxSize(4));
+        Future<Integer> busy = get(client, app.actualPort(), "/work");
+        Thread.sleep(200);
+
+        long start = System.nanoTime();
+        int status = await(get(client, management.getActualPort(), "/health/ready"));
+        long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        Assertions.assertEquals(200, status);
+        Assertions.assertTrue(elapsed < 1000, "The probe must not wait for the application event loop, took " + elapsed + "ms");
+        Assertions.assertFalse(busy.isComplete(), "The application event loop should still be blocked");
+        Assertions.assertEquals(200, await(busy));
+    }
+
+    @Test
+    public void testSlowCheckDoesNotHoldUpOtherRequests() throws Exception {
+        HealthChecks slowChecks = HealthChecks.create(appVertx);
+        Set<String> threads = ConcurrentHashMap.newKeySet();
+        slowChecks.register("slow", 5000, promise -> {
+            threads.add(Thread.currentThread().getName());
+            try {
+                Thread.sleep(1500);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            promise.complete(Status.OK());
+        });
+        management = start(Map.of(), router -> router.get("/health/slow").handler(HealthCheckHandler.createWithHealthChecks(slowChecks)));
+
+        HttpClient client = clientVertx.createHttpClient(new HttpClientOptions().setDefaultHost("localhost"),
+                new PoolOptions().setHttp1MaxSize(4));
+        Future<Integer> slow = get(client, management.getActualPort(), "/health/slow");
+        Thread.sleep(200);
+
+        long start = System.nanoTime();
+        int status = await(get(client, management.getActualPort(), "/health/ready"));
+        long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        Assertions.assertEquals(200, status);
+        Assertions.assertTrue(elapsed < 1000, "The probe must not wait for the slow check, took " + elapsed + "ms");
+        Assertions.assertEquals(200, await(slow));
+        Assertions.assertTrue(threads.stream().allMatch(name -> name.startsWith(ManagementServer.WORKER_POOL)),
+                "Checks must run on the management worker pool, ran on " + threads);
+    }
+
+    @Test
+    public void testConnectionsBeyondTheLimitAreRejected() throws Exception {
+        management = start(Map.of("managementMaxConnections", 1));
+        HttpClient first = clientVertx.createHttpClient(new HttpClientOptions().setDefaultHost("localhost").setKeepAlive(true),
+                new PoolOptions().setHttp1MaxSize(1));
+        HttpClient second = clientVertx.createHttpClient(new HttpClientOptions().setDefaultHost("localhost").setKeepAlive(true),
+                new PoolOptions().setHttp1MaxSize(1));
+
+        Assertions.assertEquals(200, await(get(first, management.getActualPort(), "/health/ready")));
+        Assertions.assertEquals(1, management.getConnections());
+        Assertions.assertThrows(Exception.class, () -> await(get(second, management.getActualPort(), "/health/ready")));
+
+        await(first.close());
+        awaitCondition(() -> management.getConnections() == 0);
+        Assertions.assertEquals(200, await(get(second, management.getActualPort(), "/health/ready")));
+    }
+
+    private ManagementServer start(Map<String, Object> overrides) throws Exception {
+        return start(overrides, router -> {
+        });
+    }
+
+    private ManagementServer start(Map<String, Object> overrides, Consumer<Router> routes) throws Exception {
+        Map<String, Object> values = new HashMap<>(Map.of("managementPort", 0, "managementHost", "localhost"));
+        values.putAll(overrides);
+        ManagementServer server = new ManagementServer(appVertx, options(values), router -> {
+            router.get("/health/ready").handler(HealthCheckHandler.createWithHealthChecks(readinessChecks));
+            routes.accept(router);
+        });
+        await(server.start());
+        return server;
+    }
+
+    private static Future<Integer> get(HttpClient client, int port, String path) {
+        return client.request(HttpMethod.GET, port, "localhost", path)
+                .compose(request -> request.send())
+                .compose(response -> response.body().map(body -> response.statusCode()));
+    }
+}
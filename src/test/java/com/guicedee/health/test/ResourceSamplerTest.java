@@ -0,0 +1,162 @@
+package com.guicedee.health.test;
+
+import com.guicedee.health.HealthOptions;
+import com.guicedee.health.implementations.DirectMemoryHealthCheck;
+import com.guicedee.health.implementations.DiskSpaceHealthCheck;
+import com.guicedee.health.implementations.EventLoopHealthCheck;
+import com.guicedee.health.implementations.FileDescriptorHealthCheck;
+import com.guicedee.health.implementations.HealthPreStartup;
+import com.guicedee.health.implementations.MemoryHealthCheck;
+import com.guicedee.health.implementations.ResourceSampler;
+import com.guicedee.health.implementations.ThreadCountHealthCheck;
+import com.guicedee.health.implementations.WorkerPoolHealthCheck;
+import io.vertx.core.Vertx;
+import io.vertx.core.VertxOptions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static com.guicedee.health.test.HealthTestSupport.awaitCondition;
+import static com.guicedee.health.test.HealthTestSupport.options;
+
+public class ResourceSamplerTest {
+    @TempDir
+    Path directory;
+
+    private Vertx vertx;
+    private ScheduledExecutorService executor;
+    private ResourceSampler sampler;
+
+    @BeforeEach
+    public void setUp() {
+        vertx = Vertx.vertx();
+        executor = Executors.newSingleThreadScheduledExecutor();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        if (sampler != null) {
+            sampler.stop();
+        }
+        executor.shutdownNow();
+        vertx.close();
+    }
+
+    @Test
+    public void testBuiltInChecksAreOptIn() {
+        List<Class<?>> builtIns = List.of(EventLoopHealthCheck.class, WorkerPoolHealthCheck.class, MemoryHealthCheck.class,
+                DirectMemoryHealthCheck.class, DiskSpaceHealthCheck.class, FileDescriptorHealthCheck.class,
+                ThreadCountHealthCheck.class);
+        HealthOptions defaults = options(Map.of());
+        for (Class<?> builtIn : builtIns) {
+            Assertions.assertFalse(HealthPreStartup.isBuiltInCheckEnabled(builtIn, defaults), builtIn.getSimpleName());
+        }
+        Assertions.assertTrue(HealthPreStartup.isBuiltInCheckEnabled(ResourceSamplerTest.class, defaults),
+                "Application checks are always registered");
+
+        Assertions.assertTrue(HealthPreStartup.isBuiltInCheckEnabled(EventLoopHealthCheck.class,
+                options(Map.of("eventLoopLagThreshold", 1000L))));
+        Assertions.assertTrue(HealthPreStartup.isBuiltInCheckEnabled(WorkerPoolHealthCheck.class,
+                options(Map.of("workerPoolLatencyThreshold", 1000L))));
+        Assertions.assertTrue(HealthPreStartup.isBuiltInCheckEnabled(MemoryHealthCheck.class,
+                options(Map.of("gcTimeThreshold", 0.5d))));
+        Assertions.assertTrue(HealthPreStartup.isBuiltInCheckEnabled(DirectMemoryHealthCheck.class,
+                options(Map.of("mappedMemoryThreshold", 1L << 30))));
+        Assertions.assertTrue(HealthPreStartup.isBuiltInCheckEnabled(DiskSpaceHealthCheck.class,
+                options(Map.of("diskSpacePaths", "/data"))));
+        Assertions.assertTrue(HealthPreStartup.isBuiltInCheckEnabled(FileDescriptorHealthCheck.class,
+                options(Map.of("fileDescriptorThreshold", 0.9d))));
+        Assertions.assertTrue(HealthPreStartup.isBuiltInCheckEnabled(ThreadCountHealthCheck.class,
+                options(Map.of("threadCountThreshold", 2000))));
+    }
+
+    @Test
+    public void testSamplesWorkerPoolHeapGcAndDirectMemory() throws Exception {
+        ByteBuffer direct = ByteBuffer.allocateDirect(1 << 20);
+        sampler = start(Map.of("heapUsageThreshold", 0.9d, "workerPoolLatencyThreshold", 250L));
+
+        awaitCondition(() -> sampler.getHeapUsage() > 0d && sampler.getDirectMemoryUsed() >= 1 << 20);
+        Assertions.assertTrue(sampler.getHeapUsage() < 1d);
+        Assertions.assertTrue(sampler.getGcTimeFraction() >= 0d && sampler.getGcTimeFraction() <= 1d);
+        Assertions.assertTrue(sampler.getDirectMemoryUsage() > 0d && sampler.getDirectMemoryUsage() <= 1d);
+        Assertions.assertEquals(0.9d, sampler.getHeapUsageThreshold());
+        Assertions.assertEquals(TimeUnit.MILLISECONDS.toNanos(250), sampler.getWorkerPoolLatencyThresholdNanos());
+        Assertions.assertEquals(0d, sampler.getGcTimeThreshold(), "Thresholds default to disabled");
+        Assertions.assertTrue(sampler.getWorkerPoolLatencyNanos() < TimeUnit.SECONDS.toNanos(1));
+        Assertions.assertEquals(1 << 20, direct.capacity());
+    }
+
+    @Test
+    public void testWorkerPoolLatencyReflectsASaturatedPool() throws Exception {
+        vertx.close();
+        vertx = Vertx.vertx(new VertxOptions().setWorkerPoolSize(1));
+        vertx.executeBlocking(() -> {
+            Thread.sleep(1000);
+            return null;
+        }, false);
+        sampler = start(Map.of("resourceSampleInterval", 20L));
+        awaitCondition(() -> sampler.getWorkerPoolLatencyNanos() > TimeUnit.MILLISECONDS.toNanos(300));
+    }
+
+    @Test
+    public void testSamplesDiskSpaceOfEveryPath() throws Exception {
+        Path missing = directory.resolve("missing");
+        sampler = start(Map.of("diskSpacePaths", directory + ", " + missing));
+
+        awaitCondition(() -> sampler.getDiskSpace().size() == 2);
+        ResourceSampler.DiskSpace disk = sampler.getDiskSpace().get(directory.toString());
+        Assertions.assertTrue(disk.totalBytes() > 0);
+        Assertions.assertTrue(disk.usableBytes() >= 0 && disk.usableBytes() <= disk.totalBytes());
+        Assertions.assertTrue(disk.freeFraction() >= 0d && disk.freeFraction() <= 1d);
+        Assertions.assertEquals(-1L, sampler.getDiskSpace().get(missing.toString()).totalBytes());
+    }
+
+    @Test
+    public void testDiskSpaceIsNotSampledWithoutPaths() throws Exception {
+        sampler = start(Map.of("diskSpacePaths", ""));
+        awaitCondition(() -> sampler.getThreadCount() > 0);
+        Assertions.assertTrue(sampler.getDiskSpace().isEmpty());
+    }
+
+    @Test
+    public void testSamplesThreadsFileDescriptorsAndMappedBuffers() throws Exception {
+        Path file = directory.resolve("mapped");
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE)) {
+            buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, 1 << 20);
+        }
+        buffer.put(0, (byte) 1);
+        sampler = start(Map.of("threadCountThreshold", 10_000));
+
+        awaitCondition(() -> sampler.getMappedMemoryUsed() >= 1 << 20);
+        Assertions.assertTrue(sampler.getMappedBufferCount() >= 1);
+        Assertions.assertTrue(sampler.getThreadCount() > 0);
+        Assertions.assertTrue(sampler.getPeakThreadCount() >= sampler.getThreadCount());
+        Assertions.assertEquals(10_000, sampler.getThreadCountThreshold());
+        if (sampler.getMaxFileDescriptors() > 0) {
+            Assertions.assertTrue(sampler.getOpenFileDescriptors() > 0);
+            Assertions.assertTrue(sampler.getFileDescriptorUsage() > 0d && sampler.getFileDescriptorUsage() < 1d);
+        }
+        Assertions.assertEquals(1, buffer.get(0));
+    }
+
+    private ResourceSampler start(Map<String, Object> overrides) {
+        ResourceSampler started = new ResourceSampler(vertx, executor, options(overrides));
+        started.start();
+        return started;
+    }
+}
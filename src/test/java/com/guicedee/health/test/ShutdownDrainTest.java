@@ -0,0 +1,60 @@
+package com.guicedee.health.test;
+
+import com.guicedee.health.implementations.ShutdownDrain;
+import io.vertx.core.Promise;
+import io.vertx.ext.healthchecks.Status;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static com.guicedee.health.test.HealthTestSupport.options;
+
+public class ShutdownDrainTest {
+
+    @Test
+    public void testReadinessFlipsWhenDrainStarts() {
+        ShutdownDrain drain = new ShutdownDrain(options(Map.of("drainTimeout", 100L)));
+        Assertions.assertTrue(status(drain).isOk());
+        Assertions.assertTrue(drain.drain());
+        Assertions.assertTrue(drain.isDraining());
+        Status status = status(drain);
+        Assertions.assertFalse(status.isOk());
+        Assertions.assertTrue(status.getData().getBoolean("draining"));
+    }
+
+    @Test
+    public void testDrainWaitsForInFlightRequests() throws Exception {
+        ShutdownDrain drain = new ShutdownDrain(options(Map.of("drainTimeout", 5000L)));
+        drain.requestStarted();
+        drain.requestStarted();
+        CompletableFuture<Boolean> drained = CompletableFuture.supplyAsync(drain::drain);
+        Thread.sleep(100);
+        Assertions.assertFalse(drained.isDone());
+        Assertions.assertFalse(status(drain).isOk(), "Readiness must be DOWN while draining");
+
+        drain.requestCompleted();
+        Thread.sleep(50);
+        Assertions.assertFalse(drained.isDone());
+        drain.requestCompleted();
+        Assertions.assertTrue(drained.get(2, TimeUnit.SECONDS));
+        Assertions.assertEquals(0, drain.getInFlight());
+    }
+
+    @Test
+    public void testDrainGivesUpAfterTimeout() {
+        ShutdownDrain drain = new ShutdownDrain(options(Map.of("drainPeriod", 50L, "drainTimeout", 100L)));
+        drain.requestStarted();
+        long start = System.nanoTime();
+        Assertions.assertFalse(drain.drain());
+        Assertions.assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(150));
+    }
+
+    private static Status status(ShutdownDrain drain) {
+        Promise<Status> promise = Promise.promise();
+        drain.handle(promise);
+        return promise.future().result();
+    }
+}
@@ -0,0 +1,80 @@
+package com.guicedee.health.test;
+
+import com.guicedee.health.implementations.StartupTracker;
+import io.smallrye.mutiny.Uni;
+import io.vertx.core.Promise;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.healthchecks.Status;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+public class StartupTrackerTest {
+
+    @Test
+    public void testReportsUpOnlyWhenAllPhasesComplete() {
+        StartupTracker tracker = new StartupTracker();
+        Assertions.assertFalse(status(tracker).isOk());
+
+        tracker.complete(StartupTracker.SCAN);
+        tracker.begin(StartupTracker.PRE_STARTUP);
+        tracker.complete(StartupTracker.PRE_STARTUP);
+        tracker.begin(StartupTracker.INJECTOR);
+        tracker.complete(StartupTracker.INJECTOR);
+        tracker.begin(StartupTracker.POST_STARTUP);
+        tracker.begin(StartupTracker.ROUTER);
+        tracker.complete(StartupTracker.ROUTER);
+        Assertions.assertFalse(tracker.isComplete());
+        Assertions.assertEquals(StartupTracker.PhaseState.PENDING, tracker.getState(StartupTracker.POST_STARTUP));
+
+        tracker.complete(StartupTracker.POST_STARTUP);
+        Status status = status(tracker);
+        Assertions.assertTrue(status.isOk());
+        Assertions.assertEquals(5, status.getData().getJsonArray("phases").size());
+        Assertions.assertEquals(StartupTracker.SCAN,
+                status.getData().getJsonArray("phases").getJsonObject(0).getString("name"));
+    }
+
+    @Test
+    public void testRouterIsSkippedWhenNotConfigured() {
+        StartupTracker tracker = new StartupTracker();
+        tracker.complete(StartupTracker.SCAN);
+        tracker.complete(StartupTracker.PRE_STARTUP);
+        tracker.complete(StartupTracker.INJECTOR);
+        tracker.complete(StartupTracker.POST_STARTUP);
+        tracker.skipIfNotStarted(StartupTracker.ROUTER);
+        Assertions.assertEquals(StartupTracker.PhaseState.SKIPPED, tracker.getState(StartupTracker.ROUTER));
+        Assertions.assertTrue(tracker.isComplete());
+    }
+
+    @Test
+    public void testTrackedHookTimingsAndFailures() {
+        StartupTracker tracker = new StartupTracker();
+        tracker.track("post-startup:slow", Uni.createFrom().item(true).onItem().delayIt().by(Duration.ofMillis(50)))
+                .await().indefinitely();
+        Assertions.assertEquals(StartupTracker.PhaseState.COMPLETED, tracker.getState("post-startup:slow"));
+        Assertions.assertTrue(tracker.getDurationMillis("post-startup:slow") >= 50);
+
+        Assertions.assertThrows(IllegalStateException.class, () -> tracker.track("post-startup:broken",
+                Uni.createFrom().failure(new IllegalStateException("boom"))).await().indefinitely());
+        Assertions.assertEquals(StartupTracker.PhaseState.FAILED, tracker.getState("post-startup:broken"));
+
+        for (String phase : new String[]{StartupTracker.SCAN, StartupTracker.PRE_STARTUP, StartupTracker.INJECTOR,
+                StartupTracker.POST_STARTUP, StartupTracker.ROUTER}) {
+            tracker.complete(phase);
+        }
+        Assertions.assertFalse(tracker.isComplete(), "A failed hook must keep startup DOWN");
+        JsonObject broken = tracker.toJson().getJsonArray("phases").stream()
+                .map(o -> (JsonObject) o)
+                .filter(j -> "post-startup:broken".equals(j.getString("name")))
+                .findFirst().orElseThrow();
+        Assertions.assertEquals("boom", broken.getString("error"));
+    }
+
+    private static Status status(StartupTracker tracker) {
+        Promise<Status> promise = Promise.promise();
+        tracker.handle(promise);
+        return promise.future().result();
+    }
+}
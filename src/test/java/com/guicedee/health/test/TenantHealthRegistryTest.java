@@ -0,0 +1,155 @@
+package com.guicedee.health.test;
+
+import com.guicedee.health.implementations.HealthHistory;
+import com.guicedee.health.implementations.TenantHealthRegistry;
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonObject;
+import org.eclipse.microprofile.health.HealthCheck;
+import org.eclipse.microprofile.health.HealthCheckResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+import static com.guicedee.health.test.HealthTestSupport.await;
+import static com.guicedee.health.test.HealthTestSupport.awaitCondition;
+import static com.guicedee.health.test.HealthTestSupport.options;
+
+public class TenantHealthRegistryTest {
+    private static final String MONITOR_THREAD = "tenant-sweep-test";
+
+    private Vertx vertx;
+    private ScheduledExecutorService executor;
+    private TenantHealthRegistry registry;
+    private final AtomicBoolean release = new AtomicBoolean();
+
+    @BeforeEach
+    public void setUp() {
+        vertx = Vertx.vertx();
+        executor = Executors.newSingleThreadScheduledExecutor(runnable -> new Thread(runnable, MONITOR_THREAD));
+        registry = new TenantHealthRegistry(vertx, new HealthHistory(options(Map.of())), 5000L, executor,
+                options(Map.of("tenantCheckInterval", 20L, "tenantConcurrency", 1)));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        release.set(true);
+        registry.stop();
+        executor.shutdownNow();
+        vertx.close();
+    }
+
+    @Test
+    public void testSweepNeverEvaluatesOnTheMonitorThread() throws Exception {
+        Set<String> threads = ConcurrentHashMap.newKeySet();
+        HealthCheck recording = () -> {
+            threads.add(Thread.currentThread().getName());
+            return HealthCheckResponse.up("datasource");
+        };
+        registry.register("acme", "datasource", recording);
+        registry.start();
+
+        awaitCondition(() -> registry.get("acme").getLastResult() != null);
+        Assertions.assertFalse(threads.isEmpty());
+        Assertions.assertFalse(threads.contains(MONITOR_THREAD), "Tenant checks ran on the monitor thread: " + threads);
+    }
+
+    @Test
+    public void testRequestedChecksNeverRunOnTheEventLoop() throws Exception {
+        Set<String> threads = ConcurrentHashMap.newKeySet();
+        HealthCheck recording = () -> {
+            threads.add(Thread.currentThread().getName());
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(20));
+            return HealthCheckResponse.up("datasource");
+        };
+        registry.register("acme", "datasource", recording);
+        registry.register("globex", "datasource", recording);
+
+        // With a single budget slot, the second tenant queues and starts when the first completes
+        AtomicInteger completed = new AtomicInteger();
+        vertx.runOnContext(v -> {
+            registry.check("acme").onSuccess(result -> completed.incrementAndGet());
+            registry.check("globex").onSuccess(result -> completed.incrementAndGet());
+        });
+        awaitCondition(() -> completed.get() == 2);
+        Assertions.assertFalse(threads.isEmpty());
+        Assertions.assertTrue(threads.stream().noneMatch(name -> name.startsWith("vert.x-eventloop-thread")),
+                "Tenant checks ran on the event loop: " + threads);
+    }
+
+    @Test
+    public void testHungTenantDoesNotStallTheMonitorThreadOrPileUp() throws Exception {
+        AtomicInteger started = new AtomicInteger();
+        HealthCheck hung = () -> {
+            started.incrementAndGet();
+            while (!release.get()) {
+                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(5));
+            }
+            return HealthCheckResponse.up("datasource");
+        };
+        HealthCheck up = () -> HealthCheckResponse.up("datasource");
+        registry.register("hung", "datasource", hung);
+        registry.register("waiting", "datasource", up);
+        registry.start();
+        awaitCondition(() -> started.get() == 1);
+
+        // The timer keeps running other tasks while the tenant check hangs
+        AtomicBoolean ran = new AtomicBoolean();
+        executor.schedule(() -> ran.set(true), 0, TimeUnit.MILLISECONDS);
+        awaitCondition(ran::get);
+
+        // Later sweeps do not queue a tenant that is still waiting for the budget
+        Thread.sleep(200);
+        Assertions.assertEquals(1, registry.getBudget().getInFlight());
+        Assertions.assertTrue(registry.getBudget().getWaiting() <= 1, "Sweeps piled up: " + registry.getBudget().getWaiting());
+        Assertions.assertEquals(1, started.get());
+
+        release.set(true);
+        awaitCondition(() -> registry.get("waiting").getLastResult() != null);
+    }
+
+    @Test
+    public void testTenantsAreEvaluatedInIsolation() throws Exception {
+        AtomicInteger globexCalls = new AtomicInteger();
+        HealthCheck acme = () -> HealthCheckResponse.up("acme");
+        HealthCheck globex = () -> {
+            globexCalls.incrementAndGet();
+            return HealthCheckResponse.down("globex");
+        };
+        registry.register("acme", "datasource", acme);
+        registry.register("globex", "datasource", globex);
+        Assertions.assertEquals("UNKNOWN", tenant(registry.summary(), "acme").getString("status"));
+
+        Assertions.assertTrue(await(registry.check("acme")).getUp());
+        Assertions.assertEquals(0, globexCalls.get(), "Evaluating acme must not run the checks of globex");
+        Assertions.assertFalse(await(registry.check("globex")).getUp());
+        Assertions.assertEquals(1, globexCalls.get());
+
+        JsonObject summary = registry.summary();
+        Assertions.assertEquals("DOWN", summary.getString("status"));
+        Assertions.assertEquals(1, summary.getInteger("up"));
+        Assertions.assertEquals(1, summary.getInteger("down"));
+
+        Assertions.assertTrue(registry.removeTenant("acme"));
+        Assertions.assertTrue(registry.unregister("globex", "datasource"));
+        Assertions.assertNull(registry.get("globex"));
+        Assertions.assertTrue(registry.check("globex").failed());
+    }
+
+    private static JsonObject tenant(JsonObject summary, String id) {
+        return summary.getJsonArray("tenants").stream()
+                .map(o -> (JsonObject) o)
+                .filter(j -> id.equals(j.getString("id")))
+                .findFirst().orElseThrow();
+    }
+}
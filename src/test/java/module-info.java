@@ -6,6 +6,7 @@ open module guiced.health.test {
     requires static lombok;
     requires io.vertx.core;
     requires io.vertx.healthcheck;
+    requires io.smallrye.mutiny;
     requires transitive com.guicedee.modules.services.health;
 
     exports com.guicedee.health.test;